@@ -0,0 +1,84 @@
+package com.example.orders.jmh;
+
+import com.example.orders.OrdersApiApplication;
+import com.example.orders.dto.OrderFilter;
+import com.example.orders.model.Order;
+import com.example.orders.model.OrderStatus;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixtures shared by the JMH benchmarks: in-memory orders, filter shapes and an in-process application
+ * context (no web server) backed by its own H2 database.
+ */
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    static List<Order> orders(int count) {
+        List<Order> orders = new ArrayList<>(count);
+        Instant base = Instant.parse("2026-01-01T00:00:00Z");
+        for (int i = 0; i < count; i++) {
+            orders.add(Order.builder()
+                    .id((long) i + 1)
+                    .version(0L)
+                    .customerName("Benchmark Customer " + i)
+                    .status(OrderStatus.values()[i % OrderStatus.values().length])
+                    .amount((i % 1000) * 100L + 99)
+                    .createdAt(base.minusSeconds(i))
+                    .build());
+        }
+        return orders;
+    }
+
+    /** Filter shapes: {@code none}, {@code status}, {@code amount} (min and max) and {@code all} five parameters. */
+    static OrderFilter filter(String shape) {
+        return switch (shape) {
+            case "none" -> new OrderFilter();
+            case "status" -> OrderFilter.builder().status(OrderStatus.PAID).build();
+            case "amount" -> OrderFilter.builder()
+                    .minAmount(new BigDecimal("100.00"))
+                    .maxAmount(new BigDecimal("500.00"))
+                    .build();
+            case "all" -> OrderFilter.builder()
+                    .status(OrderStatus.PAID)
+                    .minAmount(new BigDecimal("100.00"))
+                    .maxAmount(new BigDecimal("500.00"))
+                    .dateFrom(LocalDate.of(2025, 12, 1))
+                    .dateTo(LocalDate.of(2025, 12, 31))
+                    .build();
+            default -> throw new IllegalArgumentException("Unknown filter shape: " + shape);
+        };
+    }
+
+    static ConfigurableApplicationContext startApplication(String database, String... properties) {
+        return new SpringApplicationBuilder(OrdersApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+                        "logging.level.root=warn",
+                        "logging.level.org.hibernate.SQL=info")
+                .properties(properties)
+                .run();
+    }
+
+    /** Inserts {@code rows} orders in one statement, one second apart, alternating PAID and NEW. */
+    static void seed(JdbcTemplate jdbcTemplate, int rows) {
+        jdbcTemplate.update("""
+                INSERT INTO orders (id, version, customer_name, status, amount, created_at)
+                SELECT NEXT VALUE FOR orders_seq, 0, 'Benchmark Customer ' || X,
+                       CASEWHEN(MOD(X, 2) = 0, 'PAID', 'NEW'), MOD(X, 1000) + 0.99,
+                       DATEADD('SECOND', -X, TIMESTAMP '2026-01-01 00:00:00')
+                FROM SYSTEM_RANGE(1, ?)""", rows);
+    }
+}
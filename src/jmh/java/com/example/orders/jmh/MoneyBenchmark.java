@@ -0,0 +1,84 @@
+package com.example.orders.jmh;
+
+import com.example.orders.model.Money;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The amount of every order of a page as {@link BigDecimal} against {@code long} cents ({@link Money}): an amount
+ * range filter and the sum of the page. Writing amounts out is measured on the shipped serializer by
+ * {@link OrderJsonBenchmark}. Run with {@code -prof gc} for the allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MoneyBenchmark {
+
+    private static final BigDecimal MIN = new BigDecimal("100.00");
+    private static final BigDecimal MAX = new BigDecimal("500.00");
+
+    @Param({"100", "10000"})
+    int pageSize;
+
+    private BigDecimal[] decimals;
+    private long[] cents;
+    private long minCents;
+    private long maxCents;
+
+    @Setup
+    public void setUp() {
+        decimals = new BigDecimal[pageSize];
+        cents = new long[pageSize];
+        for (int i = 0; i < pageSize; i++) {
+            cents[i] = (i % 1000) * 100L + 99;
+            decimals[i] = Money.toDecimal(cents[i]);
+        }
+        minCents = Money.atLeast(MIN);
+        maxCents = Money.atMost(MAX);
+    }
+
+    @Benchmark
+    public int filterDecimal() {
+        int matches = 0;
+        for (BigDecimal amount : decimals) {
+            if (amount.compareTo(MIN) >= 0 && amount.compareTo(MAX) <= 0) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public int filterCents() {
+        int matches = 0;
+        for (long amount : cents) {
+            if (amount >= minCents && amount <= maxCents) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public BigDecimal sumDecimal() {
+        BigDecimal sum = BigDecimal.ZERO;
+        for (BigDecimal amount : decimals) {
+            sum = sum.add(amount);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long sumCents() {
+        long sum = 0;
+        for (long amount : cents) {
+            sum = Math.addExact(sum, amount);
+        }
+        return sum;
+    }
+}
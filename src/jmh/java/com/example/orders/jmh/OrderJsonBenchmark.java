@@ -0,0 +1,53 @@
+package com.example.orders.jmh;
+
+import com.example.orders.dto.OrderResponse;
+import com.example.orders.dto.PagedResponse;
+import com.example.orders.model.Order;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of a {@code GET /orders} response body with the ObjectMapper Spring Boot configures
+ * for the application (only the Jackson auto-configuration is started).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderJsonBenchmark {
+
+    @Param({"10", "100"})
+    int pageSize;
+
+    private ObjectMapper objectMapper;
+    private PagedResponse<OrderResponse> page;
+
+    @Setup
+    public void setUp() {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(JacksonAutoConfiguration.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run()) {
+            objectMapper = context.getBean(ObjectMapper.class);
+        }
+        List<OrderResponse> items = BenchmarkData.orders(pageSize).stream()
+                .map(OrderResponse::fromEntity)
+                .toList();
+        page = new PagedResponse<>(items, 1, pageSize, 1_000_000, 1_000_000 / pageSize, true);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
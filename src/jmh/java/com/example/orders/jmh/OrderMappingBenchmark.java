@@ -0,0 +1,51 @@
+package com.example.orders.jmh;
+
+import com.example.orders.dto.OrderResponse;
+import com.example.orders.model.Order;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO mapping of one page: the Lombok builder ({@link OrderResponse#fromEntity}) against the
+ * all-args constructor used by {@code OrderService} and the list projections.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderMappingBenchmark {
+
+    @Param({"10", "100"})
+    int pageSize;
+
+    private List<Order> orders;
+
+    @Setup
+    public void setUp() {
+        orders = BenchmarkData.orders(pageSize);
+    }
+
+    @Benchmark
+    public List<OrderResponse> builder() {
+        List<OrderResponse> page = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            page.add(OrderResponse.fromEntity(order));
+        }
+        return page;
+    }
+
+    @Benchmark
+    public List<OrderResponse> constructor() {
+        List<OrderResponse> page = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            page.add(new OrderResponse(order.getId(), order.getCustomerName(), order.getStatus(),
+                    order.getAmount(), order.getCreatedAt(), order.getVersion()));
+        }
+        return page;
+    }
+}
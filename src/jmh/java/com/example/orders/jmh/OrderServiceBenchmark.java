@@ -0,0 +1,76 @@
+package com.example.orders.jmh;
+
+import com.example.orders.dto.CreateOrderRequest;
+import com.example.orders.dto.OrderFilter;
+import com.example.orders.dto.OrderResponse;
+import com.example.orders.dto.PagedResponse;
+import com.example.orders.service.OrderService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full in-process service calls (transaction, query, mapping) against H2 seeded with {@code rows} orders.
+ * Every benchmark method runs in its own fork, so rows added by {@code createOrder} do not leak into the others.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class OrderServiceBenchmark {
+
+    @Param({"1000000"})
+    int rows;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private CreateOrderRequest createRequest;
+
+    /** Separate state so that only {@code getOrders} is parameterized by the filter. */
+    @State(Scope.Benchmark)
+    public static class Query {
+        @Param({"none", "status", "all"})
+        String filterShape;
+
+        OrderFilter filter;
+
+        @Setup
+        public void setUp() {
+            filter = BenchmarkData.filter(filterShape);
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkData.startApplication("jmh-service");
+        BenchmarkData.seed(context.getBean(JdbcTemplate.class), rows);
+        orderService = context.getBean(OrderService.class);
+        createRequest = CreateOrderRequest.builder()
+                .customerName("Benchmark Customer")
+                .amount(new BigDecimal("42.50"))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    /** First page of 100, including the count query that the first page of a large result needs. */
+    @Benchmark
+    public PagedResponse<OrderResponse> getOrders(Query query) {
+        OrderFilter filter = query.filter;
+        return orderService.getOrders(1, 100, filter.getStatus(), filter.getMinAmount(), filter.getMaxAmount(),
+                filter.getDateFrom(), filter.getDateTo());
+    }
+
+    @Benchmark
+    public OrderResponse createOrder() {
+        return orderService.createOrder(createRequest);
+    }
+}
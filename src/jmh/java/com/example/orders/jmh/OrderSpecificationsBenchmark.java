@@ -0,0 +1,58 @@
+package com.example.orders.jmh;
+
+import com.example.orders.model.Order;
+import com.example.orders.spec.OrderSpecifications;
+import com.example.orders.dto.OrderFilter;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning request filters into a criteria query. {@code build} only captures the parameters;
+ * the predicates are created in {@code toPredicate}, which Spring Data calls once per query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderSpecificationsBenchmark {
+
+    @Param({"none", "status", "amount", "all"})
+    String filterShape;
+
+    private ConfigurableApplicationContext context;
+    private CriteriaBuilder criteriaBuilder;
+    private OrderFilter filter;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkData.startApplication("jmh-spec");
+        criteriaBuilder = context.getBean(EntityManagerFactory.class).getCriteriaBuilder();
+        filter = BenchmarkData.filter(filterShape);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Specification<Order> build() {
+        return OrderSpecifications.build(filter);
+    }
+
+    @Benchmark
+    public CriteriaQuery<Order> buildAndApply() {
+        CriteriaQuery<Order> query = criteriaBuilder.createQuery(Order.class);
+        Root<Order> root = query.from(Order.class);
+        return query.where(OrderSpecifications.build(filter).toPredicate(root, query, criteriaBuilder));
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.orders.cache;
+
+import com.example.orders.config.OrdersProperties;
+import com.example.orders.dto.OrderResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL-evicting read-through cache of {@link OrderResponse} by order id.
+ * <p>
+ * Loads run inside Caffeine's per-key compute, so an {@link #invalidate} racing with an in-flight
+ * load waits for it and then removes whatever it stored. Together with invalidating again after the
+ * writing transaction commits, a reader can never leave a pre-update value behind. Bulk loads
+ * ({@link #getAll}) cannot run per key; their results are dropped instead if any invalidation happened meanwhile.
+ * Metrics are published as {@code cache.gets}, {@code cache.evictions}, ... tagged {@code cache=orders}.
+ */
+@Component
+public class OrderCache {
+
+    public static final String NAME = "orders";
+
+    private final Cache<Long, OrderResponse> cache; // null when orders.cache.enabled=false
+    // Bumped before every invalidation; lets getAll tell whether its bulk load may have read a stale row.
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public OrderCache(OrdersProperties properties, MeterRegistry meterRegistry) {
+        OrdersProperties.Cache config = properties.getCache();
+        if (!config.isEnabled()) {
+            this.cache = null;
+            return;
+        }
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .expireAfterWrite(config.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, NAME);
+    }
+
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    /**
+     * Returns the cached order or loads, caches and returns it. Exceptions thrown by the loader
+     * (e.g. not found) propagate and nothing is cached.
+     */
+    public OrderResponse get(Long id, Function<Long, OrderResponse> loader) {
+        if (cache == null) {
+            return loader.apply(id);
+        }
+        return cache.get(id, loader);
+    }
+
+    /**
+     * Returns the orders among {@code ids} (distinct), the cached ones from the cache and all others from a single
+     * {@code loader} call, whose results are then cached. Ids the loader does not return are absent from the result.
+     */
+    public Map<Long, OrderResponse> getAll(Collection<Long> ids,
+                                           Function<Collection<Long>, Map<Long, OrderResponse>> loader) {
+        if (cache == null) {
+            return loader.apply(ids);
+        }
+        Map<Long, OrderResponse> found = new HashMap<>(cache.getAllPresent(ids));
+        if (found.size() == ids.size()) {
+            return found;
+        }
+        List<Long> misses = new ArrayList<>(ids.size() - found.size());
+        for (Long id : ids) {
+            if (!found.containsKey(id)) {
+                misses.add(id);
+            }
+        }
+        long generation = invalidations.get();
+        Map<Long, OrderResponse> loaded = loader.apply(misses);
+        for (OrderResponse order : loaded.values()) {
+            // Checked under the key's lock: an invalidation that passed the check waits for this compute to finish.
+            cache.asMap().compute(order.getId(), (id, current) ->
+                    current != null ? current : invalidations.get() == generation ? order : null);
+        }
+        found.putAll(loaded);
+        return found;
+    }
+
+    /**
+     * Cached order or {@code null}; never loads.
+     */
+    public OrderResponse getIfPresent(Long id) {
+        return cache != null ? cache.getIfPresent(id) : null;
+    }
+
+    /**
+     * Caches a freshly written order once its transaction commits (immediately when there is none).
+     */
+    public void put(OrderResponse order) {
+        if (cache == null) {
+            return;
+        }
+        afterCommit(() -> cache.put(order.getId(), order));
+    }
+
+    /**
+     * Drops the entry now and, when called inside a transaction, once more after it commits so a
+     * concurrent read of the pre-commit row cannot repopulate it.
+     */
+    public void invalidate(Long id) {
+        if (cache == null) {
+            return;
+        }
+        invalidations.incrementAndGet();
+        cache.invalidate(id);
+        afterCommit(() -> {
+            invalidations.incrementAndGet();
+            cache.invalidate(id);
+        });
+    }
+
+    /**
+     * {@link #invalidate(Long)} for several orders.
+     */
+    public void invalidateAll(Collection<Long> ids) {
+        if (cache == null) {
+            return;
+        }
+        invalidations.incrementAndGet();
+        cache.invalidateAll(ids);
+        afterCommit(() -> {
+            invalidations.incrementAndGet();
+            cache.invalidateAll(ids);
+        });
+    }
+
+    public void invalidateAll() {
+        if (cache != null) {
+            invalidations.incrementAndGet();
+            cache.invalidateAll();
+        }
+    }
+
+    public CacheStats stats() {
+        return cache != null ? cache.stats() : CacheStats.empty();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.orders.config;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+/**
+ * Registers the {@link ConcurrencyLimitInterceptor} on {@code /orders} when {@code orders.concurrency.enabled=true}.
+ * Publishes {@code orders.concurrency.available} (free slots) and {@code orders.concurrency.rejected}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "orders.concurrency", name = "enabled", havingValue = "true")
+class ConcurrencyLimitConfiguration implements WebMvcConfigurer {
+
+    private final ConcurrencyLimitInterceptor interceptor;
+
+    ConcurrencyLimitConfiguration(OrdersProperties properties, DataSource dataSource, MeterRegistry meterRegistry) {
+        OrdersProperties.Concurrency config = properties.getConcurrency();
+        int limit = config.getMaxConcurrentRequests() > 0
+                ? config.getMaxConcurrentRequests()
+                : poolSize(dataSource);
+        Counter rejected = Counter.builder("orders.concurrency.rejected")
+                .description("Requests rejected with 503 because no slot became free in time")
+                .register(meterRegistry);
+        this.interceptor = new ConcurrencyLimitInterceptor(limit, config.getMaxWait(), rejected::increment);
+        Gauge.builder("orders.concurrency.available", interceptor, ConcurrencyLimitInterceptor::available)
+                .description("Free request slots of the admission limit (" + limit + " in total)")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(interceptor).addPathPatterns("/orders", "/orders/**");
+    }
+
+    private static int poolSize(DataSource dataSource) {
+        HikariConfigMXBean pool = DataSourceUnwrapper.unwrap(dataSource, HikariConfigMXBean.class, HikariDataSource.class);
+        if (pool == null) {
+            throw new IllegalStateException(
+                    "Cannot determine the connection pool size; set orders.concurrency.max-concurrent-requests");
+        }
+        return pool.getMaximumPoolSize();
+    }
+}
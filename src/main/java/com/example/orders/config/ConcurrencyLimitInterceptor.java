@@ -0,0 +1,75 @@
+package com.example.orders.config;
+
+import com.example.orders.exception.ServiceUnavailableException;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admits at most {@code limit} requests at a time and lets the others wait up to {@code maxWait} (first come,
+ * first served) before rejecting them with 503. Sized to the JDBC pool, it keeps waiters here, where they are
+ * bounded and cheap, instead of in the pool's connection timeout.
+ * <p>
+ * A permit is held until the handler returns; for async (streamed) responses it is released once async
+ * processing has started.
+ */
+class ConcurrencyLimitInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".permit";
+
+    private final Semaphore permits;
+    private final Duration maxWait;
+    private final Runnable onRejected;
+
+    ConcurrencyLimitInterceptor(int limit, Duration maxWait, Runnable onRejected) {
+        this.permits = new Semaphore(limit, true);
+        this.maxWait = maxWait;
+        this.onRejected = onRejected;
+    }
+
+    int available() {
+        return permits.availablePermits();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            onRejected.run();
+            throw new ServiceUnavailableException("Too many concurrent requests, retry later.", maxWait);
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        release(request);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        release(request);
+    }
+
+    private void release(HttpServletRequest request) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.example.orders.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Application-specific settings bound from the {@code orders.*} namespace.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "orders")
+public class OrdersProperties {
+
+    private final Batch batch = new Batch();
+    private final Export export = new Export();
+    private final Cache cache = new Cache();
+    private final SqlBudget sqlBudget = new SqlBudget();
+    private final Concurrency concurrency = new Concurrency();
+    private final Ingestion ingestion = new Ingestion();
+    private final Idempotency idempotency = new Idempotency();
+    private final Changes changes = new Changes();
+    private final Counters counters = new Counters();
+    private final Listing listing = new Listing();
+    private final Archive archive = new Archive();
+    private final Storage storage = new Storage();
+
+    @Getter
+    @Setter
+    public static class Batch {
+        // Orders persisted per transaction; keep it a multiple of hibernate.jdbc.batch_size.
+        private int chunkSize = 500;
+        // Upper bound on the number of items accepted by one POST /orders/batch call (and ids by /orders/bulk/status).
+        private int maxItems = 10_000;
+        // Orders moved per transaction (one UPDATE) by POST /orders/bulk/status.
+        private int statusChunkSize = 1_000;
+    }
+
+    @Getter
+    @Setter
+    public static class Export {
+        // JDBC fetch size of the export cursor; also how often the persistence context is cleared.
+        private int fetchSize = 1_000;
+    }
+
+    @Getter
+    @Setter
+    public static class Cache {
+        // Read-through cache in front of GET /orders/{id}; false bypasses it entirely.
+        private boolean enabled = true;
+        private long maximumSize = 10_000;
+        // Entries expire this long after they were written, even without an invalidating write.
+        private Duration ttl = Duration.ofMinutes(5);
+    }
+
+    @Getter
+    @Setter
+    public static class SqlBudget {
+        // OFF ignores budgets, LOG logs and counts over-budget requests, FAIL also throws (for tests).
+        private Mode mode = Mode.LOG;
+        // Maximum SQL statements per request, by endpoint; endpoints without an entry are not checked.
+        private List<Endpoint> endpoints = new ArrayList<>();
+
+        public enum Mode { OFF, LOG, FAIL }
+
+        @Getter
+        @Setter
+        public static class Endpoint {
+            // HTTP method and URI pattern as in http.server.requests, e.g. "GET /orders/{id}".
+            private String endpoint;
+            private int maxStatements;
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Concurrency {
+        // Admission limit for /orders requests; enabled with virtual threads, where Tomcat no longer bounds concurrency.
+        private boolean enabled = false;
+        // Requests handled at once; 0 means the JDBC pool's maximum size, so requests never queue inside the pool.
+        private int maxConcurrentRequests = 0;
+        // How long a request may wait for a slot before it is rejected with 503.
+        private Duration maxWait = Duration.ofSeconds(1);
+    }
+
+    @Getter
+    @Setter
+    public static class Ingestion {
+        // SYNC: POST /orders inserts and returns 201. ASYNC: it queues the order and returns 202 (write-behind).
+        private Mode mode = Mode.SYNC;
+        // Orders waiting to be written; a full queue answers 429.
+        private int queueCapacity = 10_000;
+        // Orders written per transaction; the flusher also wakes up as soon as this many are queued.
+        private int batchSize = 500;
+        // Longest time an order waits in the queue before a (partial) batch is written.
+        private Duration flushInterval = Duration.ofMillis(100);
+        // On shutdown, how long the flusher may keep draining the queue.
+        private Duration shutdownTimeout = Duration.ofSeconds(30);
+        // Failed attempts at writing a batch before it is written order by order; an order that then fails for a
+        // reason other than reaching the database is dead-lettered (logged and dropped).
+        private int maxAttempts = 5;
+
+        public enum Mode { SYNC, ASYNC }
+    }
+
+    @Getter
+    @Setter
+    public static class Idempotency {
+        // MEMORY: per-node Caffeine store. JDBC: the idempotency_keys table, shared by all nodes.
+        private Store store = Store.MEMORY;
+        // How long the response to a key is replayed.
+        private Duration ttl = Duration.ofHours(24);
+        // Upper bound on the keys held by the MEMORY store; the least recently used are evicted first.
+        private long maximumSize = 100_000;
+        // A key still in progress after this long is considered abandoned (e.g. its node died) and can be claimed again.
+        private Duration inFlightTimeout = Duration.ofMinutes(1);
+        // How often the JDBC store deletes expired keys.
+        private Duration purgeInterval = Duration.ofHours(1);
+
+        public enum Store { MEMORY, JDBC }
+    }
+
+    @Getter
+    @Setter
+    public static class Changes {
+        // How often committed changes are relayed from the outbox and waiting long-polls re-read the log, to see
+        // changes committed by other nodes.
+        private Duration pollInterval = Duration.ofSeconds(1);
+        // Longest wait a long-poll may ask for.
+        private Duration maxWait = Duration.ofSeconds(60);
+        // SSE streams send a keep-alive comment after this long without changes.
+        private Duration heartbeat = Duration.ofSeconds(15);
+        // SSE streams are closed after this long; clients reconnect with Last-Event-ID.
+        private Duration sseTimeout = Duration.ofMinutes(30);
+        // Changes older than this are deleted; a cursor that old resumes at the oldest retained change.
+        private Duration retention = Duration.ofDays(7);
+        // Most changes returned by one poll or sent in one SSE burst.
+        private int maxBatchSize = 500;
+    }
+
+    @Getter
+    @Setter
+    public static class Counters {
+        // Per-status counts held in memory answer totalItems of GET /orders without a count query; false always counts.
+        private boolean enabled = true;
+        // How often the counts are re-read from order_daily_stats, picking up writes made by other nodes.
+        private Duration reconcileInterval = Duration.ofSeconds(30);
+    }
+
+    @Getter
+    @Setter
+    public static class Listing {
+        // SEQUENTIAL: GET /orders runs its page query, then its count query.
+        // PARALLEL: both at once, on two connections, when the total needs a query at all.
+        private CountExecution countExecution = CountExecution.SEQUENTIAL;
+        // Parallel counts in flight at most, i.e. extra connections taken; further requests count sequentially.
+        private int maxParallelCounts = 4;
+
+        public enum CountExecution { SEQUENTIAL, PARALLEL }
+    }
+
+    @Getter
+    @Setter
+    public static class Archive {
+        // Whole UTC months before the current one kept in orders; older months are moved to orders_archive.
+        // Must be the same on every node.
+        private int hotMonths = 12;
+        // Runs the archiving job on this node; one node is enough, concurrent runs are safe but wasted.
+        private boolean jobEnabled = false;
+        // How often the archiving job looks for months to announce and move.
+        private Duration jobInterval = Duration.ofHours(1);
+        // How often every node re-reads order_archive_months; a month is moved two intervals after its announcement.
+        private Duration refreshInterval = Duration.ofMinutes(1);
+        // Orders moved per transaction.
+        private int chunkSize = 10_000;
+    }
+
+    @Getter
+    @Setter
+    public static class Storage {
+        // JDBC: the SQL database. MEMORY: the in-memory columnar store of single-node edge deployments (edge profile),
+        // which serves /orders only.
+        private Engine engine = Engine.JDBC;
+        private final Memory memory = new Memory();
+
+        public enum Engine { JDBC, MEMORY }
+
+        @Getter
+        @Setter
+        public static class Memory {
+            // Append-only log the store is rebuilt from at startup; compacted then when most of it is dead records.
+            private String log = "data/orders.log";
+            // The log is mapped and grown in regions of this size; a record never spans two regions.
+            private DataSize regionSize = DataSize.ofMegabytes(64);
+            // Forces every write to the device before answering; false leaves it to the OS (lost on a power cut).
+            private boolean forceWrites = true;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.orders.controller;
+
+import com.example.orders.config.ConditionalOnJdbcStorage;
+import com.example.orders.dto.BatchCreateResponse;
+import com.example.orders.dto.CreateOrderRequest;
+import com.example.orders.service.OrderBatchService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/orders")
+@ConditionalOnJdbcStorage
+public class OrderBatchController {
+    private final OrderBatchService orderBatchService;
+
+    public OrderBatchController(OrderBatchService orderBatchService) {
+        this.orderBatchService = orderBatchService;
+    }
+
+    // Items are validated one by one so a single bad entry does not reject the whole batch.
+    @PostMapping("/batch")
+    public ResponseEntity<BatchCreateResponse> createOrders(@RequestBody List<CreateOrderRequest> requests) {
+        return ResponseEntity.ok(orderBatchService.createOrders(requests));
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.orders.controller;
+
+import com.example.orders.config.ConditionalOnJdbcStorage;
+import com.example.orders.dto.BulkStatusUpdateRequest;
+import com.example.orders.dto.BulkStatusUpdateResponse;
+import com.example.orders.service.OrderBulkService;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/orders/bulk")
+@ConditionalOnJdbcStorage
+public class OrderBulkController {
+    private final OrderBulkService orderBulkService;
+
+    public OrderBulkController(OrderBulkService orderBulkService) {
+        this.orderBulkService = orderBulkService;
+    }
+
+    // Orders already in the target status are left untouched and not counted.
+    @PostMapping("/status")
+    public ResponseEntity<BulkStatusUpdateResponse> updateStatus(@Valid @RequestBody BulkStatusUpdateRequest request) {
+        return ResponseEntity.ok(orderBulkService.updateStatus(request));
+    }
+}
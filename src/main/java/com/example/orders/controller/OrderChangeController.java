@@ -0,0 +1,127 @@
+package com.example.orders.controller;
+
+import com.example.orders.config.ConditionalOnJdbcStorage;
+import com.example.orders.config.OrdersProperties;
+import com.example.orders.dto.OrderChangeResponse;
+import com.example.orders.dto.OrderChangesResponse;
+import com.example.orders.exception.BadRequestException;
+import com.example.orders.service.OrderChangeFeed;
+import jakarta.validation.constraints.Min;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Incremental change feed. Both variants return only the changes after a cursor, oldest first:
+ * {@code GET /orders/changes} as a long-poll, {@code GET /orders/changes/stream} as server-sent events
+ * whose ids are the cursors, so a reconnecting client resumes with {@code Last-Event-ID}.
+ */
+@Validated
+@RestController
+@RequestMapping("/orders/changes")
+@ConditionalOnJdbcStorage
+public class OrderChangeController {
+    private final OrderChangeFeed orderChangeFeed;
+    private final OrdersProperties.Changes config;
+    private final AsyncTaskExecutor taskExecutor;
+
+    public OrderChangeController(OrderChangeFeed orderChangeFeed, OrdersProperties properties,
+                                 @Qualifier("applicationTaskExecutor") AsyncTaskExecutor taskExecutor) {
+        this.orderChangeFeed = orderChangeFeed;
+        this.config = properties.getChanges();
+        this.taskExecutor = taskExecutor;
+    }
+
+    // Answers at once when there are changes, otherwise when the first one commits or after `wait` seconds.
+    @GetMapping
+    public CompletableFuture<OrderChangesResponse> getChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "100") @Min(1) int limit,
+            @RequestParam(defaultValue = "30") @Min(0) int wait) {
+
+        if (limit > config.getMaxBatchSize()) {
+            throw new BadRequestException("limit must be at most " + config.getMaxBatchSize());
+        }
+        if (wait > config.getMaxWait().toSeconds()) {
+            throw new BadRequestException("wait must be at most " + config.getMaxWait().toSeconds() + " seconds");
+        }
+        long cursor = parseCursor(since);
+        return orderChangeFeed.poll(cursor, limit, Duration.ofSeconds(wait))
+                .thenApply(changes -> new OrderChangesResponse(changes, String.valueOf(next(cursor, changes))));
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+            @RequestParam(required = false) String since,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+
+        long cursor = parseCursor(lastEventId != null ? lastEventId : since);
+        SseEmitter emitter = new SseEmitter(config.getSseTimeout().toMillis());
+        AtomicBoolean closed = new AtomicBoolean();
+        emitter.onCompletion(() -> closed.set(true));
+        emitter.onTimeout(() -> closed.set(true));
+        emitter.onError(e -> closed.set(true));
+        stream(emitter, cursor, closed);
+        return emitter;
+    }
+
+    // Sends on the task executor, so a slow client never holds up the feed's scheduler thread.
+    private void stream(SseEmitter emitter, long cursor, AtomicBoolean closed) {
+        if (closed.get()) {
+            return;
+        }
+        orderChangeFeed.poll(cursor, config.getMaxBatchSize(), config.getHeartbeat()).whenCompleteAsync((changes, error) -> {
+            if (error != null) {
+                emitter.completeWithError(error);
+                return;
+            }
+            try {
+                if (changes.isEmpty()) {
+                    emitter.send(SseEmitter.event().comment("keep-alive"));
+                }
+                for (OrderChangeResponse change : changes) {
+                    emitter.send(SseEmitter.event()
+                            .id(String.valueOf(change.getSeq()))
+                            .name(change.getType().name())
+                            .data(change, MediaType.APPLICATION_JSON));
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The client went away or the emitter timed out; its callbacks have marked it closed.
+                return;
+            }
+            stream(emitter, next(cursor, changes), closed);
+        }, taskExecutor);
+    }
+
+    private static long next(long cursor, List<OrderChangeResponse> changes) {
+        return changes.isEmpty() ? cursor : changes.get(changes.size() - 1).getSeq();
+    }
+
+    private static long parseCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0;
+        }
+        try {
+            long seq = Long.parseLong(cursor);
+            if (seq >= 0) {
+                return seq;
+            }
+        } catch (NumberFormatException e) {
+            // fall through
+        }
+        throw new BadRequestException("Invalid change cursor: " + cursor);
+    }
+}
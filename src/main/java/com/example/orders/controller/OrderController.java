@@ -1,13 +1,21 @@
 package com.example.orders.controller;
 
 import com.example.orders.exception.BadRequestException;
+import com.example.orders.ingestion.OrderIngestionQueue;
 import com.example.orders.service.OrderService;
 import com.example.orders.dto.CreateOrderRequest;
+import com.example.orders.dto.CustomerMatch;
+import com.example.orders.dto.CursorPagedResponse;
+import com.example.orders.dto.OrderFilter;
+import com.example.orders.dto.OrderLookupResponse;
 import com.example.orders.dto.OrderResponse;
 import com.example.orders.dto.PagedResponse;
+import com.example.orders.dto.SliceResponse;
 import com.example.orders.model.OrderStatus;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -15,24 +23,33 @@ import org.springframework.web.bind.annotation.*;
 import com.example.orders.dto.UpdateOrderRequest;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 
 @Validated
 @RestController
 @RequestMapping("/orders")
 public class OrderController {
     private final OrderService orderService;
+    // Present only with orders.ingestion.mode=async.
+    private final OrderIngestionQueue ingestionQueue;
 
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, ObjectProvider<OrderIngestionQueue> ingestionQueue) {
         this.orderService = orderService;
+        this.ingestionQueue = ingestionQueue.getIfAvailable();
     }
 
     @PostMapping
     public ResponseEntity<OrderResponse> createOrder(@Valid @RequestBody CreateOrderRequest request) {
+        if (ingestionQueue != null) {
+            ingestionQueue.submit(request);
+            return ResponseEntity.accepted().build();
+        }
         OrderResponse response = orderService.createOrder(request);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
@@ -45,31 +62,78 @@ public class OrderController {
             @RequestParam(required = false) BigDecimal minAmount,
             @RequestParam(required = false) BigDecimal maxAmount,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateFrom,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateTo) {
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateTo,
+            @RequestParam(required = false) String customer,
+            @RequestParam(required = false) CustomerMatch customerMatch) {
 
         if (dateFrom != null && dateTo != null && dateFrom.isAfter(dateTo)) {
             throw new BadRequestException("dateFrom must be <= dateTo");
         }
 
-        PagedResponse<OrderResponse> response = orderService.getOrders(
-                page, limit, status, minAmount, maxAmount, dateFrom, dateTo);
+        PagedResponse<OrderResponse> response = orderService.getOrders(page, limit,
+                new OrderFilter(status, minAmount, maxAmount, dateFrom, dateTo, customer, customerMatch));
         return ResponseEntity.ok(response);
 }
 
+    @GetMapping(params = "mode=slice")
+    public ResponseEntity<SliceResponse<OrderResponse>> getOrderSlice(
+            OrderFilter filter,
+            @RequestParam(defaultValue = "1") @Min(1) int page,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(100) int limit,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+
+        SliceResponse<OrderResponse> response = orderService.getOrderSlice(filter, page, limit, includeTotal);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping(params = "mode=cursor")
+    public ResponseEntity<CursorPagedResponse<OrderResponse>> getOrdersByCursor(
+            OrderFilter filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(100) int limit) {
+
+        CursorPagedResponse<OrderResponse> response = orderService.getOrdersByCursor(filter, cursor, limit);
+        return ResponseEntity.ok(response);
+    }
+
+    // Multi-get for clients that would otherwise call GET /orders/{id} once per order.
+    @GetMapping(params = "ids")
+    public ResponseEntity<OrderLookupResponse> getByIds(@RequestParam @Size(min = 1, max = 100) List<Long> ids) {
+        return ResponseEntity.ok(orderService.getByIds(ids));
+    }
+
     @GetMapping("/{id}")
-    public OrderResponse getById(@PathVariable Long id) {
-        return orderService.getById(id);
+    public ResponseEntity<OrderResponse> getById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        // Revalidation only needs the version, not the order itself.
+        if (ifNoneMatch != null) {
+            long version = orderService.getVersion(id);
+            if (OrderETags.matchesIfNoneMatch(ifNoneMatch, version)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(OrderETags.of(version)).build();
+            }
+        }
+        OrderResponse response = orderService.getById(id);
+        return ResponseEntity.ok().eTag(OrderETags.of(response.getVersion())).body(response);
     }
 
     @PutMapping("/{id}")
-    public OrderResponse update(@PathVariable Long id, @Valid @RequestBody UpdateOrderRequest request) {
-        return orderService.update(id, request);
+    public ResponseEntity<OrderResponse> update(
+            @PathVariable Long id,
+            @Valid @RequestBody UpdateOrderRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+
+        OrderResponse response = orderService.update(id, request, OrderETags.parseIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(OrderETags.of(response.getVersion())).body(response);
     }
 
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void delete(@PathVariable Long id) {
-        orderService.delete(id);
+    public void delete(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        orderService.delete(id, OrderETags.parseIfMatch(ifMatch));
     }
 
 }
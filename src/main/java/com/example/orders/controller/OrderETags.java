@@ -0,0 +1,73 @@
+package com.example.orders.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maps order versions to strong entity tags ({@code "3"}) and parses the conditional request headers.
+ */
+final class OrderETags {
+
+    private OrderETags() {
+        // Prevent instantiation
+    }
+
+    static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Versions listed in an {@code If-Match} header, compared strongly (weak tags never match).
+     * Returns {@code null} when the header is absent or {@code *}, i.e. no version constraint.
+     */
+    static List<Long> parseIfMatch(String header) {
+        if (header == null || header.isBlank() || header.trim().equals("*")) {
+            return null;
+        }
+        List<Long> versions = new ArrayList<>();
+        for (String tag : header.split(",")) {
+            String trimmed = tag.trim();
+            if (!trimmed.startsWith("W/")) {
+                Long version = opaqueVersion(trimmed);
+                if (version != null) {
+                    versions.add(version);
+                }
+            }
+        }
+        return versions;
+    }
+
+    /**
+     * Whether an {@code If-None-Match} header matches the given version (weak comparison).
+     */
+    static boolean matchesIfNoneMatch(String header, long version) {
+        if (header == null || header.isBlank()) {
+            return false;
+        }
+        if (header.trim().equals("*")) {
+            return true;
+        }
+        for (String tag : header.split(",")) {
+            String trimmed = tag.trim();
+            if (trimmed.startsWith("W/")) {
+                trimmed = trimmed.substring(2);
+            }
+            Long candidate = opaqueVersion(trimmed);
+            if (candidate != null && candidate == version) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Long opaqueVersion(String tag) {
+        if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            return null;
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.orders.controller;
+
+import com.example.orders.config.ConditionalOnJdbcStorage;
+import com.example.orders.dto.ExportFormat;
+import com.example.orders.dto.OrderFilter;
+import com.example.orders.service.OrderExportService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/orders")
+@ConditionalOnJdbcStorage
+public class OrderExportController {
+    private final OrderExportService orderExportService;
+
+    public OrderExportController(OrderExportService orderExportService) {
+        this.orderExportService = orderExportService;
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            OrderFilter filter,
+            @RequestParam(defaultValue = "ndjson") String format) {
+
+        ExportFormat exportFormat = ExportFormat.from(format);
+        // Reject bad filters while we can still answer with a 400.
+        orderExportService.validate(filter);
+
+        StreamingResponseBody body = out -> orderExportService.export(filter, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"orders." + exportFormat.getFileExtension() + "\"")
+                .body(body);
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.orders.controller;
+
+import com.example.orders.config.ConditionalOnJdbcStorage;
+import com.example.orders.dto.OrderFilter;
+import com.example.orders.dto.OrderStatsResponse;
+import com.example.orders.service.OrderStatsService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/orders")
+@ConditionalOnJdbcStorage
+public class OrderStatsController {
+    private final OrderStatsService orderStatsService;
+
+    public OrderStatsController(OrderStatsService orderStatsService) {
+        this.orderStatsService = orderStatsService;
+    }
+
+    // Same filters as GET /orders; status and date ranges are answered from the daily rollup.
+    @GetMapping("/stats")
+    public ResponseEntity<OrderStatsResponse> getStats(OrderFilter filter) {
+        return ResponseEntity.ok(orderStatsService.getStats(filter));
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.orders.dto;
+
+
+import java.util.List;
+import lombok.Getter;
+import lombok.Builder;
+import lombok.AllArgsConstructor;
+@Getter
+@Builder
+@AllArgsConstructor
+public class BatchCreateResponse {
+    private int created;
+    private int failed;
+    private List<BatchItemResult> items; // same order as the request array
+}
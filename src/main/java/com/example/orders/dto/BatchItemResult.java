@@ -0,0 +1,25 @@
+package com.example.orders.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResult {
+
+    public enum Outcome {
+        CREATED,
+        FAILED
+    }
+
+    private int index; // position in the request array
+    private Outcome outcome;
+    private OrderResponse order;
+    private String message;
+    private Map<String, String> fieldErrors;
+}
@@ -0,0 +1,23 @@
+package com.example.orders.dto;
+
+import com.example.orders.model.OrderStatus;
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkStatusUpdateRequest {
+    @NotNull
+    private OrderStatus targetStatus;
+    // Same filters as GET /orders; at least one of filter and ids must narrow the selection.
+    private OrderFilter filter;
+    // Optional: only these orders, further restricted by the filter.
+    private List<Long> ids;
+}
@@ -0,0 +1,12 @@
+package com.example.orders.dto;
+
+
+import lombok.Getter;
+import lombok.Builder;
+import lombok.AllArgsConstructor;
+@Getter
+@Builder
+@AllArgsConstructor
+public class BulkStatusUpdateResponse {
+    private long updated; // orders whose status changed; those already in the target status are not counted
+}
@@ -1,9 +1,11 @@
 package com.example.orders.dto;
 
 import com.example.orders.model.OrderStatus;
+import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import java.math.BigDecimal;
 import lombok.Getter;
 import lombok.Setter;
@@ -16,10 +18,13 @@ import lombok.Builder;
 @AllArgsConstructor
 @Builder
 public class CreateOrderRequest {
+    // The column limits are checked here, not by the INSERT: queued and batched orders are answered before it runs.
     @NotBlank
+    @Size(max = 255)
     private String customerName;
     private OrderStatus status;
     @NotNull
     @Positive
+    @DecimalMax("9999999999.99")
     private BigDecimal amount;
 }
@@ -0,0 +1,16 @@
+package com.example.orders.dto;
+
+
+import java.util.List;
+import lombok.Getter;
+import lombok.Builder;
+import lombok.AllArgsConstructor;
+@Getter
+@Builder
+@AllArgsConstructor
+public class CursorPagedResponse<T> {
+    private List<T> items;
+    private int limit;
+    private String nextCursor; // null on the last page
+    private boolean hasNext;
+}
@@ -0,0 +1,14 @@
+package com.example.orders.dto;
+
+/**
+ * How the {@code customer} filter is matched against an order's customer name. All modes ignore case and extra
+ * spaces (see {@link com.example.orders.model.CustomerNames#normalize}).
+ */
+public enum CustomerMatch {
+    // The whole name.
+    EXACT,
+    // The beginning of the name.
+    PREFIX,
+    // Every word given starts a word of the name, in any order: "smi j" finds "John Smith".
+    WORDS
+}
@@ -0,0 +1,18 @@
+package com.example.orders.dto;
+
+import com.example.orders.model.OrderChangeType;
+import java.time.Instant;
+import lombok.Getter;
+import lombok.Builder;
+import lombok.AllArgsConstructor;
+@Getter
+@Builder
+@AllArgsConstructor
+public class OrderChangeResponse {
+    private long seq;
+    private OrderChangeType type;
+    private Long orderId;
+    private Long version;
+    private Instant changedAt;
+    private OrderResponse order; // state after the change; null for DELETED
+}
@@ -0,0 +1,14 @@
+package com.example.orders.dto;
+
+
+import java.util.List;
+import lombok.Getter;
+import lombok.Builder;
+import lombok.AllArgsConstructor;
+@Getter
+@Builder
+@AllArgsConstructor
+public class OrderChangesResponse {
+    private List<OrderChangeResponse> changes; // in commit-safe order, oldest first
+    private String nextCursor; // pass as since= to continue; unchanged when there were no changes
+}
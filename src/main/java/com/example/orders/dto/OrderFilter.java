@@ -0,0 +1,33 @@
+package com.example.orders.dto;
+
+import com.example.orders.model.OrderStatus;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+/**
+ * Query-string filters accepted by the order listing endpoints.
+ * Mirrors the parameters of {@link com.example.orders.spec.OrderSpecifications#build}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderFilter {
+    private OrderStatus status;
+    private BigDecimal minAmount;
+    private BigDecimal maxAmount;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dateFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dateTo;
+    // Customer-name search; customerMatch only applies when customer is set (default WORDS).
+    private String customer;
+    private CustomerMatch customerMatch;
+}
@@ -0,0 +1,14 @@
+package com.example.orders.dto;
+
+
+import java.util.List;
+import lombok.Getter;
+import lombok.Builder;
+import lombok.AllArgsConstructor;
+@Getter
+@Builder
+@AllArgsConstructor
+public class OrderLookupResponse {
+    private List<OrderResponse> items; // in the order the ids were requested, each id once
+    private List<Long> missing; // requested ids with no order
+}
@@ -3,7 +3,7 @@ package com.example.orders.dto;
 
 import com.example.orders.model.Order;
 import com.example.orders.model.OrderStatus;
-import java.math.BigDecimal;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import java.time.Instant;
 import lombok.Getter;
 import lombok.Builder;
@@ -11,12 +11,16 @@ import lombok.AllArgsConstructor;
 @Getter
 @Builder
 @AllArgsConstructor
+// Written field by field (the version is sent as the ETag header, not in the body).
+@JsonSerialize(using = OrderResponseSerializer.class)
 public class OrderResponse {
     private Long id;
     private String customerName;
     private OrderStatus status;
-    private BigDecimal amount;
+    // Cents (see Money), written to JSON as the decimal amount.
+    private long amount;
     private Instant createdAt;
+    private Long version;
     public static OrderResponse fromEntity(Order order) {
         return OrderResponse.builder()
                 .id(order.getId())
@@ -24,6 +28,7 @@ public class OrderResponse {
                 .status(order.getStatus())
                 .amount(order.getAmount())
                 .createdAt(order.getCreatedAt())
+                .version(order.getVersion())
                 .build();
     }
 }
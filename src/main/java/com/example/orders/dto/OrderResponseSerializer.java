@@ -0,0 +1,44 @@
+package com.example.orders.dto;
+
+import com.example.orders.model.Money;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes an {@link OrderResponse} field by field, with the amount in cents written as the JSON number
+ * {@code BigDecimal} would write ({@code 120.50}) from the digits of the {@code long}.
+ * <p>
+ * A bean serializer reads each property through its getter and boxes the {@code long} amount; this one reads the
+ * primitive, and formats it into a buffer reused by the thread, so writing an order allocates nothing for its amount.
+ */
+public class OrderResponseSerializer extends StdSerializer<OrderResponse> {
+
+    // One per thread rather than per amount; with virtual threads that is one per request.
+    private static final ThreadLocal<char[]> AMOUNT_CHARS = ThreadLocal.withInitial(() -> new char[Money.MAX_CHARS]);
+
+    public OrderResponseSerializer() {
+        super(OrderResponse.class);
+    }
+
+    @Override
+    public void serialize(OrderResponse order, JsonGenerator generator, SerializerProvider provider)
+            throws IOException {
+        generator.writeStartObject(order);
+        if (order.getId() != null) {
+            generator.writeNumberField("id", order.getId());
+        } else {
+            generator.writeNullField("id");
+        }
+        generator.writeStringField("customerName", order.getCustomerName());
+        generator.writeStringField("status", order.getStatus() != null ? order.getStatus().name() : null);
+        char[] chars = AMOUNT_CHARS.get();
+        generator.writeFieldName("amount");
+        generator.writeNumber(chars, 0, Money.toChars(order.getAmount(), chars, 0));
+        // Through the configured serializer, so that the date format follows the ObjectMapper's settings.
+        provider.defaultSerializeField("createdAt", order.getCreatedAt(), generator);
+        generator.writeEndObject();
+    }
+}
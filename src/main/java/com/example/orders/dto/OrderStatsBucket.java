@@ -0,0 +1,29 @@
+package com.example.orders.dto;
+
+import com.example.orders.model.OrderStatus;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import lombok.Getter;
+import lombok.Builder;
+import lombok.AllArgsConstructor;
+@Getter
+@Builder
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrderStatsBucket {
+    private LocalDate day;       // only in byDay (UTC)
+    private OrderStatus status;  // only in byStatus
+    private long count;
+    private BigDecimal sum;
+    private BigDecimal min;      // omitted when count is 0
+    private BigDecimal max;
+    @JsonIgnore
+    private Integer shard;       // rollup row of the bucket (see OrderStatsRepository.SHARDS); null once summed
+
+    public OrderStatsBucket(LocalDate day, OrderStatus status, long count, BigDecimal sum, BigDecimal min,
+                            BigDecimal max) {
+        this(day, status, count, sum, min, max, null);
+    }
+}
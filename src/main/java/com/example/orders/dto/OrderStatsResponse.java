@@ -0,0 +1,15 @@
+package com.example.orders.dto;
+
+
+import java.util.List;
+import lombok.Getter;
+import lombok.Builder;
+import lombok.AllArgsConstructor;
+@Getter
+@Builder
+@AllArgsConstructor
+public class OrderStatsResponse {
+    private OrderStatsBucket total;
+    private List<OrderStatsBucket> byStatus; // statuses with at least one order
+    private List<OrderStatsBucket> byDay;    // days with at least one order, ascending
+}
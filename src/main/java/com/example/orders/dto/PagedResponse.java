@@ -14,5 +14,7 @@ public class PagedResponse<T> {
     private int limit;
     private long totalItems;
     private int totalPages;
+    // False when totalItems comes from in-memory counters and may lag recent writes on other nodes.
+    private boolean totalExact;
 }
 
@@ -0,0 +1,22 @@
+package com.example.orders.dto;
+
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+import lombok.Getter;
+import lombok.Builder;
+import lombok.AllArgsConstructor;
+@Getter
+@Builder
+@AllArgsConstructor
+public class SliceResponse<T> {
+    private List<T> items;
+    private int page; // 1-based
+    private int limit;
+    private boolean hasNext;
+    // Only populated when the client asks for totals (includeTotal=true).
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long totalItems;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer totalPages;
+}
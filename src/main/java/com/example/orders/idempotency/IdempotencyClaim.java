@@ -0,0 +1,8 @@
+package com.example.orders.idempotency;
+
+/**
+ * Outcome of {@link IdempotencyStore#claim}: either the caller's own in-progress record ({@code claimed}), which only
+ * it may {@link IdempotencyStore#release release}, or the record another request already holds for the key.
+ */
+public record IdempotencyClaim(IdempotencyRecord record, boolean claimed) {
+}
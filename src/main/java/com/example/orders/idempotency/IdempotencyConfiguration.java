@@ -0,0 +1,61 @@
+package com.example.orders.idempotency;
+
+import com.example.orders.config.OrdersProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.time.Clock;
+
+/**
+ * {@code Idempotency-Key} handling for {@code POST /orders} and {@code POST /orders/batch}, with the store selected by
+ * {@code orders.idempotency.store}. Declared here rather than as components so that web slice tests do not pick
+ * up the filter.
+ */
+@Configuration(proxyBeanMethods = false)
+class IdempotencyConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "orders.idempotency", name = "store", havingValue = "memory", matchIfMissing = true)
+    InMemoryIdempotencyStore inMemoryIdempotencyStore(OrdersProperties properties) {
+        return new InMemoryIdempotencyStore(properties.getIdempotency(), Clock.systemUTC());
+    }
+
+    @Bean
+    FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(
+            IdempotencyStore store,
+            @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver,
+            OrdersProperties properties, MeterRegistry meterRegistry) {
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(new IdempotencyFilter(
+                store, exceptionResolver, properties.getIdempotency().getInFlightTimeout(), meterRegistry));
+        registration.addUrlPatterns("/orders", "/orders/batch");
+        // Inside the request observation, outside the SQL metrics: store lookups do not count against SQL budgets.
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = "orders.idempotency", name = "store", havingValue = "jdbc")
+    @EnableScheduling
+    static class JdbcStoreConfiguration {
+
+        @Bean
+        JdbcIdempotencyStore jdbcIdempotencyStore(JdbcTemplate jdbcTemplate, OrdersProperties properties) {
+            return new JdbcIdempotencyStore(jdbcTemplate, properties.getIdempotency(), Clock.systemUTC());
+        }
+
+        @Bean
+        SchedulingConfigurer idempotencyKeyPurge(JdbcIdempotencyStore store, OrdersProperties properties) {
+            return registrar -> registrar.addFixedDelayTask(
+                    store::purgeExpired, properties.getIdempotency().getPurgeInterval());
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.example.orders.idempotency;
+
+import com.example.orders.exception.BadRequestException;
+import com.example.orders.exception.ConflictException;
+import com.example.orders.exception.UnprocessableEntityException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * {@code Idempotency-Key} support for the order-creating endpoints.
+ * <p>
+ * The first request with a key runs normally; if it succeeds (2xx) its response is stored and every later request
+ * with the same key gets that response back, marked {@code Idempotent-Replayed: true}, without reaching the
+ * controller. Responses other than 2xx are not stored, so a retry after an error runs again.
+ * <p>
+ * Requests are fingerprinted (method, path and body bytes): reusing a key for a different request is rejected
+ * with 422. Concurrent duplicates on this node are single-flighted: they wait for the running request and then
+ * replay its response. A duplicate arriving at another node while the key is still in progress gets 409.
+ */
+class IdempotencyFilter extends OncePerRequestFilter {
+
+    static final String HEADER = "Idempotency-Key";
+    static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore store;
+    private final HandlerExceptionResolver exceptionResolver;
+    private final Duration inFlightTimeout;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentHashMap<String, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+
+    IdempotencyFilter(IdempotencyStore store, HandlerExceptionResolver exceptionResolver, Duration inFlightTimeout,
+                      MeterRegistry meterRegistry) {
+        this.store = store;
+        this.exceptionResolver = exceptionResolver;
+        this.inFlightTimeout = inFlightTimeout;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod()) || request.getHeader(HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String key = request.getHeader(HEADER);
+        try {
+            if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+                throw new BadRequestException(HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters");
+            }
+            byte[] body = StreamUtils.copyToByteArray(request.getInputStream());
+            String fingerprint = fingerprint(request, body);
+
+            CompletableFuture<Void> leader = new CompletableFuture<>();
+            CompletableFuture<Void> running;
+            while ((running = inFlight.putIfAbsent(key, leader)) != null) {
+                // Single flight: wait for the request holding the key, then look at what it stored.
+                await(running);
+            }
+            try {
+                handle(key, fingerprint, new CachedBodyRequest(request, body), response, chain);
+            } finally {
+                inFlight.remove(key, leader);
+                leader.complete(null);
+            }
+        } catch (BadRequestException | ConflictException | UnprocessableEntityException e) {
+            exceptionResolver.resolveException(request, response, null, e);
+        }
+    }
+
+    private void handle(String key, String fingerprint, HttpServletRequest request, HttpServletResponse response,
+                        FilterChain chain) throws ServletException, IOException {
+        IdempotencyClaim claim = store.claim(key, fingerprint);
+        if (!claim.claimed()) {
+            IdempotencyRecord existing = claim.record();
+            if (!existing.fingerprint().equals(fingerprint)) {
+                count("mismatch");
+                throw new UnprocessableEntityException(HEADER + " was already used for a different request");
+            }
+            if (existing.isInProgress()) {
+                count("conflict");
+                throw new ConflictException("A request with this " + HEADER + " is still in progress");
+            }
+            count("replayed");
+            replay(existing.response(), response);
+            return;
+        }
+
+        count("executed");
+        ContentCachingResponseWrapper recorded = new ContentCachingResponseWrapper(response);
+        boolean completed = false;
+        try {
+            chain.doFilter(request, recorded);
+            StoredResponse stored = HttpStatus.valueOf(recorded.getStatus()).is2xxSuccessful()
+                    ? new StoredResponse(recorded.getStatus(), recorded.getContentType(),
+                    recorded.getContentAsByteArray())
+                    : null;
+            recorded.copyBodyToResponse();
+            if (stored != null) {
+                store.complete(key, fingerprint, stored);
+                completed = true;
+            }
+        } finally {
+            if (!completed) {
+                store.release(key, claim.record());
+            }
+        }
+    }
+
+    private void await(CompletableFuture<Void> running) {
+        try {
+            running.get(inFlightTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("A request with this " + HEADER + " is still in progress");
+        } catch (TimeoutException | ExecutionException e) {
+            count("conflict");
+            throw new ConflictException("A request with this " + HEADER + " is still in progress");
+        }
+    }
+
+    private static void replay(StoredResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private void count(String outcome) {
+        Counter.builder("orders.idempotency.requests")
+                .description("Requests with an Idempotency-Key, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static String fingerprint(HttpServletRequest request, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((request.getMethod() + " " + request.getRequestURI() + "\n").getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * The request with its body read into memory, so it can be fingerprinted and still be read by the controller.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    // The whole body is already in memory: it is available at once, then all read.
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        if (isFinished()) {
+                            listener.onAllDataRead();
+                        }
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.orders.idempotency;
+
+import java.time.Instant;
+
+/**
+ * What an {@link IdempotencyStore} holds for a key: the fingerprint of the request that claimed it and,
+ * once that request completed successfully, its response.
+ */
+public record IdempotencyRecord(String fingerprint, StoredResponse response, Instant createdAt, Instant expiresAt) {
+
+    public boolean isInProgress() {
+        return response == null;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.orders.idempotency;
+
+/**
+ * Keys of requests already seen, with the response to replay for them.
+ * <p>
+ * A request first {@link #claim claims} its key. The claim succeeds only if the key is unknown, expired, or held by
+ * a request abandoned for longer than {@code orders.idempotency.in-flight-timeout}. The request then either
+ * {@link #complete completes} the key with its response or {@link #release releases} it, so a retry runs again.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Claims the key for a new request.
+     *
+     * @return the caller's claim if the key was claimed, otherwise the record already held for it
+     */
+    IdempotencyClaim claim(String key, String fingerprint);
+
+    /**
+     * Stores the response of the request holding the key; it is replayed until the key expires. The response is stored
+     * even if the claim is no longer held (evicted, or taken over as abandoned), or a retry would run the request again.
+     */
+    void complete(String key, String fingerprint, StoredResponse response);
+
+    /**
+     * Forgets a claimed key whose request did not produce a response worth replaying. Only {@code claim} itself is
+     * removed: if the key was taken over as abandoned meanwhile, the newer request keeps it.
+     */
+    void release(String key, IdempotencyRecord claim);
+}
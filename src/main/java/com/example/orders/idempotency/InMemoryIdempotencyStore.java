@@ -0,0 +1,61 @@
+package com.example.orders.idempotency;
+
+import com.example.orders.config.OrdersProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * {@link IdempotencyStore} in a bounded Caffeine cache: keys expire {@code ttl} after they were written and the
+ * least recently used are evicted beyond {@code maximum-size}. Keys are only known to this node.
+ */
+class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final Cache<String, IdempotencyRecord> records;
+    private final Duration ttl;
+    private final Duration inFlightTimeout;
+    private final Clock clock;
+
+    InMemoryIdempotencyStore(OrdersProperties.Idempotency config, Clock clock) {
+        this(Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .expireAfterWrite(config.getTtl())
+                .build(), config, clock);
+    }
+
+    InMemoryIdempotencyStore(Cache<String, IdempotencyRecord> records, OrdersProperties.Idempotency config,
+                             Clock clock) {
+        this.records = records;
+        this.ttl = config.getTtl();
+        this.inFlightTimeout = config.getInFlightTimeout();
+        this.clock = clock;
+    }
+
+    @Override
+    public IdempotencyClaim claim(String key, String fingerprint) {
+        Instant now = clock.instant();
+        IdempotencyRecord claimed = new IdempotencyRecord(fingerprint, null, now, now.plus(ttl));
+        IdempotencyRecord current = records.asMap().compute(key, (k, existing) ->
+                existing == null || isAbandoned(existing, now) ? claimed : existing);
+        return new IdempotencyClaim(current, current == claimed);
+    }
+
+    @Override
+    public void complete(String key, String fingerprint, StoredResponse response) {
+        Instant now = clock.instant();
+        records.asMap().compute(key, (k, existing) -> new IdempotencyRecord(
+                fingerprint, response, existing != null ? existing.createdAt() : now, now.plus(ttl)));
+    }
+
+    @Override
+    public void release(String key, IdempotencyRecord claim) {
+        records.asMap().computeIfPresent(key, (k, existing) -> existing == claim ? null : existing);
+    }
+
+    private boolean isAbandoned(IdempotencyRecord record, Instant now) {
+        return record.isInProgress() && record.createdAt().plus(inFlightTimeout).isBefore(now);
+    }
+}
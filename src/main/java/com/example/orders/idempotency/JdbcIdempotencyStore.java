@@ -0,0 +1,124 @@
+package com.example.orders.idempotency;
+
+import com.example.orders.config.OrdersProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * {@link IdempotencyStore} in the {@code idempotency_keys} table, so a retry routed to another node is recognised.
+ * The primary key serialises concurrent claims across nodes: exactly one INSERT wins, the others see its row.
+ * Every operation is a single auto-committed statement, independent of the request's own transaction.
+ */
+class JdbcIdempotencyStore implements IdempotencyStore {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcIdempotencyStore.class);
+
+    private static final RowMapper<IdempotencyRecord> RECORD = (rs, rowNum) -> {
+        int status = rs.getInt("status");
+        StoredResponse response = rs.wasNull()
+                ? null
+                : new StoredResponse(status, rs.getString("content_type"), rs.getBytes("body"));
+        return new IdempotencyRecord(rs.getString("fingerprint"), response,
+                rs.getObject("created_at", OffsetDateTime.class).toInstant(),
+                rs.getObject("expires_at", OffsetDateTime.class).toInstant());
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration ttl;
+    private final Duration inFlightTimeout;
+    private final Clock clock;
+
+    JdbcIdempotencyStore(JdbcTemplate jdbcTemplate, OrdersProperties.Idempotency config, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttl = config.getTtl();
+        this.inFlightTimeout = config.getInFlightTimeout();
+        this.clock = clock;
+    }
+
+    @Override
+    public IdempotencyClaim claim(String key, String fingerprint) {
+        while (true) {
+            OffsetDateTime now = now();
+            try {
+                jdbcTemplate.update("""
+                        INSERT INTO idempotency_keys (idempotency_key, fingerprint, created_at, expires_at)
+                        VALUES (?, ?, ?, ?)""", key, fingerprint, now, now.plus(ttl));
+                return new IdempotencyClaim(
+                        new IdempotencyRecord(fingerprint, null, now.toInstant(), now.plus(ttl).toInstant()), true);
+            } catch (DuplicateKeyException e) {
+                List<IdempotencyRecord> existing = jdbcTemplate.query("""
+                        SELECT fingerprint, status, content_type, body, created_at, expires_at
+                        FROM idempotency_keys WHERE idempotency_key = ?""", RECORD, key);
+                if (!existing.isEmpty() && !isStale(existing.get(0), now.toInstant())) {
+                    return new IdempotencyClaim(existing.get(0), false);
+                }
+                // Expired or abandoned: remove it (unless someone else already did) and try again.
+                jdbcTemplate.update("""
+                        DELETE FROM idempotency_keys
+                        WHERE idempotency_key = ? AND (expires_at < ? OR (status IS NULL AND created_at < ?))""",
+                        key, now, now.minus(inFlightTimeout));
+            }
+        }
+    }
+
+    @Override
+    public void complete(String key, String fingerprint, StoredResponse response) {
+        OffsetDateTime now = now();
+        int updated = jdbcTemplate.update("""
+                UPDATE idempotency_keys SET status = ?, content_type = ?, body = ?, expires_at = ?
+                WHERE idempotency_key = ?""",
+                response.status(), response.contentType(), response.body(), now.plus(ttl), key);
+        if (updated == 0) {
+            // The claim was deleted meanwhile (taken over as abandoned, then released).
+            try {
+                jdbcTemplate.update("""
+                        INSERT INTO idempotency_keys
+                            (idempotency_key, fingerprint, status, content_type, body, created_at, expires_at)
+                        VALUES (?, ?, ?, ?, ?, ?, ?)""",
+                        key, fingerprint, response.status(), response.contentType(), response.body(), now,
+                        now.plus(ttl));
+            } catch (DuplicateKeyException e) {
+                // Claimed again in between; that request stores its own response.
+            }
+        }
+    }
+
+    @Override
+    public void release(String key, IdempotencyRecord claim) {
+        // A claim taken over as abandoned has a later created_at; leave that one to its own request.
+        jdbcTemplate.update("""
+                DELETE FROM idempotency_keys WHERE idempotency_key = ? AND status IS NULL AND created_at = ?""",
+                key, OffsetDateTime.ofInstant(claim.createdAt(), ZoneOffset.UTC));
+    }
+
+    /**
+     * Deletes expired keys; scheduled every {@code orders.idempotency.purge-interval}.
+     */
+    void purgeExpired() {
+        int purged = jdbcTemplate.update("DELETE FROM idempotency_keys WHERE expires_at < ?", now());
+        if (purged > 0) {
+            log.debug("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    private boolean isStale(IdempotencyRecord record, Instant now) {
+        return record.expiresAt().isBefore(now)
+                || record.isInProgress() && record.createdAt().plus(inFlightTimeout).isBefore(now);
+    }
+
+    // Truncated to the precision of the timestamp columns, so that a claim's created_at matches its row.
+    private OffsetDateTime now() {
+        return OffsetDateTime.ofInstant(clock.instant().truncatedTo(ChronoUnit.MICROS), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.orders.idempotency;
+
+/**
+ * The response replayed for a repeated {@code Idempotency-Key}: status, content type and body bytes as sent.
+ */
+public record StoredResponse(int status, String contentType, byte[] body) {
+}
@@ -0,0 +1,311 @@
+package com.example.orders.ingestion;
+
+import com.example.orders.config.ConditionalOnJdbcStorage;
+import com.example.orders.config.OrdersProperties;
+import com.example.orders.dto.CreateOrderRequest;
+import com.example.orders.exception.ServiceUnavailableException;
+import com.example.orders.exception.TooManyRequestsException;
+import com.example.orders.service.OrderBatchService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Write-behind ingestion for {@code POST /orders} ({@code orders.ingestion.mode=async}).
+ * <p>
+ * Request threads put validated orders on a lock-free queue bounded by a CAS-maintained depth counter;
+ * a full queue is answered with 429. A single flusher thread writes them with
+ * {@link OrderBatchService#persistAll} in batches of {@code batch-size}: it wakes up as soon as a full batch
+ * is queued, and otherwise every {@code flush-interval} to write what has accumulated.
+ * <p>
+ * A failed batch is retried with capped backoff, so an order is written at least once (a batch whose commit
+ * succeeded but was reported as failed is written again). A batch that keeps failing is written order by order, and
+ * the orders that fail on their own are dead-lettered. On shutdown the queue stops accepting orders after
+ * the web server has stopped, and the flusher drains it for up to {@code shutdown-timeout}.
+ * <p>
+ * Anything else the flusher throws (an {@link Error}, or a bug outside the retried write) ends it: the queue then
+ * stops accepting orders, so that callers get 503 instead of 202s for orders nobody will write, and
+ * {@code orders.ingestion.flusher.alive} drops to 0.
+ */
+@Component
+@ConditionalOnProperty(prefix = "orders.ingestion", name = "mode", havingValue = "async")
+@ConditionalOnJdbcStorage
+public class OrderIngestionQueue implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderIngestionQueue.class);
+    private static final Duration MAX_RETRY_BACKOFF = Duration.ofSeconds(5);
+
+    private final OrderBatchService orderBatchService;
+    private final int capacity;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final Duration shutdownTimeout;
+    private final int maxAttempts;
+
+    private final ConcurrentLinkedQueue<CreateOrderRequest> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger depth = new AtomicInteger();
+
+    private final Counter rejected;
+    private final Counter flushed;
+    private final Counter flushFailures;
+    private final Counter deadLettered;
+    private final Timer flushTimer;
+
+    private volatile boolean accepting;
+    private volatile boolean running;
+    private volatile long drainDeadline;
+    private volatile Thread flusher;
+
+    public OrderIngestionQueue(OrderBatchService orderBatchService, OrdersProperties properties,
+                               MeterRegistry meterRegistry) {
+        OrdersProperties.Ingestion config = properties.getIngestion();
+        this.orderBatchService = orderBatchService;
+        this.capacity = config.getQueueCapacity();
+        this.batchSize = config.getBatchSize();
+        this.flushInterval = config.getFlushInterval();
+        this.shutdownTimeout = config.getShutdownTimeout();
+        this.maxAttempts = config.getMaxAttempts();
+
+        Gauge.builder("orders.ingestion.queue.depth", depth, AtomicInteger::get)
+                .description("Accepted orders not yet written (capacity " + capacity + ")")
+                .register(meterRegistry);
+        Gauge.builder("orders.ingestion.flusher.alive", this, queue -> queue.isFlusherAlive() ? 1 : 0)
+                .description("1 while the flusher thread is writing queued orders, 0 once it has stopped or failed")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("orders.ingestion.rejected")
+                .description("Orders rejected with 429 because the ingestion queue was full")
+                .register(meterRegistry);
+        this.flushed = Counter.builder("orders.ingestion.flushed")
+                .description("Queued orders written to the database")
+                .register(meterRegistry);
+        this.flushFailures = Counter.builder("orders.ingestion.flush.failures")
+                .description("Batch writes that failed and were retried")
+                .register(meterRegistry);
+        this.deadLettered = Counter.builder("orders.ingestion.dead.lettered")
+                .description("Queued orders dropped because they failed to be written on their own")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("orders.ingestion.flush")
+                .description("Time to write one batch of queued orders")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues a validated order for writing.
+     *
+     * @throws TooManyRequestsException    if the queue is full
+     * @throws ServiceUnavailableException if the application is shutting down
+     */
+    public void submit(CreateOrderRequest request) {
+        if (!accepting) {
+            throw new ServiceUnavailableException("Order ingestion is not accepting orders", flushInterval);
+        }
+        int current;
+        do {
+            current = depth.get();
+            if (current >= capacity) {
+                rejected.increment();
+                throw new TooManyRequestsException("Order ingestion queue is full", flushInterval);
+            }
+        } while (!depth.compareAndSet(current, current + 1));
+        queue.offer(request);
+        if (current + 1 == batchSize) {
+            LockSupport.unpark(flusher);
+        }
+    }
+
+    /**
+     * Accepted orders not yet written.
+     */
+    public int depth() {
+        return depth.get();
+    }
+
+    /**
+     * Whether the flusher thread is running; {@code false} before start, after stop, and once it has failed.
+     */
+    public boolean isFlusherAlive() {
+        Thread thread = flusher;
+        return thread != null && thread.isAlive();
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        flusher = new Thread(this::runFlusher, "orders-ingestion-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+        accepting = true;
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        accepting = false;
+        drainDeadline = System.nanoTime() + shutdownTimeout.toNanos();
+        running = false;
+        LockSupport.unpark(flusher);
+        try {
+            flusher.join(shutdownTimeout.toMillis() + 1_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (depth.get() > 0) {
+            log.error("Order ingestion stopped with {} accepted orders not written", depth.get());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stops after the web server (which stops at {@code DEFAULT_PHASE - 2048}), so no request can still be
+     * submitting while the queue drains, and before the data source is closed.
+     */
+    @Override
+    public int getPhase() {
+        return DEFAULT_PHASE - 4096;
+    }
+
+    private void runFlusher() {
+        try {
+            flushUntilStopped();
+        } catch (Throwable e) {
+            accepting = false;
+            running = false;
+            log.error("Order ingestion flusher failed; refusing new orders, {} accepted orders not written",
+                    depth.get(), e);
+        }
+    }
+
+    private void flushUntilStopped() {
+        long nextFlush = System.nanoTime() + flushInterval.toNanos();
+        while (running) {
+            if (depth.get() < batchSize) {
+                LockSupport.parkNanos(this, nextFlush - System.nanoTime());
+            }
+            // Woken before the interval (by a full batch, or by a wake-up left over from one that was written
+            // meanwhile): leave a partial rest for the interval instead of writing a small batch.
+            boolean due = System.nanoTime() - nextFlush >= 0;
+            flushQueued(running && !due);
+            if (due) {
+                nextFlush = System.nanoTime() + flushInterval.toNanos();
+            }
+        }
+        // Shutting down: nothing new can arrive, write what is left.
+        flushQueued(false);
+    }
+
+    private void flushQueued(boolean fullBatchesOnly) {
+        List<CreateOrderRequest> batch = new ArrayList<>(batchSize);
+        while (true) {
+            if (fullBatchesOnly && running && depth.get() < batchSize) {
+                return;
+            }
+            CreateOrderRequest request;
+            while (batch.size() < batchSize && (request = queue.poll()) != null) {
+                batch.add(request);
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            if (!write(batch)) {
+                return;
+            }
+            depth.addAndGet(-batch.size());
+            batch.clear();
+        }
+    }
+
+    /**
+     * Writes one batch, retrying until it succeeds. After {@code max-attempts} failures the batch is written order by
+     * order ({@link #writeEach}), so that an order that can never be written does not hold up the others. Gives up
+     * only when the drain deadline has passed, returning {@code false}.
+     */
+    private boolean write(List<CreateOrderRequest> batch) {
+        List<CreateOrderRequest> pending = batch;
+        long backoff = flushInterval.toNanos();
+        int attempts = 0;
+        while (true) {
+            long start = System.nanoTime();
+            try {
+                orderBatchService.persistAll(pending);
+                flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                flushed.increment(pending.size());
+                return true;
+            } catch (RuntimeException e) {
+                flushFailures.increment();
+                if (!running && System.nanoTime() - drainDeadline >= 0) {
+                    log.error("Dropping {} queued orders: shutdown timeout reached", pending.size(), e);
+                    return false;
+                }
+                if (++attempts >= maxAttempts) {
+                    pending = writeEach(pending);
+                    if (pending.isEmpty()) {
+                        return true;
+                    }
+                    attempts = 0;
+                }
+                log.warn("Writing {} queued orders failed, retrying in {} ms",
+                        pending.size(), TimeUnit.NANOSECONDS.toMillis(backoff), e);
+                LockSupport.parkNanos(backoff);
+                backoff = Math.min(backoff * 2, MAX_RETRY_BACKOFF.toNanos());
+            }
+        }
+    }
+
+    /**
+     * Writes each order in its own transaction. An order that fails because the database could not be reached is
+     * returned to be retried; one that fails for any other reason (a constraint, a value out of range) would fail
+     * every time, and is dead-lettered: logged with its fields and dropped.
+     */
+    private List<CreateOrderRequest> writeEach(List<CreateOrderRequest> batch) {
+        List<CreateOrderRequest> retry = new ArrayList<>();
+        for (CreateOrderRequest request : batch) {
+            try {
+                orderBatchService.persistAll(List.of(request));
+                flushed.increment();
+            } catch (RuntimeException e) {
+                if (isUnavailable(e)) {
+                    retry.add(request);
+                } else {
+                    deadLettered.increment();
+                    log.error("Dead-lettering queued order: customerName={}, status={}, amount={}",
+                            request.getCustomerName(), request.getStatus(), request.getAmount(), e);
+                }
+            }
+        }
+        return retry;
+    }
+
+    private static boolean isUnavailable(RuntimeException e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof CannotCreateTransactionException;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.orders.metrics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Counts the statements executed and the rows read through connections obtained while a {@link SqlStatistics}
+ * scope is open. Connections obtained outside a scope (startup migrations, background threads) are returned
+ * unwrapped, so they cost nothing.
+ * <p>
+ * A batch ({@code executeBatch}) counts as one statement: it is one round-trip.
+ */
+public class CountingDataSource extends DelegatingDataSource {
+
+    public CountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private static Connection wrap(Connection connection) {
+        SqlStatistics statistics = SqlStatistics.current();
+        if (statistics == null) {
+            return connection;
+        }
+        return proxy(Connection.class, connection, (method, args, result) -> {
+            if (!(result instanceof Statement statement)) {
+                return result;
+            }
+            // prepareStatement(sql, ...) / prepareCall(sql, ...); plain statements get their SQL on execute.
+            String preparedSql = args != null && args.length > 0 && args[0] instanceof String sql ? sql : null;
+            return proxy(method.getReturnType(), statement,
+                    (m, a, r) -> onStatementResult(statistics, preparedSql, m, a, r));
+        });
+    }
+
+    private static Object onStatementResult(SqlStatistics statistics, String preparedSql,
+                                            Method method, Object[] args, Object result) {
+        if (method.getName().startsWith("execute")) {
+            statistics.statementExecuted(args != null && args.length > 0 && args[0] instanceof String sql
+                    ? sql : preparedSql);
+        }
+        if (result instanceof ResultSet resultSet) {
+            return proxy(ResultSet.class, resultSet, (m, a, r) -> {
+                if (Boolean.TRUE.equals(r) && m.getName().equals("next")) {
+                    statistics.rowRead();
+                }
+                return r;
+            });
+        }
+        return result;
+    }
+
+    @FunctionalInterface
+    private interface ResultHandler {
+        Object handle(Method method, Object[] args, Object result);
+    }
+
+    private static <T> T proxy(Class<T> type, Object target, ResultHandler handler) {
+        Object proxy = Proxy.newProxyInstance(CountingDataSource.class.getClassLoader(), new Class<?>[]{type},
+                (self, method, args) -> {
+                    Object result;
+                    try {
+                        result = method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                    return handler.handle(method, args, result);
+                });
+        return type.cast(proxy);
+    }
+}
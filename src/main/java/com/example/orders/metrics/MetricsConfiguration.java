@@ -0,0 +1,35 @@
+package com.example.orders.metrics;
+
+import com.example.orders.config.OrdersProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Per-request SQL counting and budgets, and the order query tags on {@code http.server.requests}.
+ * Declared here rather than as components so that web slice tests ({@code @WebMvcTest}) do not pick up the filter.
+ */
+@Configuration(proxyBeanMethods = false)
+class MetricsConfiguration {
+
+    @Bean
+    static CountingDataSourcePostProcessor countingDataSourcePostProcessor() {
+        return new CountingDataSourcePostProcessor();
+    }
+
+    @Bean
+    FilterRegistrationBean<SqlMetricsFilter> sqlMetricsFilter(MeterRegistry meterRegistry, OrdersProperties properties) {
+        FilterRegistrationBean<SqlMetricsFilter> registration = new FilterRegistrationBean<>(
+                new SqlMetricsFilter(meterRegistry, new SqlBudget(properties, meterRegistry)));
+        // After the request observation (HIGHEST_PRECEDENCE + 1) and the Idempotency-Key filter.
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 3);
+        return registration;
+    }
+
+    @Bean
+    OrderServerRequestObservationConvention orderServerRequestObservationConvention() {
+        return new OrderServerRequestObservationConvention();
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.orders.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.StringJoiner;
+
+/**
+ * Low-cardinality description of an order query request, used as metric tags:
+ * {@code filters} names the filter groups that are set (e.g. {@code status+amount}, {@code none}) and
+ * {@code mode} the pagination mode ({@code offset}, {@code slice}, {@code cursor}), {@code ids} (multi-get) or
+ * {@code export}.
+ * Requests to other endpoints get {@value #NOT_APPLICABLE} for both.
+ */
+final class OrderQueryShape {
+
+    static final String FILTERS_TAG = "filters";
+    static final String MODE_TAG = "mode";
+    static final String NOT_APPLICABLE = "n/a";
+
+    private OrderQueryShape() {
+    }
+
+    static String filters(HttpServletRequest request, String pathPattern) {
+        if (!isOrderQuery(request, pathPattern)) {
+            return NOT_APPLICABLE;
+        }
+        StringJoiner shape = new StringJoiner("+");
+        if (hasParameter(request, "status")) {
+            shape.add("status");
+        }
+        if (hasParameter(request, "minAmount") || hasParameter(request, "maxAmount")) {
+            shape.add("amount");
+        }
+        if (hasParameter(request, "dateFrom") || hasParameter(request, "dateTo")) {
+            shape.add("date");
+        }
+        if (hasParameter(request, "customer")) {
+            shape.add("customer");
+        }
+        return shape.length() == 0 ? "none" : shape.toString();
+    }
+
+    static String mode(HttpServletRequest request, String pathPattern) {
+        if (!isOrderQuery(request, pathPattern)) {
+            return NOT_APPLICABLE;
+        }
+        if (pathPattern.equals("/orders/export")) {
+            return "export";
+        }
+        if (request.getParameter("ids") != null) {
+            return "ids";
+        }
+        // Mirrors the controller mappings: any other mode value falls through to offset pagination.
+        String mode = request.getParameter("mode");
+        return "slice".equals(mode) || "cursor".equals(mode) ? mode : "offset";
+    }
+
+    private static boolean isOrderQuery(HttpServletRequest request, String pathPattern) {
+        return "GET".equals(request.getMethod())
+                && ("/orders".equals(pathPattern) || "/orders/export".equals(pathPattern));
+    }
+
+    private static boolean hasParameter(HttpServletRequest request, String name) {
+        String value = request.getParameter(name);
+        return value != null && !value.isBlank();
+    }
+}
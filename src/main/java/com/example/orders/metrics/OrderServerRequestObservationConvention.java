@@ -0,0 +1,23 @@
+package com.example.orders.metrics;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+
+/**
+ * Adds the {@code filters} and {@code mode} tags of {@link OrderQueryShape} to {@code http.server.requests},
+ * so latency histograms of {@code GET /orders} can be broken down by which filters were used.
+ */
+class OrderServerRequestObservationConvention extends DefaultServerRequestObservationConvention {
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        HttpServletRequest request = context.getCarrier();
+        String pathPattern = context.getPathPattern();
+        return super.getLowCardinalityKeyValues(context).and(
+                KeyValue.of(OrderQueryShape.FILTERS_TAG, OrderQueryShape.filters(request, pathPattern)),
+                KeyValue.of(OrderQueryShape.MODE_TAG, OrderQueryShape.mode(request, pathPattern)));
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.orders.metrics;
+
+import com.example.orders.config.OrdersProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-endpoint limits on the SQL statements one request may execute ({@code orders.sql-budget.*}).
+ * A request over its budget is logged with the SQL it ran and counted as {@code orders.http.sql.budget.exceeded};
+ * in {@code FAIL} mode a {@link SqlBudgetExceededException} is thrown as well.
+ */
+class SqlBudget {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlBudget.class);
+
+    private final OrdersProperties.SqlBudget.Mode mode;
+    private final Map<String, Integer> maxStatements = new HashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    SqlBudget(OrdersProperties properties, MeterRegistry meterRegistry) {
+        OrdersProperties.SqlBudget config = properties.getSqlBudget();
+        this.mode = config.getMode();
+        this.meterRegistry = meterRegistry;
+        for (OrdersProperties.SqlBudget.Endpoint endpoint : config.getEndpoints()) {
+            maxStatements.put(endpoint.getEndpoint().trim(), endpoint.getMaxStatements());
+        }
+    }
+
+    void check(String method, String uri, SqlStatistics statistics) {
+        if (mode == OrdersProperties.SqlBudget.Mode.OFF || uri == null) {
+            return;
+        }
+        String endpoint = method + " " + uri;
+        Integer budget = maxStatements.get(endpoint);
+        if (budget == null || statistics.getStatements() <= budget) {
+            return;
+        }
+
+        Counter.builder("orders.http.sql.budget.exceeded")
+                .description("Requests that executed more SQL statements than their endpoint's budget")
+                .tags("method", method, "uri", uri)
+                .register(meterRegistry)
+                .increment();
+        String message = endpoint + " executed " + statistics.getStatements()
+                + " SQL statements, budget is " + budget + ": " + statistics.getSql();
+        log.warn(message);
+        if (mode == OrdersProperties.SqlBudget.Mode.FAIL) {
+            throw new SqlBudgetExceededException(message);
+        }
+    }
+}
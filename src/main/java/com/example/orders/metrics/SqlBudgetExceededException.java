@@ -0,0 +1,12 @@
+package com.example.orders.metrics;
+
+/**
+ * Thrown after a request ran more SQL statements than its endpoint's budget, when
+ * {@code orders.sql-budget.mode=FAIL}. Meant for tests: the response has already been written.
+ */
+public class SqlBudgetExceededException extends RuntimeException {
+
+    public SqlBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.orders.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records the SQL statements executed and rows read by each HTTP request as
+ * {@code orders.http.sql.statements} and {@code orders.http.sql.rows}, tagged like {@code http.server.requests}
+ * ({@code method}, {@code uri}) plus the {@link OrderQueryShape} tags.
+ * <p>
+ * Only work done on the request thread is counted; the body of a streamed export is written on an async thread.
+ * Requests that complete normally are then checked against their endpoint's {@link SqlBudget}.
+ */
+class SqlMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final SqlBudget sqlBudget;
+
+    SqlMetricsFilter(MeterRegistry meterRegistry, SqlBudget sqlBudget) {
+        this.meterRegistry = meterRegistry;
+        this.sqlBudget = sqlBudget;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlStatistics statistics = SqlStatistics.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            statistics.stop();
+            record(request, statistics);
+        }
+        sqlBudget.check(request.getMethod(),
+                (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE), statistics);
+    }
+
+    private void record(HttpServletRequest request, SqlStatistics statistics) {
+        String pathPattern = (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Tags tags = Tags.of(
+                "method", request.getMethod(),
+                "uri", pathPattern != null ? pathPattern : "UNKNOWN",
+                OrderQueryShape.FILTERS_TAG, OrderQueryShape.filters(request, pathPattern),
+                OrderQueryShape.MODE_TAG, OrderQueryShape.mode(request, pathPattern));
+        DistributionSummary.builder("orders.http.sql.statements")
+                .description("SQL statements executed per HTTP request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(statistics.getStatements());
+        DistributionSummary.builder("orders.http.sql.rows")
+                .description("Rows read from JDBC result sets per HTTP request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(statistics.getRows());
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.orders.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * JDBC statements executed and rows read by the current thread while a scope is open.
+ * {@link SqlMetricsFilter} opens one per HTTP request; {@link CountingDataSource} does the counting.
+ * <p>
+ * A scope belongs to a single thread, so the counters are plain fields. The SQL of the first
+ * {@value #MAX_RECORDED_STATEMENTS} statements is kept for diagnostics (e.g. an exceeded SQL budget).
+ */
+public final class SqlStatistics {
+
+    static final int MAX_RECORDED_STATEMENTS = 20;
+
+    private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+
+    private final List<String> sql = new ArrayList<>();
+    private int statements;
+    private long rows;
+
+    private SqlStatistics() {
+    }
+
+    /**
+     * Opens a scope on the current thread, replacing any scope already open.
+     */
+    public static SqlStatistics start() {
+        SqlStatistics statistics = new SqlStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    /**
+     * The scope open on the current thread, or {@code null}.
+     */
+    public static SqlStatistics current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Closes the current thread's scope; the counters keep their final values.
+     */
+    public void stop() {
+        if (CURRENT.get() == this) {
+            CURRENT.remove();
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * SQL of the statements executed so far, in order, up to {@value #MAX_RECORDED_STATEMENTS}.
+     */
+    public List<String> getSql() {
+        return Collections.unmodifiableList(sql);
+    }
+
+    /**
+     * Adds the counts of a scope that was open on another thread on behalf of this one (e.g. a query run in
+     * parallel). Must be called on this scope's thread, after the other scope was stopped.
+     */
+    public void include(SqlStatistics other) {
+        statements += other.statements;
+        rows += other.rows;
+        for (String statementSql : other.sql) {
+            if (sql.size() < MAX_RECORDED_STATEMENTS) {
+                sql.add(statementSql);
+            }
+        }
+    }
+
+    void statementExecuted(String statementSql) {
+        statements++;
+        if (sql.size() < MAX_RECORDED_STATEMENTS) {
+            sql.add(statementSql);
+        }
+    }
+
+    void rowRead() {
+        rows++;
+    }
+}
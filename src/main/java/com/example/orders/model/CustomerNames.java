@@ -0,0 +1,82 @@
+package com.example.orders.model;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * The searchable forms of a customer name: the key stored in {@code orders.customer_name_key} and the words stored
+ * in {@code order_name_tokens}. Must stay in line with the SQL backfill of the V6 migration, which lower-cases,
+ * trims spaces and collapses runs of spaces.
+ */
+public final class CustomerNames {
+
+    private CustomerNames() {
+    }
+
+    /**
+     * Lower-cased, without leading or trailing spaces, words separated by a single space.
+     */
+    public static String normalize(String name) {
+        return String.join(" ", words(name));
+    }
+
+    /**
+     * The distinct words of the normalized name, in order.
+     */
+    public static Set<String> tokens(String name) {
+        return new LinkedHashSet<>(words(name));
+    }
+
+    /**
+     * The words of a search to look up as word prefixes, longest first: a longer prefix matches fewer words, and the
+     * first lookup is the one the database drives the query with. A word that starts another one of the search is
+     * dropped, since any name word matching the longer one matches it too.
+     */
+    public static List<String> searchWords(String search) {
+        List<String> words = new ArrayList<>(tokens(search));
+        words.sort(Comparator.comparingInt(String::length).reversed());
+        List<String> kept = new ArrayList<>(words.size());
+        for (String word : words) {
+            if (kept.stream().noneMatch(longer -> longer.startsWith(word))) {
+                kept.add(word);
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * A LIKE pattern matching every value that starts with {@code prefix}, with {@code \} as escape character.
+     */
+    public static String likePrefix(String prefix) {
+        return prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+
+    /**
+     * The smallest string greater than every string starting with {@code prefix} (its last character incremented),
+     * or null if there is none. Lets a prefix match also be written as a plain range that any btree index can seek.
+     */
+    public static String prefixUpperBound(String prefix) {
+        for (int i = prefix.length() - 1; i >= 0; i--) {
+            char c = prefix.charAt(i);
+            if (c != Character.MAX_VALUE) {
+                return prefix.substring(0, i) + (char) (c + 1);
+            }
+        }
+        return null;
+    }
+
+    private static List<String> words(String name) {
+        List<String> words = new ArrayList<>();
+        // Spaces only, like the migration's SQL.
+        for (String word : name.toLowerCase(Locale.ROOT).split(" ")) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.orders.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Order amounts as a {@code long} count of cents, the exact range of the {@code NUMERIC(12, 2)} column. Amounts are
+ * held, compared, summed and written to JSON in this form; {@link BigDecimal} only appears where an amount enters or
+ * leaves the application: request bodies and query parameters, JDBC parameters and results, and statistics responses.
+ */
+public final class Money {
+
+    /**
+     * Digits after the decimal point.
+     */
+    public static final int SCALE = 2;
+
+    /**
+     * Largest amount in cents: 9999999999.99.
+     */
+    public static final long MAX = 999_999_999_999L;
+
+    /**
+     * Characters {@link #toChars} writes at most.
+     */
+    public static final int MAX_CHARS = 21;
+
+    private static final BigDecimal MAX_DECIMAL = BigDecimal.valueOf(MAX, SCALE);
+    private static final BigDecimal OUT_OF_RANGE = BigDecimal.valueOf(MAX + 1, SCALE);
+    private static final BigDecimal NEGLIGIBLE = BigDecimal.valueOf(1, SCALE + 1);
+
+    private Money() {
+    }
+
+    /**
+     * The amount in cents, rounded half up as the column rounds it.
+     *
+     * @throws ArithmeticException if the amount does not fit the column
+     */
+    public static long of(BigDecimal amount) {
+        if (amount.abs().compareTo(OUT_OF_RANGE) < 0) {
+            BigDecimal rounded = reduced(amount).setScale(SCALE, RoundingMode.HALF_UP);
+            if (rounded.abs().compareTo(MAX_DECIMAL) <= 0) {
+                return rounded.unscaledValue().longValue();
+            }
+        }
+        throw new ArithmeticException("Amount exceeds " + MAX_DECIMAL + ": " + amount);
+    }
+
+    /**
+     * The smallest amount in cents that is at least {@code bound}: an {@code amount >= bound} filter as a comparison of
+     * cents. Bounds beyond the column's range are clamped just past it.
+     */
+    public static long atLeast(BigDecimal bound) {
+        return clamped(bound, RoundingMode.CEILING);
+    }
+
+    /**
+     * The largest amount in cents that is at most {@code bound}; see {@link #atLeast}.
+     */
+    public static long atMost(BigDecimal bound) {
+        return clamped(bound, RoundingMode.FLOOR);
+    }
+
+    public static BigDecimal toDecimal(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    /**
+     * Writes the amount as a plain decimal with two fractional digits ({@code 120.50}, {@code -0.05}), as
+     * {@link BigDecimal#toPlainString} writes {@link #toDecimal}, without allocating. Uses {@link #MAX_CHARS} characters
+     * of {@code buffer} from {@code offset}.
+     *
+     * @return the number of characters written, at most {@link #MAX_CHARS}
+     */
+    public static int toChars(long cents, char[] buffer, int offset) {
+        // Digits from the last one, into the end of the window, then moved to its start. The value is negated so that
+        // Long.MIN_VALUE fits: every digit comes from a non-positive remainder.
+        int end = offset + MAX_CHARS;
+        int position = end;
+        long rest = cents < 0 ? cents : -cents;
+        for (int i = 0; i < SCALE; i++) {
+            buffer[--position] = (char) ('0' - rest % 10);
+            rest /= 10;
+        }
+        buffer[--position] = '.';
+        do {
+            buffer[--position] = (char) ('0' - rest % 10);
+            rest /= 10;
+        } while (rest != 0);
+        if (cents < 0) {
+            buffer[--position] = '-';
+        }
+        int length = end - position;
+        System.arraycopy(buffer, position, buffer, offset, length);
+        return length;
+    }
+
+    public static String toString(long cents) {
+        char[] chars = new char[MAX_CHARS];
+        return new String(chars, 0, toChars(cents, chars, 0));
+    }
+
+    private static long clamped(BigDecimal bound, RoundingMode rounding) {
+        if (bound.abs().compareTo(OUT_OF_RANGE) >= 0) {
+            return bound.signum() > 0 ? MAX + 1 : -MAX - 1;
+        }
+        BigDecimal scaled = reduced(bound).setScale(SCALE, rounding);
+        if (scaled.compareTo(MAX_DECIMAL) > 0) {
+            return MAX + 1;
+        }
+        if (scaled.compareTo(MAX_DECIMAL.negate()) < 0) {
+            return -MAX - 1;
+        }
+        return scaled.unscaledValue().longValue();
+    }
+
+    // setScale takes time growing with the exponent, which the client chooses (1e99999999, 1e-99999999), so inputs are
+    // first brought within a few digits of the column's scale: amounts of 1e10 or more are out of range before
+    // rounding (compareTo only looks at the exponents), and one below 0.001 rounds as 0.001 of its sign does.
+    private static BigDecimal reduced(BigDecimal amount) {
+        return amount.abs().compareTo(NEGLIGIBLE) < 0 ? BigDecimal.valueOf(amount.signum(), SCALE + 1) : amount;
+    }
+}
@@ -1,8 +1,8 @@
 package com.example.orders.model;
 
 import jakarta.persistence.*;
-import java.math.BigDecimal;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.NoArgsConstructor;
@@ -18,30 +18,44 @@ import jakarta.validation.constraints.NotNull;
 @AllArgsConstructor
 @Builder
 public class Order {
+    // Pooled sequence (not IDENTITY) so Hibernate can assign ids up front and batch the INSERTs.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
+    // Optimistic-lock version; bumped on every write and exposed to clients as the ETag.
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @NotNull
     @Column(name = "customer_name", nullable = false)
     private String customerName;
 
+    // CustomerNames.normalize(customerName), for customer-name search; set whenever the name is written.
+    @Column(name = "customer_name_key")
+    private String customerNameKey;
+
     @NotNull
     @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false)
     private OrderStatus status;
 
-    @NotNull
+    // Cents; see Money.
     @Column(name = "amount", nullable = false, precision = 12, scale = 2)
-    private BigDecimal amount;
+    @Convert(converter = MoneyConverter.class)
+    private long amount;
 
     @NotNull
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
 
+    // Truncated to the column's microsecond precision so the value we return equals what is read back later.
     @PrePersist
     void onCreate() {
-        this.createdAt = Instant.now();
+        this.createdAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        this.customerNameKey = CustomerNames.normalize(customerName);
     }
 }
 
@@ -0,0 +1,7 @@
+package com.example.orders.model;
+
+public enum OrderChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
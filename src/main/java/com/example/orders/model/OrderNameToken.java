@@ -0,0 +1,37 @@
+package com.example.orders.model;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * One word of an order's customer name ({@code order_name_tokens}). Mapped only so that criteria queries can
+ * search it; rows are written by {@link com.example.orders.repository.OrderNameTokenRepository}.
+ */
+@Entity
+@Immutable
+@Table(name = "order_name_tokens")
+@IdClass(OrderNameToken.Key.class)
+@Getter
+@NoArgsConstructor
+public class OrderNameToken {
+
+    @Id
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Id
+    @Column(name = "token", nullable = false)
+    private String token;
+
+    @Getter
+    @NoArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private Long orderId;
+        private String token;
+    }
+}
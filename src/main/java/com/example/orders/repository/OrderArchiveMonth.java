@@ -0,0 +1,11 @@
+package com.example.orders.repository;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * A row of {@code order_archive_months}: a UTC month (its first day) announced for archiving at {@code announcedAt},
+ * and completely moved to {@code orders_archive} at {@code archivedAt} (null while it is not).
+ */
+public record OrderArchiveMonth(LocalDate month, Instant announcedAt, Instant archivedAt, long orderCount) {
+}
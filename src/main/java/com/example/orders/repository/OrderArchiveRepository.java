@@ -0,0 +1,179 @@
+package com.example.orders.repository;
+
+import com.example.orders.config.ConditionalOnJdbcStorage;
+import com.example.orders.dto.OrderFilter;
+import com.example.orders.dto.OrderResponse;
+import com.example.orders.model.Money;
+import com.example.orders.model.OrderStatus;
+import com.example.orders.pagination.OrderCursor;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * {@code orders_archive} and its month catalog {@code order_archive_months}. Archived orders are only ever read, in
+ * the listing order {@code created_at DESC, id DESC}; the only writes are the moves of
+ * {@link com.example.orders.service.OrderArchive}, which copy whole chunks of the oldest orders out of {@code orders}.
+ */
+@Repository
+@ConditionalOnJdbcStorage
+public class OrderArchiveRepository {
+
+    private static final String RESPONSE_COLUMNS = "id, version, customer_name, status, amount, created_at";
+    private static final String ARCHIVE_COLUMNS = "id, version, customer_name, customer_name_key, status, amount,"
+            + " created_at";
+    private static final String LISTING_ORDER = " ORDER BY created_at DESC, id DESC";
+
+    private static final RowMapper<OrderResponse> RESPONSE_ROW_MAPPER = (rs, rowNum) -> new OrderResponse(
+            rs.getLong("id"),
+            rs.getString("customer_name"),
+            OrderStatus.valueOf(rs.getString("status")),
+            Money.of(rs.getBigDecimal("amount")),
+            rs.getObject("created_at", OffsetDateTime.class).toInstant(),
+            rs.getLong("version"));
+
+    private static final RowMapper<OrderArchiveMonth> MONTH_ROW_MAPPER = (rs, rowNum) -> {
+        OffsetDateTime archivedAt = rs.getObject("archived_at", OffsetDateTime.class);
+        return new OrderArchiveMonth(
+                rs.getObject("archive_month", LocalDate.class),
+                rs.getObject("announced_at", OffsetDateTime.class).toInstant(),
+                archivedAt != null ? archivedAt.toInstant() : null,
+                rs.getLong("order_count"));
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OrderArchiveRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Archived orders matching the filter (and after {@code after}, if not null), newest first.
+     */
+    public List<OrderResponse> findResponses(OrderFilter filter, OrderCursor after, long offset, int limit) {
+        List<Object> args = new ArrayList<>();
+        String where = where(filter, after, args);
+        args.add(offset);
+        args.add(limit);
+        return jdbcTemplate.query("SELECT " + RESPONSE_COLUMNS + " FROM orders_archive" + where + LISTING_ORDER
+                + " OFFSET ? ROWS FETCH FIRST ? ROWS ONLY", RESPONSE_ROW_MAPPER, args.toArray());
+    }
+
+    public long count(OrderFilter filter) {
+        List<Object> args = new ArrayList<>();
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders_archive" + where(filter, null, args),
+                Long.class, args.toArray());
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Every archived order matching the filter, newest first, read through a cursor of {@code fetchSize} rows.
+     * The stream holds a connection and must be closed.
+     */
+    public Stream<OrderResponse> streamResponses(OrderFilter filter, int fetchSize) {
+        List<Object> args = new ArrayList<>();
+        String sql = "SELECT " + RESPONSE_COLUMNS + " FROM orders_archive" + where(filter, null, args) + LISTING_ORDER;
+        return jdbcTemplate.queryForStream(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setFetchSize(fetchSize);
+            new ArgumentPreparedStatementSetter(args.toArray()).setValues(statement);
+            return statement;
+        }, RESPONSE_ROW_MAPPER);
+    }
+
+    public Optional<OrderResponse> findById(long id) {
+        return jdbcTemplate.query("SELECT " + RESPONSE_COLUMNS + " FROM orders_archive WHERE id = ?",
+                RESPONSE_ROW_MAPPER, id).stream().findFirst();
+    }
+
+    public List<OrderResponse> findByIds(Collection<Long> ids) {
+        List<Object> args = new ArrayList<>(ids.size());
+        String idIn = OrderFilterSql.idIn(ids, args);
+        return jdbcTemplate.query("SELECT " + RESPONSE_COLUMNS + " FROM orders_archive WHERE " + idIn,
+                RESPONSE_ROW_MAPPER, args.toArray());
+    }
+
+    public boolean existsById(long id) {
+        return !jdbcTemplate.queryForList("SELECT 1 FROM orders_archive WHERE id = ?", Integer.class, id).isEmpty();
+    }
+
+    /**
+     * Every catalog row, oldest month first.
+     */
+    public List<OrderArchiveMonth> findMonths() {
+        return jdbcTemplate.query("""
+                SELECT archive_month, announced_at, archived_at, order_count
+                FROM order_archive_months ORDER BY archive_month""", MONTH_ROW_MAPPER);
+    }
+
+    public void announce(LocalDate month, Instant at) {
+        jdbcTemplate.update("INSERT INTO order_archive_months (archive_month, announced_at) VALUES (?, ?)",
+                month, at.atOffset(ZoneOffset.UTC));
+    }
+
+    public void markArchived(LocalDate month, Instant at) {
+        jdbcTemplate.update("UPDATE order_archive_months SET archived_at = ? WHERE archive_month = ?",
+                at.atOffset(ZoneOffset.UTC), month);
+    }
+
+    /**
+     * Creation time of the oldest order still in {@code orders}, if any.
+     */
+    public Optional<Instant> findOldestHotCreatedAt() {
+        OffsetDateTime oldest = jdbcTemplate.queryForObject("SELECT MIN(created_at) FROM orders",
+                OffsetDateTime.class);
+        return Optional.ofNullable(oldest).map(OffsetDateTime::toInstant);
+    }
+
+    /**
+     * Moves up to {@code limit} of the oldest orders created before {@code before} from {@code orders} to
+     * {@code orders_archive} (their name tokens go with the delete) and adds them to {@code month}'s count.
+     * Must run in a transaction: the rows are locked oldest first, in the order of the listing's tie-break, so the
+     * archive only ever holds orders older than all those left in {@code orders}.
+     *
+     * @return the number of orders moved
+     */
+    public int moveOldest(Instant before, int limit, LocalDate month) {
+        List<Long> ids = jdbcTemplate.queryForList("""
+                SELECT id FROM orders WHERE created_at < ?
+                ORDER BY created_at, id FETCH FIRST ? ROWS ONLY FOR UPDATE""",
+                Long.class, before.atOffset(ZoneOffset.UTC), limit);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        List<Object> args = new ArrayList<>(ids.size());
+        String idIn = OrderFilterSql.idIn(ids, args);
+        jdbcTemplate.update("INSERT INTO orders_archive (" + ARCHIVE_COLUMNS + ") SELECT " + ARCHIVE_COLUMNS
+                + " FROM orders WHERE " + idIn, args.toArray());
+        jdbcTemplate.update("DELETE FROM orders WHERE " + idIn, args.toArray());
+        jdbcTemplate.update("UPDATE order_archive_months SET order_count = order_count + ? WHERE archive_month = ?",
+                ids.size(), month);
+        return ids.size();
+    }
+
+    private static String where(OrderFilter filter, OrderCursor after, List<Object> args) {
+        List<String> predicates = new ArrayList<>();
+        OrderFilterSql.appendToArchive(filter, predicates, args);
+        if (after != null) {
+            // As OrderSpecifications#after.
+            OffsetDateTime createdAt = after.getCreatedAt().atOffset(ZoneOffset.UTC);
+            predicates.add("(created_at < ? OR (created_at = ? AND id < ?))");
+            args.add(createdAt);
+            args.add(createdAt);
+            args.add(after.getId());
+        }
+        return OrderFilterSql.where(predicates);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.orders.repository;
+
+import com.example.orders.config.ConditionalOnJdbcStorage;
+import com.example.orders.dto.OrderFilter;
+import com.example.orders.model.OrderStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Set-based writes over many orders; only ids ever leave the database, no entity is loaded.
+ */
+@Repository
+@ConditionalOnJdbcStorage
+public class OrderBulkRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OrderBulkRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Locks and returns, in id order, up to {@code limit} ids after {@code afterId} that match the filter (and
+     * {@code ids}, if not null) and are not in {@code excludedStatus}. Locking in id order keeps concurrent bulk
+     * updates from deadlocking on each other.
+     */
+    public List<Long> lockNextChunk(OrderFilter filter, OrderStatus excludedStatus, Collection<Long> ids,
+                                    long afterId, int limit) {
+        List<Object> args = new ArrayList<>();
+        List<String> predicates = new ArrayList<>();
+        OrderFilterSql.appendTo(filter, predicates, args);
+        predicates.add("status <> ?");
+        args.add(excludedStatus.name());
+        if (ids != null) {
+            predicates.add(OrderFilterSql.idIn(ids, args));
+        }
+        predicates.add("id > ?");
+        args.add(afterId);
+        args.add(limit);
+        return jdbcTemplate.queryForList("SELECT id FROM orders" + OrderFilterSql.where(predicates)
+                + " ORDER BY id FETCH FIRST ? ROWS ONLY FOR UPDATE", Long.class, args.toArray());
+    }
+
+    /**
+     * Sets the status of the given (locked) orders and bumps their version, in one UPDATE.
+     */
+    public int updateStatus(Collection<Long> ids, OrderStatus status) {
+        List<Object> args = new ArrayList<>(ids.size() + 1);
+        args.add(status.name());
+        String idIn = OrderFilterSql.idIn(ids, args);
+        return jdbcTemplate.update("UPDATE orders SET status = ?, version = version + 1 WHERE " + idIn,
+                args.toArray());
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.orders.repository;
+
+import com.example.orders.config.ConditionalOnJdbcStorage;
+import com.example.orders.dto.OrderChangeResponse;
+import com.example.orders.dto.OrderResponse;
+import com.example.orders.model.Money;
+import com.example.orders.model.Order;
+import com.example.orders.model.OrderChangeType;
+import com.example.orders.model.OrderStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The {@code order_changes} log and the {@code order_change_outbox} in front of it. Appends go to the outbox and join
+ * the caller's transaction, so a change exists exactly when the order write it describes commits; writers share no
+ * lock for it.
+ * <p>
+ * {@link #relay(int)} moves committed outbox rows into {@code order_changes}, which assigns {@code seq}. Relays lock
+ * the single {@code order_change_relay} row, so they run one at a time across all nodes and {@code seq} values become
+ * visible in increasing order: once a change can be read, every lower {@code seq} has committed or never will.
+ */
+@Repository
+@ConditionalOnJdbcStorage
+public class OrderChangeRepository {
+
+    private static final String INSERT = """
+            INSERT INTO order_change_outbox
+                (order_id, change_type, version, customer_name, status, amount, created_at, changed_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)""";
+
+    private static final RowMapper<OrderChangeResponse> CHANGE_ROW_MAPPER = (rs, rowNum) -> {
+        OrderChangeType type = OrderChangeType.valueOf(rs.getString("change_type"));
+        long orderId = rs.getLong("order_id");
+        Long version = rs.getObject("version", Long.class);
+        OrderResponse order = type == OrderChangeType.DELETED ? null : OrderResponse.builder()
+                .id(orderId)
+                .customerName(rs.getString("customer_name"))
+                .status(OrderStatus.valueOf(rs.getString("status")))
+                .amount(Money.of(rs.getBigDecimal("amount")))
+                .createdAt(rs.getObject("created_at", OffsetDateTime.class).toInstant())
+                .version(version)
+                .build();
+        return OrderChangeResponse.builder()
+                .seq(rs.getLong("seq"))
+                .type(type)
+                .orderId(orderId)
+                .version(version)
+                .changedAt(rs.getObject("changed_at", OffsetDateTime.class).toInstant())
+                .order(order)
+                .build();
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OrderChangeRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Appends one CREATED or UPDATED change per order, as a single JDBC batch.
+     */
+    public void append(OrderChangeType type, List<Order> orders, Instant changedAt) {
+        OffsetDateTime at = utc(changedAt);
+        jdbcTemplate.batchUpdate(INSERT, orders, orders.size(), (ps, order) -> {
+            ps.setLong(1, order.getId());
+            ps.setString(2, type.name());
+            ps.setLong(3, order.getVersion());
+            ps.setString(4, order.getCustomerName());
+            ps.setString(5, order.getStatus().name());
+            ps.setBigDecimal(6, Money.toDecimal(order.getAmount()));
+            ps.setObject(7, utc(order.getCreatedAt()));
+            ps.setObject(8, at);
+        });
+    }
+
+    /**
+     * Appends an UPDATED change for each given order, copied from its current row by one INSERT ... SELECT.
+     */
+    public void appendUpdated(Collection<Long> orderIds, Instant changedAt) {
+        List<Object> args = new ArrayList<>(orderIds.size() + 1);
+        args.add(utc(changedAt));
+        String idIn = OrderFilterSql.idIn(orderIds, args);
+        jdbcTemplate.update("""
+                INSERT INTO order_change_outbox
+                    (order_id, change_type, version, customer_name, status, amount, created_at, changed_at)
+                SELECT id, 'UPDATED', version, customer_name, status, amount, created_at, ?
+                FROM orders
+                """ + "WHERE " + idIn + " ORDER BY id", args.toArray());
+    }
+
+    public void appendDeleted(Long orderId, Instant changedAt) {
+        jdbcTemplate.update(INSERT, orderId, OrderChangeType.DELETED.name(), null, null, null, null, null,
+                utc(changedAt));
+    }
+
+    /**
+     * Moves up to {@code limit} committed outbox rows, oldest first, into {@code order_changes}; returns how many.
+     * Must run in a transaction of its own, which it holds the relay lock for.
+     */
+    public int relay(int limit) {
+        jdbcTemplate.query("SELECT id FROM order_change_relay WHERE id = 1 FOR UPDATE", (rs, rowNum) -> null);
+        // Only committed rows are read, and only those are moved and deleted: a row committing meanwhile waits for
+        // the next relay.
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM order_change_outbox ORDER BY id LIMIT ?", Long.class, limit);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        List<Object> args = new ArrayList<>(ids.size());
+        String idIn = OrderFilterSql.idIn(ids, args);
+        jdbcTemplate.update("""
+                INSERT INTO order_changes
+                    (order_id, change_type, version, customer_name, status, amount, created_at, changed_at)
+                SELECT order_id, change_type, version, customer_name, status, amount, created_at, changed_at
+                FROM order_change_outbox
+                """ + "WHERE " + idIn + " ORDER BY id", args.toArray());
+        jdbcTemplate.update("DELETE FROM order_change_outbox WHERE " + idIn, args.toArray());
+        return ids.size();
+    }
+
+    /**
+     * Whether the outbox holds committed changes that have not been relayed yet.
+     */
+    public boolean hasPending() {
+        return !jdbcTemplate.queryForList("SELECT id FROM order_change_outbox LIMIT 1", Long.class).isEmpty();
+    }
+
+    /**
+     * Up to {@code limit} changes with {@code seq > after}, oldest first (a range scan of the primary key).
+     */
+    public List<OrderChangeResponse> findAfter(long after, int limit) {
+        return jdbcTemplate.query("""
+                SELECT seq, order_id, change_type, version, customer_name, status, amount, created_at, changed_at
+                FROM order_changes WHERE seq > ? ORDER BY seq LIMIT ?""", CHANGE_ROW_MAPPER, after, limit);
+    }
+
+    /**
+     * Highest committed {@code seq}; 0 when the log is empty.
+     */
+    public long maxSeq() {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(seq) FROM order_changes", Long.class);
+        return max != null ? max : 0;
+    }
+
+    public int deleteChangedBefore(Instant cutoff) {
+        return jdbcTemplate.update("DELETE FROM order_changes WHERE changed_at < ?", utc(cutoff));
+    }
+
+    private static OffsetDateTime utc(Instant instant) {
+        return OffsetDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+}
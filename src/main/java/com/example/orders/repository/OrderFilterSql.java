@@ -0,0 +1,110 @@
+package com.example.orders.repository;
+
+import com.example.orders.dto.CustomerMatch;
+import com.example.orders.dto.OrderFilter;
+import com.example.orders.model.CustomerNames;
+import com.example.orders.model.Money;
+
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * SQL predicates on {@code orders} (or {@code orders_archive}) equivalent to
+ * {@link com.example.orders.spec.OrderSpecifications#build}, for the JdbcTemplate repositories. Dates are UTC days,
+ * {@code dateTo} inclusive.
+ */
+final class OrderFilterSql {
+
+    private OrderFilterSql() {
+    }
+
+    /**
+     * Adds one predicate per filter that is set, and its arguments, to the given lists.
+     */
+    static void appendTo(OrderFilter filter, List<String> predicates, List<Object> args) {
+        append(filter, predicates, args, true);
+    }
+
+    /**
+     * As {@link #appendTo}, for {@code orders_archive}: it has no name tokens, so a word must start a word of
+     * {@code customer_name_key} itself.
+     */
+    static void appendToArchive(OrderFilter filter, List<String> predicates, List<Object> args) {
+        append(filter, predicates, args, false);
+    }
+
+    private static void append(OrderFilter filter, List<String> predicates, List<Object> args, boolean tokens) {
+        if (filter.getStatus() != null) {
+            predicates.add("status = ?");
+            args.add(filter.getStatus().name());
+        }
+        if (filter.getMinAmount() != null) {
+            predicates.add("amount >= ?");
+            args.add(Money.toDecimal(Money.atLeast(filter.getMinAmount())));
+        }
+        if (filter.getMaxAmount() != null) {
+            predicates.add("amount <= ?");
+            args.add(Money.toDecimal(Money.atMost(filter.getMaxAmount())));
+        }
+        if (filter.getDateFrom() != null) {
+            predicates.add("created_at >= ?");
+            args.add(filter.getDateFrom().atStartOfDay().atOffset(ZoneOffset.UTC));
+        }
+        if (filter.getDateTo() != null) {
+            predicates.add("created_at < ?");
+            args.add(filter.getDateTo().plusDays(1).atStartOfDay().atOffset(ZoneOffset.UTC));
+        }
+        if (filter.getCustomer() != null && !filter.getCustomer().isBlank()) {
+            String key = CustomerNames.normalize(filter.getCustomer());
+            switch (filter.getCustomerMatch() != null ? filter.getCustomerMatch() : CustomerMatch.WORDS) {
+                case EXACT -> {
+                    predicates.add("customer_name_key = ?");
+                    args.add(key);
+                }
+                case PREFIX -> predicates.add(startsWith("customer_name_key", key, args));
+                default -> {
+                    List<String> words = CustomerNames.searchWords(key);
+                    if (tokens) {
+                        // As OrderSpecifications#customer: the most selective word drives, the others are checked.
+                        predicates.add("id IN (SELECT order_id FROM order_name_tokens WHERE "
+                                + startsWith("token", words.get(0), args) + ")");
+                        for (String word : words.subList(1, words.size())) {
+                            predicates.add("EXISTS (SELECT 1 FROM order_name_tokens t"
+                                    + " WHERE t.order_id = orders.id AND " + startsWith("t.token", word, args) + ")");
+                        }
+                    } else {
+                        for (String word : words) {
+                            predicates.add("(' ' || customer_name_key) LIKE ? ESCAPE '\\'");
+                            args.add("% " + CustomerNames.likePrefix(word));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static String startsWith(String column, String prefix, List<Object> args) {
+        String upperBound = CustomerNames.prefixUpperBound(prefix);
+        args.add(prefix);
+        if (upperBound != null) {
+            args.add(upperBound);
+        }
+        args.add(CustomerNames.likePrefix(prefix));
+        return column + " >= ?" + (upperBound != null ? " AND " + column + " < ?" : "")
+                + " AND " + column + " LIKE ? ESCAPE '\\'";
+    }
+
+    static String where(List<String> predicates) {
+        return predicates.isEmpty() ? "" : " WHERE " + String.join(" AND ", predicates);
+    }
+
+    /**
+     * {@code id IN (?, ?, ...)} for {@code ids.size()} ids; the ids are added to {@code args}.
+     */
+    static String idIn(Collection<Long> ids, List<Object> args) {
+        args.addAll(ids);
+        return "id IN (" + String.join(", ", Collections.nCopies(ids.size(), "?")) + ")";
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.orders.repository;
+
+import com.example.orders.config.ConditionalOnJdbcStorage;
+import com.example.orders.model.CustomerNames;
+import com.example.orders.model.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The {@code order_name_tokens} word index behind {@code customerMatch=words}. Writes join the caller's
+ * transaction; rows of a deleted order are removed by the database ({@code ON DELETE CASCADE}).
+ */
+@Repository
+@ConditionalOnJdbcStorage
+public class OrderNameTokenRepository {
+
+    private static final String INSERT = "INSERT INTO order_name_tokens (order_id, token) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OrderNameTokenRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Indexes the customer names of newly inserted orders, as a single JDBC batch.
+     */
+    public void addAll(List<Order> orders) {
+        List<Object[]> rows = new ArrayList<>(orders.size() * 2);
+        for (Order order : orders) {
+            for (String token : CustomerNames.tokens(order.getCustomerName())) {
+                rows.add(new Object[] {order.getId(), token});
+            }
+        }
+        insert(rows);
+    }
+
+    /**
+     * Re-indexes an order whose customer name was changed to {@code customerName}.
+     */
+    public void replace(Long orderId, String customerName) {
+        jdbcTemplate.update("DELETE FROM order_name_tokens WHERE order_id = ?", orderId);
+        List<Object[]> rows = new ArrayList<>();
+        for (String token : CustomerNames.tokens(customerName)) {
+            rows.add(new Object[] {orderId, token});
+        }
+        insert(rows);
+    }
+
+    private void insert(List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT, rows);
+        }
+    }
+}
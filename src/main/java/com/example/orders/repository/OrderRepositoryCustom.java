@@ -0,0 +1,45 @@
+package com.example.orders.repository;
+
+import com.example.orders.dto.OrderResponse;
+import com.example.orders.model.Order;
+import com.example.orders.model.OrderStatus;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface OrderRepositoryCustom {
+
+    /**
+     * Selects matching rows straight into {@link OrderResponse} (a JPQL constructor projection), so no
+     * managed entities or dirty-checking snapshots are created. No count query is issued.
+     */
+    List<OrderResponse> findResponses(Specification<Order> spec, Sort sort, long offset, int limit);
+
+    /**
+     * Streams every matching order from a forward-only, read-only database cursor, pulling
+     * {@code fetchSize} rows per round-trip. Must be consumed (and closed) inside a transaction;
+     * the caller is responsible for clearing the persistence context as it goes.
+     */
+    Stream<Order> streamAll(Specification<Order> spec, Sort sort, int fetchSize);
+
+    /**
+     * Applies the non-null arguments ({@code amount} in cents) with a single {@code UPDATE ... WHERE id = ?} that also bumps the
+     * version, and returns the updated row together with its previous status and amount, read in the same statement
+     * where the database supports it. When {@code expectedVersions} is non-null the row is only touched if its
+     * current version is one of them. Returns empty when no row matched. The result is a detached snapshot, not a
+     * managed entity.
+     */
+    Optional<OrderUpdate> updatePartially(Long id, String customerName, Long amount, OrderStatus status,
+                                          Collection<Long> expectedVersions);
+
+    /**
+     * Deletes the order with a single statement and returns the deleted row, read by the same statement where the
+     * database supports it. With {@code expectedVersions} only a row whose version is one of them is deleted.
+     * Returns empty when no row matched.
+     */
+    Optional<Order> deleteReturning(Long id, Collection<Long> expectedVersions);
+}
@@ -0,0 +1,205 @@
+package com.example.orders.repository;
+
+import com.example.orders.dto.OrderResponse;
+import com.example.orders.model.CustomerNames;
+import com.example.orders.model.Money;
+import com.example.orders.model.Order;
+import com.example.orders.model.OrderStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+class OrderRepositoryImpl implements OrderRepositoryCustom {
+
+    private static final String ORDER_COLUMNS = "id, version, customer_name, status, amount, created_at";
+
+    private static final RowMapper<Order> ORDER_ROW_MAPPER = (rs, rowNum) -> Order.builder()
+            .id(rs.getLong("id"))
+            .version(rs.getLong("version"))
+            .customerName(rs.getString("customer_name"))
+            .status(OrderStatus.valueOf(rs.getString("status")))
+            .amount(Money.of(rs.getBigDecimal("amount")))
+            .createdAt(rs.getObject("created_at", OffsetDateTime.class).toInstant())
+            .build();
+
+    private final EntityManager entityManager;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private volatile SqlDialect dialect;
+
+    OrderRepositoryImpl(EntityManager entityManager, NamedParameterJdbcTemplate jdbcTemplate) {
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<OrderResponse> findResponses(Specification<Order> spec, Sort sort, long offset, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<OrderResponse> query = criteriaBuilder.createQuery(OrderResponse.class);
+        Root<Order> root = query.from(Order.class);
+
+        query.select(criteriaBuilder.construct(OrderResponse.class,
+                root.get("id"),
+                root.get("customerName"),
+                root.get("status"),
+                root.get("amount"),
+                root.get("createdAt"),
+                root.get("version")));
+        Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+
+        return entityManager.createQuery(query)
+                .setFirstResult((int) offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<Order> streamAll(Specification<Order> spec, Sort sort, int fetchSize) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Order> query = criteriaBuilder.createQuery(Order.class);
+        Root<Order> root = query.from(Order.class);
+
+        Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    @Override
+    public Optional<OrderUpdate> updatePartially(Long id, String customerName, Long amount, OrderStatus status,
+                                                 Collection<Long> expectedVersions) {
+        MapSqlParameterSource params = new MapSqlParameterSource("id", id);
+        String where = " WHERE id = :id";
+        if (expectedVersions != null) {
+            where += " AND version IN (:versions)";
+            params.addValue("versions", expectedVersions);
+        }
+        List<String> assignments = new ArrayList<>(4);
+        if (customerName != null) {
+            assignments.add("customer_name = :customerName");
+            assignments.add("customer_name_key = :customerNameKey");
+            params.addValue("customerName", customerName);
+            params.addValue("customerNameKey", CustomerNames.normalize(customerName));
+        }
+        if (amount != null) {
+            assignments.add("amount = :amount");
+            params.addValue("amount", Money.toDecimal(amount));
+        }
+        if (status != null) {
+            assignments.add("status = :status");
+            params.addValue("status", status.name());
+        }
+        if (assignments.isEmpty()) {
+            return single(jdbcTemplate.query(
+                    "SELECT " + ORDER_COLUMNS + " FROM orders" + where, params, ORDER_ROW_MAPPER))
+                    .map(order -> new OrderUpdate(order, order.getStatus(), order.getAmount()));
+        }
+        assignments.add("version = version + 1");
+
+        String set = String.join(", ", assignments);
+        String update = "UPDATE orders SET " + set + where;
+        switch (dialect()) {
+            case POSTGRESQL:
+                // Joining the locked row to itself hands its pre-update values to RETURNING.
+                return single(jdbcTemplate.query(
+                        "UPDATE orders o SET " + set
+                                + " FROM (SELECT id, status, amount FROM orders WHERE id = :id FOR UPDATE) old"
+                                + " WHERE o.id = old.id" + (expectedVersions != null ? " AND o.version IN (:versions)" : "")
+                                + " RETURNING o.id, o.version, o.customer_name, o.status, o.amount, o.created_at,"
+                                + " old.status AS previous_status, old.amount AS previous_amount",
+                        params, (rs, rowNum) -> new OrderUpdate(ORDER_ROW_MAPPER.mapRow(rs, rowNum),
+                                OrderStatus.valueOf(rs.getString("previous_status")),
+                                Money.of(rs.getBigDecimal("previous_amount")))));
+            case H2:
+                // H2's data change delta table yields either the old or the new rows; take the old ones and
+                // apply the assignments here.
+                return single(jdbcTemplate.query(
+                        "SELECT " + ORDER_COLUMNS + " FROM OLD TABLE (" + update + ")", params, ORDER_ROW_MAPPER))
+                        .map(previous -> new OrderUpdate(Order.builder()
+                                .id(previous.getId())
+                                .version(previous.getVersion() + 1)
+                                .customerName(customerName != null ? customerName : previous.getCustomerName())
+                                .status(status != null ? status : previous.getStatus())
+                                .amount(amount != null ? amount : previous.getAmount())
+                                .createdAt(previous.getCreatedAt())
+                                .build(), previous.getStatus(), previous.getAmount()));
+            default:
+                Optional<Order> previous = single(jdbcTemplate.query(
+                        "SELECT " + ORDER_COLUMNS + " FROM orders" + where + " FOR UPDATE", params, ORDER_ROW_MAPPER));
+                if (previous.isEmpty() || jdbcTemplate.update(update, params) == 0) {
+                    return Optional.empty();
+                }
+                return selectById(params)
+                        .map(order -> new OrderUpdate(order, previous.get().getStatus(), previous.get().getAmount()));
+        }
+    }
+
+    @Override
+    public Optional<Order> deleteReturning(Long id, Collection<Long> expectedVersions) {
+        MapSqlParameterSource params = new MapSqlParameterSource("id", id);
+        String where = " WHERE id = :id";
+        if (expectedVersions != null) {
+            where += " AND version IN (:versions)";
+            params.addValue("versions", expectedVersions);
+        }
+        String delete = "DELETE FROM orders" + where;
+        switch (dialect()) {
+            case POSTGRESQL:
+                return single(jdbcTemplate.query(delete + " RETURNING " + ORDER_COLUMNS, params, ORDER_ROW_MAPPER));
+            case H2:
+                return single(jdbcTemplate.query(
+                        "SELECT " + ORDER_COLUMNS + " FROM OLD TABLE (" + delete + ")", params, ORDER_ROW_MAPPER));
+            default:
+                Optional<Order> previous = single(jdbcTemplate.query(
+                        "SELECT " + ORDER_COLUMNS + " FROM orders" + where + " FOR UPDATE", params, ORDER_ROW_MAPPER));
+                if (previous.isEmpty() || jdbcTemplate.update(delete, params) == 0) {
+                    return Optional.empty();
+                }
+                return previous;
+        }
+    }
+
+    private Optional<Order> selectById(MapSqlParameterSource params) {
+        return single(jdbcTemplate.query(
+                "SELECT " + ORDER_COLUMNS + " FROM orders WHERE id = :id", params, ORDER_ROW_MAPPER));
+    }
+
+    private static <T> Optional<T> single(List<T> rows) {
+        return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(0));
+    }
+
+    private SqlDialect dialect() {
+        SqlDialect current = dialect;
+        if (current == null) {
+            current = SqlDialect.detect(jdbcTemplate.getJdbcTemplate());
+            dialect = current;
+        }
+        return current;
+    }
+}
@@ -0,0 +1,371 @@
+package com.example.orders.repository;
+
+import com.example.orders.config.ConditionalOnJdbcStorage;
+import com.example.orders.dto.OrderFilter;
+import com.example.orders.dto.OrderStatsBucket;
+import com.example.orders.model.Money;
+import com.example.orders.model.OrderStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code order_daily_stats} rollup: count, sum, min and max of {@code amount} per UTC day and status.
+ * <p>
+ * Each bucket is spread over {@link #SHARDS} rows; an order always counts in the row of {@link #shard(long)}, so its
+ * update or delete takes it out of the row it was added to. Writes join the caller's transaction and lock only that
+ * row, so concurrent writers to one bucket serialise only when their orders share a shard. Reads sum the shards.
+ */
+@Repository
+@ConditionalOnJdbcStorage
+public class OrderStatsRepository {
+
+    /**
+     * Rows per bucket; the rebuild in V9__shard_order_daily_stats.sql uses the same number.
+     */
+    public static final int SHARDS = 8;
+
+    // Same expression as the backfill in V5__create_order_daily_stats.sql.
+    private static final String UTC_DAY = "CAST(created_at AT TIME ZONE 'UTC' AS DATE)";
+    private static final String SHARD = "MOD(id, " + SHARDS + ")";
+
+    // Parameters of both upserts: order_date, status, shard, order_count, amount_sum, amount_min, amount_max.
+    private static final String UPSERT_POSTGRESQL = """
+            INSERT INTO order_daily_stats AS t
+                (order_date, status, shard, order_count, amount_sum, amount_min, amount_max)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (order_date, status, shard) DO UPDATE SET
+                order_count = t.order_count + EXCLUDED.order_count,
+                amount_sum = t.amount_sum + EXCLUDED.amount_sum,
+                amount_min = LEAST(t.amount_min, EXCLUDED.amount_min),
+                amount_max = GREATEST(t.amount_max, EXCLUDED.amount_max)""";
+    private static final String UPSERT_H2 = """
+            MERGE INTO order_daily_stats t
+            USING (VALUES (CAST(? AS DATE), CAST(? AS VARCHAR(255)), CAST(? AS SMALLINT), CAST(? AS BIGINT),
+                           CAST(? AS NUMERIC(19, 2)), CAST(? AS NUMERIC(12, 2)), CAST(? AS NUMERIC(12, 2))))
+                s (order_date, status, shard, order_count, amount_sum, amount_min, amount_max)
+            ON t.order_date = s.order_date AND t.status = s.status AND t.shard = s.shard
+            WHEN MATCHED THEN UPDATE SET
+                order_count = t.order_count + s.order_count,
+                amount_sum = t.amount_sum + s.amount_sum,
+                amount_min = LEAST(COALESCE(t.amount_min, s.amount_min), s.amount_min),
+                amount_max = GREATEST(COALESCE(t.amount_max, s.amount_max), s.amount_max)
+            WHEN NOT MATCHED THEN INSERT (order_date, status, shard, order_count, amount_sum, amount_min, amount_max)
+                VALUES (s.order_date, s.status, s.shard, s.order_count, s.amount_sum, s.amount_min, s.amount_max)""";
+    // Parameters: order_count delta, amount_sum delta, order_count delta (twice), order_date, status, shard.
+    private static final String DECREMENT = """
+            UPDATE order_daily_stats SET
+                order_count = order_count - ?,
+                amount_sum = amount_sum - ?,
+                amount_min = CASE WHEN order_count = ? THEN NULL ELSE amount_min END,
+                amount_max = CASE WHEN order_count = ? THEN NULL ELSE amount_max END
+            WHERE order_date = ? AND status = ? AND shard = ?""";
+    // The amounts of one shard of a bucket, archived ones included: the archive job may have moved part of its day.
+    // Parameters: status, day start, day end, shard (once per table).
+    private static final String SHARD_AMOUNTS = """
+            SELECT amount FROM orders
+            WHERE status = ? AND created_at >= ? AND created_at < ? AND MOD(id, %1$d) = ?
+            UNION ALL
+            SELECT amount FROM orders_archive
+            WHERE status = ? AND created_at >= ? AND created_at < ? AND MOD(id, %1$d) = ?""".formatted(SHARDS);
+    // Parameters: the SHARD_AMOUNTS ones (twice), order_date, status, shard.
+    private static final String RECOMPUTE_EXTREMES = """
+            UPDATE order_daily_stats SET
+                amount_min = (SELECT MIN(amount) FROM (%1$s) a),
+                amount_max = (SELECT MAX(amount) FROM (%1$s) a)
+            WHERE order_date = ? AND status = ? AND shard = ?""".formatted(SHARD_AMOUNTS);
+
+    private static final RowMapper<OrderStatsBucket> BUCKET_ROW_MAPPER = (rs, rowNum) -> OrderStatsBucket.builder()
+            .day(rs.getObject("order_date", LocalDate.class))
+            .status(OrderStatus.valueOf(rs.getString("status")))
+            .count(rs.getLong("order_count"))
+            .sum(rs.getBigDecimal("amount_sum"))
+            .min(rs.getBigDecimal("amount_min"))
+            .max(rs.getBigDecimal("amount_max"))
+            .build();
+    private static final RowMapper<OrderStatsBucket> SHARD_ROW_MAPPER = (rs, rowNum) -> OrderStatsBucket.builder()
+            .day(rs.getObject("order_date", LocalDate.class))
+            .status(OrderStatus.valueOf(rs.getString("status")))
+            .count(rs.getLong("order_count"))
+            .sum(rs.getBigDecimal("amount_sum"))
+            .min(rs.getBigDecimal("amount_min"))
+            .max(rs.getBigDecimal("amount_max"))
+            .shard(rs.getInt("shard"))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile SqlDialect dialect;
+
+    public OrderStatsRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * The rollup row, out of {@link #SHARDS}, that the order counts in within its bucket.
+     */
+    public static int shard(long orderId) {
+        return (int) Math.floorMod(orderId, (long) SHARDS);
+    }
+
+    /**
+     * Adds {@code count} orders totalling {@code sumCents}, with the given extremes (in cents), to one shard of a
+     * bucket; one statement.
+     */
+    public void add(LocalDate day, OrderStatus status, int shard, long count, long sumCents, long minCents,
+                    long maxCents) {
+        add(day, status, shard, count, Money.toDecimal(sumCents), Money.toDecimal(minCents),
+                Money.toDecimal(maxCents));
+    }
+
+    private void add(LocalDate day, OrderStatus status, int shard, long count, BigDecimal sum, BigDecimal min,
+                     BigDecimal max) {
+        switch (dialect()) {
+            case POSTGRESQL -> jdbcTemplate.update(UPSERT_POSTGRESQL, day, status.name(), shard, count, sum, min, max);
+            case H2 -> jdbcTemplate.update(UPSERT_H2, day, status.name(), shard, count, sum, min, max);
+            default -> {
+                if (jdbcTemplate.update("""
+                        UPDATE order_daily_stats SET
+                            order_count = order_count + ?,
+                            amount_sum = amount_sum + ?,
+                            amount_min = LEAST(COALESCE(amount_min, ?), ?),
+                            amount_max = GREATEST(COALESCE(amount_max, ?), ?)
+                        WHERE order_date = ? AND status = ? AND shard = ?""",
+                        count, sum, min, min, max, max, day, status.name(), shard) == 0) {
+                    jdbcTemplate.update("""
+                            INSERT INTO order_daily_stats
+                                (order_date, status, shard, order_count, amount_sum, amount_min, amount_max)
+                            VALUES (?, ?, ?, ?, ?, ?, ?)""", day, status.name(), shard, count, sum, min, max);
+                }
+            }
+        }
+    }
+
+    /**
+     * {@link #add} for several bucket shards, as one JDBC batch (one statement per bucket on other databases).
+     */
+    public void addAll(List<OrderStatsBucket> buckets) {
+        String upsert = switch (dialect()) {
+            case POSTGRESQL -> UPSERT_POSTGRESQL;
+            case H2 -> UPSERT_H2;
+            default -> null;
+        };
+        if (upsert == null) {
+            buckets.forEach(b -> add(b.getDay(), b.getStatus(), b.getShard(), b.getCount(), b.getSum(), b.getMin(),
+                    b.getMax()));
+            return;
+        }
+        jdbcTemplate.batchUpdate(upsert, buckets, buckets.size(), (ps, bucket) -> {
+            ps.setObject(1, bucket.getDay());
+            ps.setString(2, bucket.getStatus().name());
+            ps.setInt(3, bucket.getShard());
+            ps.setLong(4, bucket.getCount());
+            ps.setBigDecimal(5, bucket.getSum());
+            ps.setBigDecimal(6, bucket.getMin());
+            ps.setBigDecimal(7, bucket.getMax());
+        });
+    }
+
+    /**
+     * Takes one order of {@code amount} (in cents) out of its shard of a bucket. Count and sum are decremented in
+     * place. Min and max cannot be, so when the order held one of them they are recomputed from {@code orders} and
+     * {@code orders_archive} for that day, status and shard (a second statement, using the status/created_at index),
+     * after the first one has locked the row. Must run after the order row itself was updated or deleted.
+     */
+    public void remove(LocalDate day, OrderStatus status, int shard, long amount) {
+        Object[] args = {1, Money.toDecimal(amount), 1, 1, day, status.name(), shard};
+        List<OrderStatsBucket> after = switch (dialect()) {
+            case POSTGRESQL -> jdbcTemplate.query(DECREMENT + " RETURNING *", SHARD_ROW_MAPPER, args);
+            case H2 -> jdbcTemplate.query("SELECT * FROM FINAL TABLE (" + DECREMENT + ")", SHARD_ROW_MAPPER, args);
+            default -> {
+                jdbcTemplate.update(DECREMENT, args);
+                yield jdbcTemplate.query(
+                        "SELECT * FROM order_daily_stats WHERE order_date = ? AND status = ? AND shard = ?",
+                        SHARD_ROW_MAPPER, day, status.name(), shard);
+            }
+        };
+        if (after.isEmpty() || after.get(0).getCount() == 0) {
+            return;
+        }
+        OrderStatsBucket bucket = after.get(0);
+        if (amount == Money.of(bucket.getMin()) || amount == Money.of(bucket.getMax())) {
+            jdbcTemplate.update(RECOMPUTE_EXTREMES, recomputeArgs(day, status, shard));
+        }
+    }
+
+    /**
+     * Takes groups of orders out of their bucket shards: one batch of decrements, then one batch recomputing the
+     * extremes of every shard that keeps orders and may have lost its min or max. Must run after the orders
+     * themselves were updated or deleted.
+     */
+    public void removeAll(List<OrderStatsBucket> removed) {
+        jdbcTemplate.batchUpdate(DECREMENT, removed, removed.size(), (ps, bucket) -> {
+            ps.setLong(1, bucket.getCount());
+            ps.setBigDecimal(2, bucket.getSum());
+            ps.setLong(3, bucket.getCount());
+            ps.setLong(4, bucket.getCount());
+            ps.setObject(5, bucket.getDay());
+            ps.setString(6, bucket.getStatus().name());
+            ps.setInt(7, bucket.getShard());
+        });
+        jdbcTemplate.batchUpdate(RECOMPUTE_EXTREMES + " AND order_count > 0 AND (amount_min >= ? OR amount_max <= ?)",
+                removed, removed.size(), (ps, bucket) -> {
+                    Object[] args = recomputeArgs(bucket.getDay(), bucket.getStatus(), bucket.getShard());
+                    for (int i = 0; i < args.length; i++) {
+                        ps.setObject(i + 1, args[i]);
+                    }
+                    ps.setBigDecimal(args.length + 1, bucket.getMin());
+                    ps.setBigDecimal(args.length + 2, bucket.getMax());
+                });
+    }
+
+    /**
+     * Locks the existing rows of the given bucket shards in primary key order, so that writers adjusting several
+     * rows wait for each other instead of deadlocking. One statement.
+     */
+    public void lock(Collection<OrderStatsBucket> buckets) {
+        List<String> keys = new ArrayList<>(buckets.size());
+        List<Object> args = new ArrayList<>(buckets.size() * 3);
+        for (OrderStatsBucket bucket : buckets) {
+            keys.add("(order_date = ? AND status = ? AND shard = ?)");
+            args.add(bucket.getDay());
+            args.add(bucket.getStatus().name());
+            args.add(bucket.getShard());
+        }
+        jdbcTemplate.query("SELECT order_date FROM order_daily_stats WHERE " + String.join(" OR ", keys)
+                + " ORDER BY order_date, status, shard FOR UPDATE", (rs, rowNum) -> null, args.toArray());
+    }
+
+    /**
+     * The bucket shards of the given orders as they currently are, computed from {@code orders}.
+     */
+    public List<OrderStatsBucket> aggregateOrders(Collection<Long> orderIds) {
+        List<Object> args = new ArrayList<>(orderIds.size());
+        String idIn = OrderFilterSql.idIn(orderIds, args);
+        return jdbcTemplate.query("SELECT " + UTC_DAY + " AS order_date, status, " + SHARD + " AS shard,"
+                        + " COUNT(*) AS order_count, SUM(amount) AS amount_sum, MIN(amount) AS amount_min,"
+                        + " MAX(amount) AS amount_max"
+                        + " FROM orders WHERE " + idIn + " GROUP BY " + UTC_DAY + ", status, " + SHARD
+                        + " ORDER BY order_date, status, shard",
+                SHARD_ROW_MAPPER, args.toArray());
+    }
+
+    private static Object[] recomputeArgs(LocalDate day, OrderStatus status, int shard) {
+        OffsetDateTime from = day.atStartOfDay().atOffset(ZoneOffset.UTC);
+        OffsetDateTime to = from.plusDays(1);
+        List<Object> args = new ArrayList<>(19);
+        for (int i = 0; i < 4; i++) {
+            args.addAll(List.of(status.name(), from, to, shard));
+        }
+        args.addAll(List.of(day, status.name(), shard));
+        return args.toArray();
+    }
+
+    /**
+     * Buckets in the filter's status and day range, their shards summed; reads at most (days x statuses x shards)
+     * rows.
+     * Amount filters cannot be answered from the rollup; see {@link #aggregateOrders}.
+     */
+    public List<OrderStatsBucket> findBuckets(OrderStatus status, LocalDate dateFrom, LocalDate dateTo) {
+        List<Object> args = new ArrayList<>(3);
+        StringBuilder sql = new StringBuilder("""
+                SELECT order_date, status, SUM(order_count) AS order_count, SUM(amount_sum) AS amount_sum,
+                       MIN(amount_min) AS amount_min, MAX(amount_max) AS amount_max
+                FROM order_daily_stats WHERE 1 = 1""");
+        if (status != null) {
+            sql.append(" AND status = ?");
+            args.add(status.name());
+        }
+        if (dateFrom != null) {
+            sql.append(" AND order_date >= ?");
+            args.add(dateFrom);
+        }
+        if (dateTo != null) {
+            sql.append(" AND order_date <= ?");
+            args.add(dateTo);
+        }
+        sql.append(" GROUP BY order_date, status HAVING SUM(order_count) > 0");
+        return jdbcTemplate.query(sql.toString(), BUCKET_ROW_MAPPER, args.toArray());
+    }
+
+    /**
+     * Number of orders in the filter's status and day range, summed from the rollup; {@code status} may be null.
+     */
+    public long countOrders(OrderStatus status, LocalDate dateFrom, LocalDate dateTo) {
+        List<Object> args = new ArrayList<>(3);
+        StringBuilder sql = new StringBuilder("SELECT COALESCE(SUM(order_count), 0) FROM order_daily_stats WHERE 1 = 1");
+        if (status != null) {
+            sql.append(" AND status = ?");
+            args.add(status.name());
+        }
+        if (dateFrom != null) {
+            sql.append(" AND order_date >= ?");
+            args.add(dateFrom);
+        }
+        if (dateTo != null) {
+            sql.append(" AND order_date <= ?");
+            args.add(dateTo);
+        }
+        Long count = jdbcTemplate.queryForObject(sql.toString(), Long.class, args.toArray());
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Number of orders per status, over all days; statuses without orders are absent.
+     */
+    public Map<OrderStatus, Long> countByStatus() {
+        Map<OrderStatus, Long> counts = new EnumMap<>(OrderStatus.class);
+        jdbcTemplate.query("SELECT status, SUM(order_count) AS order_count FROM order_daily_stats GROUP BY status",
+                rs -> {
+                    counts.put(OrderStatus.valueOf(rs.getString("status")), rs.getLong("order_count"));
+                });
+        return counts;
+    }
+
+    /**
+     * The same buckets computed from {@code orders} with every filter of
+     * {@link com.example.orders.spec.OrderSpecifications#build}, for filters the rollup cannot answer.
+     */
+    public List<OrderStatsBucket> aggregateOrders(OrderFilter filter) {
+        List<Object> args = new ArrayList<>(5);
+        List<String> predicates = new ArrayList<>(5);
+        OrderFilterSql.appendTo(filter, predicates, args);
+        return aggregate("orders", predicates, args);
+    }
+
+    /**
+     * As {@link #aggregateOrders(OrderFilter)}, over {@code orders_archive}. Archived orders stay in the rollup, so
+     * only filters the rollup cannot answer need this.
+     */
+    public List<OrderStatsBucket> aggregateArchivedOrders(OrderFilter filter) {
+        List<Object> args = new ArrayList<>(5);
+        List<String> predicates = new ArrayList<>(5);
+        OrderFilterSql.appendToArchive(filter, predicates, args);
+        return aggregate("orders_archive", predicates, args);
+    }
+
+    private List<OrderStatsBucket> aggregate(String table, List<String> predicates, List<Object> args) {
+        return jdbcTemplate.query("SELECT " + UTC_DAY + " AS order_date, status, COUNT(*) AS order_count,"
+                        + " SUM(amount) AS amount_sum, MIN(amount) AS amount_min, MAX(amount) AS amount_max"
+                        + " FROM " + table + OrderFilterSql.where(predicates) + " GROUP BY " + UTC_DAY + ", status",
+                BUCKET_ROW_MAPPER, args.toArray());
+    }
+
+    private SqlDialect dialect() {
+        SqlDialect current = dialect;
+        if (current == null) {
+            current = SqlDialect.detect(jdbcTemplate);
+            dialect = current;
+        }
+        return current;
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.orders.repository;
+
+import com.example.orders.model.Order;
+import com.example.orders.model.OrderStatus;
+
+/**
+ * Result of {@link OrderRepositoryCustom#updatePartially}: the row as it is after the update, and the status and
+ * amount (in cents) it had before (needed to move the order between statistics buckets).
+ */
+public record OrderUpdate(Order order, OrderStatus previousStatus, long previousAmount) {
+}
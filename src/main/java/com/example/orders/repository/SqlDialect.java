@@ -0,0 +1,27 @@
+package com.example.orders.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Locale;
+
+/**
+ * The handful of vendor differences our hand-written SQL has to care about.
+ */
+public enum SqlDialect {
+    H2,
+    POSTGRESQL,
+    OTHER;
+
+    public static SqlDialect detect(JdbcTemplate jdbcTemplate) {
+        String product = jdbcTemplate.execute(
+                (org.springframework.jdbc.core.ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+        String name = product == null ? "" : product.toLowerCase(Locale.ROOT);
+        if (name.contains("h2")) {
+            return H2;
+        }
+        if (name.contains("postgres")) {
+            return POSTGRESQL;
+        }
+        return OTHER;
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.orders.service;
+
+import com.example.orders.config.ConditionalOnMemoryStorage;
+import com.example.orders.dto.CreateOrderRequest;
+import com.example.orders.dto.CursorPagedResponse;
+import com.example.orders.dto.OrderFilter;
+import com.example.orders.dto.OrderLookupResponse;
+import com.example.orders.dto.OrderResponse;
+import com.example.orders.dto.PagedResponse;
+import com.example.orders.dto.SliceResponse;
+import com.example.orders.dto.UpdateOrderRequest;
+import com.example.orders.exception.NotFoundException;
+import com.example.orders.exception.PreconditionFailedException;
+import com.example.orders.model.OrderStatus;
+import com.example.orders.pagination.OrderCursor;
+import com.example.orders.store.ColumnarOrderStore;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+/**
+ * {@link OrderService} on the in-memory {@link ColumnarOrderStore} ({@code orders.storage.engine=memory}). Totals are
+ * always exact: counting in memory is cheap enough not to need the estimates of the SQL engine.
+ */
+@Service
+@ConditionalOnMemoryStorage
+public class ColumnarOrderService implements OrderService {
+
+    private final ColumnarOrderStore store;
+
+    public ColumnarOrderService(ColumnarOrderStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public OrderResponse createOrder(CreateOrderRequest request) {
+        return store.insert(request.getCustomerName(),
+                request.getStatus() != null ? request.getStatus() : OrderStatus.NEW,
+                OrderParams.amount(request.getAmount()));
+    }
+
+    @Override
+    public PagedResponse<OrderResponse> getOrders(int page, int limit, OrderFilter filter) {
+        validate(page, limit, filter);
+        List<OrderResponse> items = store.find(filter, null, (long) (page - 1) * limit, limit);
+        return JdbcOrderService.toPagedResponse(items, page, limit, OptionalLong.empty(), () -> store.count(filter));
+    }
+
+    @Override
+    public SliceResponse<OrderResponse> getOrderSlice(OrderFilter filter, int page, int limit, boolean includeTotal) {
+        validate(page, limit, filter);
+        // One extra row tells us whether another page exists.
+        List<OrderResponse> rows = store.find(filter, null, (long) (page - 1) * limit, limit + 1);
+        boolean hasNext = rows.size() > limit;
+        List<OrderResponse> items = hasNext ? rows.subList(0, limit) : rows;
+
+        Long totalItems = null;
+        Integer totalPages = null;
+        if (includeTotal) {
+            totalItems = store.count(filter);
+            totalPages = (int) ((totalItems + limit - 1) / limit);
+        }
+        return new SliceResponse<>(items, page, limit, hasNext, totalItems, totalPages);
+    }
+
+    @Override
+    public CursorPagedResponse<OrderResponse> getOrdersByCursor(OrderFilter filter, String cursor, int limit) {
+        validate(1, limit, filter);
+        OrderCursor after = cursor != null && !cursor.isBlank() ? OrderCursor.decode(cursor) : null;
+
+        List<OrderResponse> rows = store.find(filter, after, 0, limit + 1);
+        boolean hasNext = rows.size() > limit;
+        List<OrderResponse> items = hasNext ? rows.subList(0, limit) : rows;
+
+        String nextCursor = hasNext ? OrderCursor.of(items.get(items.size() - 1)).encode() : null;
+        return new CursorPagedResponse<>(items, limit, nextCursor, hasNext);
+    }
+
+    @Override
+    public OrderResponse getById(Long id) {
+        return store.findById(id).orElseThrow(() -> new NotFoundException("Order not found: " + id));
+    }
+
+    @Override
+    public long getVersion(Long id) {
+        return store.findVersion(id).orElseThrow(() -> new NotFoundException("Order not found: " + id));
+    }
+
+    @Override
+    public OrderLookupResponse getByIds(List<Long> ids) {
+        List<OrderResponse> items = new ArrayList<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : OrderParams.distinctIds(ids)) {
+            Optional<OrderResponse> order = store.findById(id);
+            if (order.isPresent()) {
+                items.add(order.get());
+            } else {
+                missing.add(id);
+            }
+        }
+        return new OrderLookupResponse(items, missing);
+    }
+
+    @Override
+    public OrderResponse update(Long id, UpdateOrderRequest req, List<Long> expectedVersions) {
+        Long amount = req.getAmount() != null ? OrderParams.amount(req.getAmount()) : null;
+        if (expectedVersions != null && expectedVersions.isEmpty()) {
+            throw notWritten(id, expectedVersions);
+        }
+        return store.update(id, req.getCustomerName(), amount, req.getStatus(), expectedVersions)
+                .orElseThrow(() -> notWritten(id, expectedVersions));
+    }
+
+    @Override
+    public void delete(Long id, List<Long> expectedVersions) {
+        if ((expectedVersions != null && expectedVersions.isEmpty()) || !store.delete(id, expectedVersions)) {
+            throw notWritten(id, expectedVersions);
+        }
+    }
+
+    private static void validate(int page, int limit, OrderFilter filter) {
+        OrderParams.validatePaginationParams(page, limit);
+        OrderParams.validateFilterParams(filter.getMinAmount(), filter.getMaxAmount(), filter.getDateFrom(), filter.getDateTo());
+    }
+
+    private RuntimeException notWritten(Long id, List<Long> expectedVersions) {
+        if (expectedVersions == null || !store.existsById(id)) {
+            return new NotFoundException("Order not found: " + id);
+        }
+        return new PreconditionFailedException("Order " + id + " has been modified (If-Match does not match).");
+    }
+}
@@ -0,0 +1,421 @@
+package com.example.orders.service;
+
+import com.example.orders.cache.OrderCache;
+import com.example.orders.config.ConditionalOnJdbcStorage;
+import com.example.orders.model.Order;
+import com.example.orders.model.OrderStatus;
+import com.example.orders.repository.OrderArchiveRepository;
+import com.example.orders.repository.OrderNameTokenRepository;
+import com.example.orders.repository.OrderRepository;
+import com.example.orders.repository.OrderUpdate;
+import com.example.orders.spec.OrderSpecifications;
+import com.example.orders.dto.CreateOrderRequest;
+import com.example.orders.dto.CursorPagedResponse;
+import com.example.orders.dto.OrderFilter;
+import com.example.orders.dto.OrderLookupResponse;
+import com.example.orders.dto.OrderResponse;
+import com.example.orders.dto.PagedResponse;
+import com.example.orders.dto.SliceResponse;
+import com.example.orders.exception.ConflictException;
+import com.example.orders.pagination.OrderCursor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.function.LongSupplier;
+import com.example.orders.dto.UpdateOrderRequest;
+import com.example.orders.exception.NotFoundException;
+import com.example.orders.exception.PreconditionFailedException;
+
+/**
+ * {@link OrderService} on the SQL database ({@code orders.storage.engine=jdbc}, the default).
+ */
+@Service
+@ConditionalOnJdbcStorage
+public class JdbcOrderService implements OrderService {
+
+    private static final Sort KEYSET_SORT = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
+    private final OrderRepository orderRepository;
+    private final OrderNameTokenRepository orderNameTokenRepository;
+    private final OrderCache orderCache;
+    private final OrderChangeLog orderChangeLog;
+    private final OrderStatsService orderStatsService;
+    private final OrderCountExecutor orderCountExecutor;
+    private final OrderArchive orderArchive;
+    private final OrderArchiveRepository orderArchiveRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public JdbcOrderService(OrderRepository orderRepository, OrderNameTokenRepository orderNameTokenRepository,
+                            OrderCache orderCache, OrderChangeLog orderChangeLog, OrderStatsService orderStatsService,
+                            OrderCountExecutor orderCountExecutor, OrderArchive orderArchive,
+                            OrderArchiveRepository orderArchiveRepository,
+                            PlatformTransactionManager transactionManager) {
+        this.orderRepository = orderRepository;
+        this.orderNameTokenRepository = orderNameTokenRepository;
+        this.orderCache = orderCache;
+        this.orderChangeLog = orderChangeLog;
+        this.orderStatsService = orderStatsService;
+        this.orderCountExecutor = orderCountExecutor;
+        this.orderArchive = orderArchive;
+        this.orderArchiveRepository = orderArchiveRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    // Transactional so that the change-log entry and the statistics commit together with the order.
+    @Override
+    @Transactional
+    public OrderResponse createOrder(CreateOrderRequest request) {
+        Order order = newOrder(request);
+
+        // Flushed so that the INSERT precedes the name tokens referencing the order.
+        Order savedOrder = orderRepository.saveAndFlush(order);
+        orderNameTokenRepository.addAll(List.of(savedOrder));
+        orderStatsService.recordCreated(List.of(savedOrder));
+        orderChangeLog.created(List.of(savedOrder));
+        OrderResponse response = mapToOrderResponse(savedOrder);
+        // Recently created orders are the most looked-up ones.
+        orderCache.put(response);
+        return response;
+    }
+
+    static Order newOrder(CreateOrderRequest request) {
+        return Order.builder()
+                .customerName(request.getCustomerName())
+                .status(request.getStatus() != null ? request.getStatus() : OrderStatus.NEW)
+                .amount(OrderParams.amount(request.getAmount()))
+                .build();
+    }
+
+    /**
+     * Not {@code @Transactional}: with a parallel count ({@link OrderCountExecutor}) the page query runs in its own
+     * transaction, whose connection is returned before waiting for the count. Otherwise both share one.
+     */
+    @Override
+    public PagedResponse<OrderResponse> getOrders(int page, int limit, OrderFilter filter) {
+        OrderParams.validatePaginationParams(page, limit);
+        OrderParams.validateFilterParams(filter.getMinAmount(), filter.getMaxAmount(), filter.getDateFrom(), filter.getDateTo());
+
+        Pageable pageable = PageRequest.of(page - 1, limit, Sort.by("createdAt").descending());
+        var spec = OrderSpecifications.build(filter);
+        OrderStatus status = filter.getStatus();
+        boolean amountOrCustomer = filter.getMinAmount() != null || filter.getMaxAmount() != null
+                || (filter.getCustomer() != null && !filter.getCustomer().isBlank());
+        OptionalLong estimate = !amountOrCustomer && filter.getDateFrom() == null && filter.getDateTo() == null
+                ? orderStatsService.estimateOrders(status)
+                : OptionalLong.empty();
+        LongSupplier hotCount = hotCount(filter, spec);
+        // The rollup has no amounts or names per order; those filters need a count over orders (and the archive).
+        // Archived orders stay in the rollup.
+        LongSupplier count = () -> amountOrCustomer
+                ? hotCount.getAsLong() + archivedCount(filter)
+                : orderStatsService.countOrders(status, filter.getDateFrom(), filter.getDateTo());
+
+        OrderCountExecutor.PendingCount parallelCount = estimate.isEmpty() ? orderCountExecutor.trySubmit(count) : null;
+        if (parallelCount == null) {
+            return readOnlyTransaction.execute(tx -> toPagedResponse(
+                    findResponses(filter, spec, pageable.getSort(), null, pageable.getOffset(), limit, hotCount),
+                    page, limit, estimate, count));
+        }
+        List<OrderResponse> items;
+        try {
+            items = readOnlyTransaction.execute(tx -> findResponses(
+                    filter, spec, pageable.getSort(), null, pageable.getOffset(), limit, hotCount));
+        } catch (RuntimeException e) {
+            parallelCount.cancel();
+            throw e;
+        }
+        PagedResponse<OrderResponse> response = toPagedResponse(items, page, limit, estimate, parallelCount);
+        // Not needed when the page itself gave the total.
+        parallelCount.cancel();
+        return response;
+    }
+
+    static PagedResponse<OrderResponse> toPagedResponse(List<OrderResponse> items, int page, int limit,
+                                                                OptionalLong estimate, LongSupplier count) {
+        long seen = (long) (page - 1) * limit + items.size();
+        long totalItems;
+        boolean totalExact = true;
+        if (items.size() < limit && (!items.isEmpty() || page == 1)) {
+            // The page itself tells us the total (first or last page).
+            totalItems = seen;
+        } else if (estimate.isPresent()) {
+            // An estimate that lags behind may be lower than the rows already returned.
+            totalItems = Math.max(estimate.getAsLong(), seen);
+            totalExact = false;
+        } else {
+            totalItems = count.getAsLong();
+        }
+        return new PagedResponse<>(
+                items,
+                page,
+                limit,
+                totalItems,
+                (int) ((totalItems + limit - 1) / limit),
+                totalExact
+        );
+    }
+
+    /**
+     * Offset pagination without the companion COUNT(*) query: reports only whether a next page exists.
+     * Totals are computed only when the caller explicitly asks for them.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public SliceResponse<OrderResponse> getOrderSlice(OrderFilter filter, int page, int limit, boolean includeTotal) {
+        OrderParams.validatePaginationParams(page, limit);
+        OrderParams.validateFilterParams(filter.getMinAmount(), filter.getMaxAmount(), filter.getDateFrom(), filter.getDateTo());
+
+        var spec = OrderSpecifications.build(filter);
+        LongSupplier hotCount = hotCount(filter, spec);
+        // One extra row tells us whether another page exists.
+        List<OrderResponse> rows = findResponses(
+                filter, spec, Sort.by("createdAt").descending(), null, (long) (page - 1) * limit, limit + 1, hotCount);
+        boolean hasNext = rows.size() > limit;
+        List<OrderResponse> items = hasNext ? rows.subList(0, limit) : rows;
+
+        Long totalItems = null;
+        Integer totalPages = null;
+        if (includeTotal) {
+            totalItems = hotCount.getAsLong() + archivedCount(filter);
+            totalPages = (int) ((totalItems + limit - 1) / limit);
+        }
+
+        return new SliceResponse<>(items, page, limit, hasNext, totalItems, totalPages);
+    }
+
+    /**
+     * Keyset (cursor) pagination: seeks past the cursor instead of skipping rows with OFFSET,
+     * so every page costs the same regardless of its depth. No count query is issued.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPagedResponse<OrderResponse> getOrdersByCursor(OrderFilter filter, String cursor, int limit) {
+        OrderParams.validatePaginationParams(1, limit);
+        OrderParams.validateFilterParams(filter.getMinAmount(), filter.getMaxAmount(), filter.getDateFrom(), filter.getDateTo());
+
+        Specification<Order> spec = OrderSpecifications.build(filter);
+        OrderCursor after = null;
+        if (cursor != null && !cursor.isBlank()) {
+            after = OrderCursor.decode(cursor);
+            spec = spec.and(OrderSpecifications.after(after));
+        }
+
+        // One extra row tells us whether another page exists.
+        List<OrderResponse> rows = findResponses(filter, spec, KEYSET_SORT, after, 0, limit + 1, () -> 0);
+        boolean hasNext = rows.size() > limit;
+        List<OrderResponse> items = hasNext ? rows.subList(0, limit) : rows;
+
+        String nextCursor = hasNext ? OrderCursor.of(items.get(items.size() - 1)).encode() : null;
+        return new CursorPagedResponse<>(items, limit, nextCursor, hasNext);
+    }
+
+    /**
+     * Rows {@code offset} to {@code offset + limit} of the newest-first listing: the matching orders in
+     * {@code orders}, then those in {@code orders_archive} (see {@link OrderArchive}). A table the filter's date range
+     * (or the cursor) cannot reach is not read. {@code hotCount} is only asked for when the page starts in the
+     * archive, to know how many archived rows to skip.
+     */
+    private List<OrderResponse> findResponses(OrderFilter filter, Specification<Order> spec, Sort sort,
+                                              OrderCursor after, long offset, int limit, LongSupplier hotCount) {
+        boolean archivedOnly = orderArchive.holdsAll(filter)
+                || (after != null && orderArchive.holdsAllUntil(after.getCreatedAt()));
+        List<OrderResponse> hot = archivedOnly ? List.of() : orderRepository.findResponses(spec, sort, offset, limit);
+        if (hot.size() == limit || !orderArchive.mayHold(filter)) {
+            return hot;
+        }
+        // A page that starts in the archive skips the archived rows before it; concurrent writes may have changed
+        // the count since the page query, hence the lower bound.
+        long archivedOffset = hot.isEmpty() && offset > 0 ? Math.max(0, offset - hotCount.getAsLong()) : 0;
+        List<OrderResponse> archived = orderArchiveRepository.findResponses(
+                filter, after, archivedOffset, limit - hot.size());
+        if (hot.isEmpty()) {
+            return archived;
+        }
+        List<OrderResponse> rows = new ArrayList<>(hot.size() + archived.size());
+        rows.addAll(hot);
+        rows.addAll(archived);
+        return rows;
+    }
+
+    /**
+     * Number of matching orders in {@code orders}, counted at most once per request.
+     */
+    private LongSupplier hotCount(OrderFilter filter, Specification<Order> spec) {
+        return new LongSupplier() {
+            private Long count;
+
+            @Override
+            public synchronized long getAsLong() {
+                if (count == null) {
+                    count = orderArchive.holdsAll(filter) ? 0 : orderRepository.count(spec);
+                }
+                return count;
+            }
+        };
+    }
+
+    private long archivedCount(OrderFilter filter) {
+        return orderArchive.mayHold(filter) ? orderArchiveRepository.count(filter) : 0;
+    }
+
+    private OrderResponse mapToOrderResponse(Order order) {
+        return new OrderResponse(
+                order.getId(),
+                order.getCustomerName(),
+                order.getStatus(),
+                order.getAmount(),
+                order.getCreatedAt(),
+                order.getVersion()
+        );
+    }
+
+    @Override
+    public OrderResponse getById(Long id) {
+        return orderCache.get(id, this::loadById);
+    }
+
+    // Served from the cache when the order is cached, otherwise by a query that reads only the version column.
+    // Archived orders are not in that query's table; they are loaded (and cached) like getById.
+    @Override
+    public long getVersion(Long id) {
+        OrderResponse cached = orderCache.getIfPresent(id);
+        if (cached != null) {
+            return cached.getVersion();
+        }
+        Optional<Long> version = orderRepository.findVersionById(id);
+        return version.isPresent() ? version.get() : getById(id).getVersion();
+    }
+
+    // findById runs in the repository's read-only transaction (no flush, no dirty-checking snapshot) and
+    // only on a cache miss. For a single row it measured cheaper than a constructor-projection query.
+    // Archived orders cost a second lookup.
+    private OrderResponse loadById(Long id) {
+        return orderRepository.findById(id)
+                .map(this::mapToOrderResponse)
+                .or(() -> orderArchive.isEmpty() ? Optional.empty() : orderArchiveRepository.findById(id))
+                .orElseThrow(() -> new NotFoundException("Order not found: " + id));
+    }
+
+    /**
+     * Orders by id, in the order requested and each id once. Cached orders cost nothing; all others are read with
+     * one {@code IN} query. Ids without an order are reported as missing instead of failing the request.
+     */
+    @Override
+    public OrderLookupResponse getByIds(List<Long> ids) {
+        List<Long> distinct = OrderParams.distinctIds(ids);
+        Map<Long, OrderResponse> found = orderCache.getAll(distinct, this::loadByIds);
+
+        List<OrderResponse> items = new ArrayList<>(found.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : distinct) {
+            OrderResponse order = found.get(id);
+            if (order != null) {
+                items.add(order);
+            } else {
+                missing.add(id);
+            }
+        }
+        return new OrderLookupResponse(items, missing);
+    }
+
+    private Map<Long, OrderResponse> loadByIds(Collection<Long> ids) {
+        Map<Long, OrderResponse> loaded = new HashMap<>();
+        for (OrderResponse order : orderRepository.findResponses(
+                OrderSpecifications.idIn(ids), Sort.unsorted(), 0, ids.size())) {
+            loaded.put(order.getId(), order);
+        }
+        if (loaded.size() < ids.size() && !orderArchive.isEmpty()) {
+            List<Long> missing = ids.stream().filter(id -> !loaded.containsKey(id)).toList();
+            for (OrderResponse order : orderArchiveRepository.findByIds(missing)) {
+                loaded.put(order.getId(), order);
+            }
+        }
+        return loaded;
+    }
+
+    // The interface's default would call the three-argument method on this object, past the transactional proxy.
+    @Override
+    @Transactional
+    public OrderResponse update(Long id, UpdateOrderRequest req) {
+        return update(id, req, null);
+    }
+
+    /**
+     * Partial update in a single statement: only the non-null fields are written and the new row is
+     * returned by the same statement, so there is no load-then-save round-trip.
+     * With {@code expectedVersions} (from If-Match) the write only happens if the current version is one of them.
+     */
+    @Override
+    @Transactional
+    public OrderResponse update(Long id, UpdateOrderRequest req, List<Long> expectedVersions) {
+        Long amount = req.getAmount() != null ? OrderParams.amount(req.getAmount()) : null;
+        if (expectedVersions != null && expectedVersions.isEmpty()) {
+            throw notWritten(id, expectedVersions);
+        }
+        OrderUpdate update = orderRepository.updatePartially(
+                        id, req.getCustomerName(), amount, req.getStatus(), expectedVersions)
+                .orElseThrow(() -> notWritten(id, expectedVersions));
+        Order updated = update.order();
+
+        if (req.getCustomerName() != null) {
+            orderNameTokenRepository.replace(id, updated.getCustomerName());
+        }
+        orderStatsService.recordUpdated(update);
+        orderChangeLog.updated(updated);
+        orderCache.invalidate(id);
+        return mapToOrderResponse(updated);
+    }
+
+    @Override
+    @Transactional
+    public void delete(Long id) {
+        delete(id, null);
+    }
+
+    /**
+     * Deletes with a single statement that also returns the deleted row (for the statistics); no row means the
+     * order did not exist (or, with {@code expectedVersions}, no longer had one of the expected versions).
+     */
+    @Override
+    @Transactional
+    public void delete(Long id, List<Long> expectedVersions) {
+        if (expectedVersions != null && expectedVersions.isEmpty()) {
+            throw notWritten(id, expectedVersions);
+        }
+        Order deleted = orderRepository.deleteReturning(id, expectedVersions)
+                .orElseThrow(() -> notWritten(id, expectedVersions));
+        orderStatsService.recordDeleted(deleted);
+        orderChangeLog.deleted(id);
+        orderCache.invalidate(id);
+    }
+
+    // Only reached on the failure path, so the extra existence checks cost nothing on success.
+    private RuntimeException notWritten(Long id, List<Long> expectedVersions) {
+        if (!orderArchive.isEmpty() && orderArchiveRepository.existsById(id)) {
+            return new ConflictException("Order " + id + " is archived and read-only.");
+        }
+        return expectedVersions != null
+                ? preconditionFailedOrNotFound(id)
+                : new NotFoundException("Order not found: " + id);
+    }
+
+    private RuntimeException preconditionFailedOrNotFound(Long id) {
+        if (!orderRepository.existsById(id)) {
+            return new NotFoundException("Order not found: " + id);
+        }
+        return new PreconditionFailedException("Order " + id + " has been modified (If-Match does not match).");
+    }
+}
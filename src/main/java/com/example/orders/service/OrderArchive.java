@@ -0,0 +1,204 @@
+package com.example.orders.service;
+
+import com.example.orders.config.ConditionalOnJdbcStorage;
+import com.example.orders.config.OrdersProperties;
+import com.example.orders.dto.OrderFilter;
+import com.example.orders.repository.OrderArchiveMonth;
+import com.example.orders.repository.OrderArchiveRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Monthly partitions of the orders: the last {@code orders.archive.hot-months} UTC months (and the current one) live
+ * in {@code orders}, older months in the read-only {@code orders_archive}. Every archived order is older than every
+ * order left in {@code orders}, so the newest-first listing is the matching hot orders followed by the matching
+ * archived ones, and a date range only reads the table(s) it reaches.
+ * <p>
+ * Which months are archived is read from {@code order_archive_months} at startup and every
+ * {@code orders.archive.refresh-interval}. The archiving job ({@code orders.archive.job-enabled}) first announces the
+ * months to archive and only moves their orders once two refresh intervals have passed, so that every node already
+ * reads {@code orders_archive} for those months; orders are moved oldest first, in chunks of
+ * {@code orders.archive.chunk-size}, one transaction each. A node that has not refreshed for that long may miss the
+ * orders of a month archived meanwhile; a listing that races a chunk's commit may see its orders twice.
+ */
+@Component
+@ConditionalOnJdbcStorage
+public class OrderArchive {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderArchive.class);
+
+    private final OrderArchiveRepository orderArchiveRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final OrdersProperties.Archive config;
+    private volatile State state = new State(null, null);
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "orders-archive");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * @param archivedUntil end of the last announced month: every archived order was created before it
+     * @param hotFrom       end of the last completely archived month: every order in {@code orders} was created at or
+     *                      after it
+     */
+    private record State(Instant archivedUntil, Instant hotFrom) {
+    }
+
+    public OrderArchive(OrderArchiveRepository orderArchiveRepository, TransactionTemplate transactionTemplate,
+                        OrdersProperties properties) {
+        this.orderArchiveRepository = orderArchiveRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.config = properties.getArchive();
+    }
+
+    /**
+     * Whether no month is archived (nor announced); then {@code orders} holds every order.
+     */
+    public boolean isEmpty() {
+        return state.archivedUntil() == null;
+    }
+
+    /**
+     * Whether {@code orders_archive} may hold orders in the filter's date range.
+     */
+    public boolean mayHold(OrderFilter filter) {
+        Instant archivedUntil = state.archivedUntil();
+        return archivedUntil != null
+                && (filter.getDateFrom() == null || startOf(filter.getDateFrom()).isBefore(archivedUntil));
+    }
+
+    /**
+     * Whether every order in the filter's date range is archived, so that {@code orders} need not be read.
+     */
+    public boolean holdsAll(OrderFilter filter) {
+        return filter.getDateTo() != null && holdsAllBefore(startOf(filter.getDateTo().plusDays(1)));
+    }
+
+    /**
+     * Whether every order created at or before {@code createdAt} is archived.
+     */
+    public boolean holdsAllUntil(Instant createdAt) {
+        return holdsAllBefore(createdAt.plusNanos(1));
+    }
+
+    private boolean holdsAllBefore(Instant end) {
+        Instant hotFrom = state.hotFrom();
+        return hotFrom != null && !end.isAfter(hotFrom);
+    }
+
+    /**
+     * Re-reads the archived months. Runs at startup and on a schedule; public so that it can be forced.
+     */
+    @PostConstruct
+    public void refresh() {
+        Instant archivedUntil = null;
+        Instant hotFrom = null;
+        for (OrderArchiveMonth month : orderArchiveRepository.findMonths()) {
+            Instant end = startOf(month.month().plusMonths(1));
+            archivedUntil = end;
+            if (month.archivedAt() != null) {
+                hotFrom = end;
+            }
+        }
+        state = new State(archivedUntil, hotFrom);
+    }
+
+    /**
+     * One run of the archiving job: announces the months that have gone cold and moves the orders of the months
+     * announced long enough ago. Runs on a schedule when the job is enabled; public so that it can be forced.
+     *
+     * @return the number of orders moved
+     */
+    public long archiveColdMonths() {
+        Instant now = Instant.now();
+        YearMonth cutoff = YearMonth.now(ZoneOffset.UTC).minusMonths(config.getHotMonths());
+        List<OrderArchiveMonth> months = orderArchiveRepository.findMonths();
+
+        Set<LocalDate> announced = new HashSet<>();
+        months.forEach(month -> announced.add(month.month()));
+        Instant oldest = orderArchiveRepository.findOldestHotCreatedAt().orElse(null);
+        if (oldest != null) {
+            transactionTemplate.executeWithoutResult(tx -> {
+                for (YearMonth month = YearMonth.from(oldest.atOffset(ZoneOffset.UTC)); month.isBefore(cutoff);
+                     month = month.plusMonths(1)) {
+                    if (!announced.contains(month.atDay(1))) {
+                        orderArchiveRepository.announce(month.atDay(1), now);
+                    }
+                }
+            });
+        }
+        refresh();
+
+        // Months are moved in order, so that orders_archive never holds an order newer than one left in orders.
+        Instant announcedBefore = now.minus(config.getRefreshInterval().multipliedBy(2));
+        int chunkSize = Math.max(1, config.getChunkSize());
+        long moved = 0;
+        for (OrderArchiveMonth month : months) {
+            if (month.archivedAt() != null) {
+                continue;
+            }
+            if (month.announcedAt().isAfter(announcedBefore)) {
+                break;
+            }
+            Instant end = startOf(month.month().plusMonths(1));
+            int chunk;
+            do {
+                chunk = transactionTemplate.execute(
+                        tx -> orderArchiveRepository.moveOldest(end, chunkSize, month.month()));
+                moved += chunk;
+            } while (chunk == chunkSize);
+            orderArchiveRepository.markArchived(month.month(), Instant.now());
+            log.info("Archived the orders of {}", YearMonth.from(month.month()));
+        }
+        refresh();
+        return moved;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        long refreshMillis = config.getRefreshInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(() -> run("refresh", this::refresh),
+                refreshMillis, refreshMillis, TimeUnit.MILLISECONDS);
+        if (config.isJobEnabled()) {
+            scheduler.scheduleWithFixedDelay(() -> run("archive cold months", this::archiveColdMonths),
+                    0, config.getJobInterval().toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private static void run(String task, Runnable runnable) {
+        try {
+            runnable.run();
+        } catch (DataAccessException e) {
+            // Another node's job may have announced the same month; the next run starts over.
+            log.warn("Could not {} the order archive; retrying on the next run", task, e);
+        }
+    }
+
+    private static Instant startOf(LocalDate day) {
+        return day.atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.orders.service;
+
+import com.example.orders.config.ConditionalOnJdbcStorage;
+import com.example.orders.config.OrdersProperties;
+import com.example.orders.dto.BatchCreateResponse;
+import com.example.orders.dto.BatchItemResult;
+import com.example.orders.dto.CreateOrderRequest;
+import com.example.orders.dto.OrderResponse;
+import com.example.orders.exception.BadRequestException;
+import com.example.orders.model.Order;
+import com.example.orders.repository.OrderNameTokenRepository;
+import com.example.orders.repository.OrderRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk order ingestion. Valid items are persisted in chunks of {@code orders.batch.chunk-size},
+ * one transaction per chunk; within a chunk Hibernate groups the INSERTs into JDBC batches of
+ * {@code hibernate.jdbc.batch_size}. A failing chunk is rolled back on its own and reported per item.
+ */
+@Service
+@ConditionalOnJdbcStorage
+public class OrderBatchService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderBatchService.class);
+
+    private final OrderRepository orderRepository;
+    private final OrderNameTokenRepository orderNameTokenRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final OrdersProperties properties;
+    private final OrderChangeLog orderChangeLog;
+    private final OrderStatsService orderStatsService;
+
+    public OrderBatchService(OrderRepository orderRepository,
+                             OrderNameTokenRepository orderNameTokenRepository,
+                             EntityManager entityManager,
+                             TransactionTemplate transactionTemplate,
+                             Validator validator,
+                             OrdersProperties properties,
+                             OrderChangeLog orderChangeLog,
+                             OrderStatsService orderStatsService) {
+        this.orderRepository = orderRepository;
+        this.orderNameTokenRepository = orderNameTokenRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.properties = properties;
+        this.orderChangeLog = orderChangeLog;
+        this.orderStatsService = orderStatsService;
+    }
+
+    public BatchCreateResponse createOrders(List<CreateOrderRequest> requests) {
+        int maxItems = properties.getBatch().getMaxItems();
+        if (requests == null || requests.isEmpty()) {
+            throw new BadRequestException("Batch must contain at least one order.");
+        }
+        if (requests.size() > maxItems) {
+            throw new BadRequestException("Batch must contain at most " + maxItems + " orders.");
+        }
+
+        BatchItemResult[] results = new BatchItemResult[requests.size()];
+        List<Integer> validIndexes = new ArrayList<>(requests.size());
+
+        for (int i = 0; i < requests.size(); i++) {
+            Map<String, String> fieldErrors = validate(requests.get(i));
+            if (fieldErrors.isEmpty()) {
+                validIndexes.add(i);
+            } else {
+                results[i] = failed(i, "Validation failed", fieldErrors);
+            }
+        }
+
+        int chunkSize = Math.max(1, properties.getBatch().getChunkSize());
+        for (int from = 0; from < validIndexes.size(); from += chunkSize) {
+            List<Integer> chunk = validIndexes.subList(from, Math.min(from + chunkSize, validIndexes.size()));
+            persistChunk(requests, chunk, results);
+        }
+
+        int created = (int) Arrays.stream(results)
+                .filter(r -> r.getOutcome() == BatchItemResult.Outcome.CREATED)
+                .count();
+        return new BatchCreateResponse(created, results.length - created, Arrays.asList(results));
+    }
+
+    /**
+     * Persists already validated orders in one transaction, with the INSERTs sent as JDBC batches.
+     * Throws if the transaction fails; nothing is persisted then.
+     */
+    public List<Order> persistAll(List<CreateOrderRequest> requests) {
+        return transactionTemplate.execute(status -> {
+            List<Order> orders = new ArrayList<>(requests.size());
+            for (CreateOrderRequest request : requests) {
+                orders.add(JdbcOrderService.newOrder(request));
+            }
+            List<Order> persisted = orderRepository.saveAll(orders);
+            // Push the batched INSERTs now and drop the managed copies so memory stays flat per chunk.
+            entityManager.flush();
+            entityManager.clear();
+            orderNameTokenRepository.addAll(persisted);
+            orderStatsService.recordCreated(persisted);
+            orderChangeLog.created(persisted);
+            return persisted;
+        });
+    }
+
+    private void persistChunk(List<CreateOrderRequest> requests, List<Integer> chunk, BatchItemResult[] results) {
+        try {
+            List<CreateOrderRequest> chunkRequests = new ArrayList<>(chunk.size());
+            for (int index : chunk) {
+                chunkRequests.add(requests.get(index));
+            }
+            List<Order> saved = persistAll(chunkRequests);
+            for (int i = 0; i < chunk.size(); i++) {
+                int index = chunk.get(i);
+                results[index] = new BatchItemResult(
+                        index, BatchItemResult.Outcome.CREATED, OrderResponse.fromEntity(saved.get(i)), null, null);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Batch chunk of {} orders failed and was rolled back", chunk.size(), ex);
+            for (int index : chunk) {
+                results[index] = failed(index, "Chunk could not be persisted", null);
+            }
+        }
+    }
+
+    // The constraints include the column limits, so an item the table cannot hold fails here on its own instead of
+    // rolling back its whole chunk in persistAll.
+    private Map<String, String> validate(CreateOrderRequest request) {
+        Map<String, String> fieldErrors = new LinkedHashMap<>();
+        if (request == null) {
+            fieldErrors.put("order", "must not be null");
+            return fieldErrors;
+        }
+        Set<ConstraintViolation<CreateOrderRequest>> violations = validator.validate(request);
+        for (ConstraintViolation<CreateOrderRequest> v : violations) {
+            fieldErrors.put(v.getPropertyPath().toString(), v.getMessage());
+        }
+        return fieldErrors;
+    }
+
+    private static BatchItemResult failed(int index, String message, Map<String, String> fieldErrors) {
+        return new BatchItemResult(index, BatchItemResult.Outcome.FAILED, null, message, fieldErrors);
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.orders.service;
+
+import com.example.orders.cache.OrderCache;
+import com.example.orders.config.ConditionalOnJdbcStorage;
+import com.example.orders.config.OrdersProperties;
+import com.example.orders.dto.BulkStatusUpdateRequest;
+import com.example.orders.dto.BulkStatusUpdateResponse;
+import com.example.orders.dto.OrderFilter;
+import com.example.orders.dto.OrderStatsBucket;
+import com.example.orders.exception.BadRequestException;
+import com.example.orders.model.OrderStatus;
+import com.example.orders.repository.OrderBulkRepository;
+import com.example.orders.repository.OrderStatsRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Status transitions of every order matching a filter (and optionally an id list), without loading any entity.
+ * Orders are moved in chunks of {@code orders.batch.status-chunk-size}, one transaction each: the next chunk of ids
+ * is locked in id order, then a single UPDATE sets their status, and the change log, the statistics and the cache
+ * follow with set-based statements as well. A failing chunk rolls back on its own; earlier chunks stay committed.
+ */
+@Service
+@ConditionalOnJdbcStorage
+public class OrderBulkService {
+
+    private final OrderBulkRepository orderBulkRepository;
+    private final OrderStatsRepository orderStatsRepository;
+    private final OrderChangeLog orderChangeLog;
+    private final OrderStatsService orderStatsService;
+    private final OrderCache orderCache;
+    private final TransactionTemplate transactionTemplate;
+    private final OrdersProperties properties;
+
+    public OrderBulkService(OrderBulkRepository orderBulkRepository,
+                            OrderStatsRepository orderStatsRepository,
+                            OrderChangeLog orderChangeLog,
+                            OrderStatsService orderStatsService,
+                            OrderCache orderCache,
+                            TransactionTemplate transactionTemplate,
+                            OrdersProperties properties) {
+        this.orderBulkRepository = orderBulkRepository;
+        this.orderStatsRepository = orderStatsRepository;
+        this.orderChangeLog = orderChangeLog;
+        this.orderStatsService = orderStatsService;
+        this.orderCache = orderCache;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+    }
+
+    public BulkStatusUpdateResponse updateStatus(BulkStatusUpdateRequest request) {
+        OrderFilter filter = request.getFilter() != null ? request.getFilter() : new OrderFilter();
+        OrderParams.validateFilterParams(
+                filter.getMinAmount(), filter.getMaxAmount(), filter.getDateFrom(), filter.getDateTo());
+        List<Long> ids = request.getIds();
+        if (ids == null && !hasAny(filter)) {
+            // Moving every order is almost certainly a mistake; ask for it explicitly via a filter.
+            throw new BadRequestException("A filter or a list of ids is required.");
+        }
+        int maxItems = properties.getBatch().getMaxItems();
+        if (ids != null && ids.size() > maxItems) {
+            throw new BadRequestException("At most " + maxItems + " ids are accepted.");
+        }
+        if (ids != null && ids.contains(null)) {
+            throw new BadRequestException("ids must not contain null.");
+        }
+
+        int chunkSize = Math.max(1, properties.getBatch().getStatusChunkSize());
+        OrderStatus target = request.getTargetStatus();
+        long updated = 0;
+        if (ids == null) {
+            long afterId = Long.MIN_VALUE;
+            List<Long> chunk;
+            do {
+                long from = afterId;
+                chunk = transactionTemplate.execute(
+                        tx -> moveChunk(orderBulkRepository.lockNextChunk(filter, target, null, from, chunkSize), target));
+                updated += chunk.size();
+                if (!chunk.isEmpty()) {
+                    afterId = chunk.get(chunk.size() - 1);
+                }
+            } while (chunk.size() == chunkSize);
+        } else {
+            List<Long> sorted = List.copyOf(new TreeSet<>(ids));
+            for (int from = 0; from < sorted.size(); from += chunkSize) {
+                List<Long> slice = sorted.subList(from, Math.min(from + chunkSize, sorted.size()));
+                updated += transactionTemplate.execute(tx -> moveChunk(
+                        orderBulkRepository.lockNextChunk(filter, target, slice, Long.MIN_VALUE, slice.size()),
+                        target)).size();
+            }
+        }
+        return new BulkStatusUpdateResponse(updated);
+    }
+
+    // Runs inside the chunk's transaction; the ids are locked, so their buckets cannot change underneath.
+    private List<Long> moveChunk(List<Long> ids, OrderStatus target) {
+        if (ids.isEmpty()) {
+            return ids;
+        }
+        List<OrderStatsBucket> previous = orderStatsRepository.aggregateOrders(ids);
+        orderBulkRepository.updateStatus(ids, target);
+        orderStatsService.recordStatusChanged(previous, target);
+        orderChangeLog.updated(ids);
+        orderCache.invalidateAll(ids);
+        return ids;
+    }
+
+    private static boolean hasAny(OrderFilter filter) {
+        return filter.getStatus() != null || filter.getMinAmount() != null || filter.getMaxAmount() != null
+                || filter.getDateFrom() != null || filter.getDateTo() != null
+                || (filter.getCustomer() != null && !filter.getCustomer().isBlank());
+    }
+}
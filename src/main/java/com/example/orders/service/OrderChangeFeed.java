@@ -0,0 +1,166 @@
+package com.example.orders.service;
+
+import com.example.orders.config.ConditionalOnJdbcStorage;
+import com.example.orders.config.OrdersProperties;
+import com.example.orders.dto.OrderChangeResponse;
+import com.example.orders.repository.OrderChangeRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Reads the order change log for {@code GET /orders/changes}.
+ * <p>
+ * Writers only append to the outbox. Committed changes get their {@code seq} when they are relayed into the log
+ * ({@link OrderChangeRepository#relay(int)}), which happens before every read, after each local commit and on every
+ * {@code poll-interval} tick. Relays run one at a time, so a gap in {@code seq} is a relay that rolled back and can
+ * never fill: reads skip it, and a cursor never moves past a change that is still going to appear.
+ * <p>
+ * Long-polls that find nothing wait, without holding a request thread, until a local commit wakes them up
+ * ({@link #changed()}) or the next {@code poll-interval} tick finds changes committed by another node. One scheduler
+ * thread does all the re-reading; a tick costs an outbox probe and a single {@code MAX(seq)} query while every waiter
+ * is caught up.
+ */
+@Service
+@ConditionalOnJdbcStorage
+public class OrderChangeFeed {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderChangeFeed.class);
+
+    private final OrderChangeRepository orderChangeRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int relayBatchSize;
+    private final Duration retention;
+    private final Set<Waiter> waiters = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean checkPending = new AtomicBoolean();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "orders-change-feed");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public OrderChangeFeed(OrderChangeRepository orderChangeRepository, TransactionTemplate transactionTemplate,
+                           OrdersProperties properties) {
+        OrdersProperties.Changes config = properties.getChanges();
+        this.orderChangeRepository = orderChangeRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.relayBatchSize = config.getMaxBatchSize();
+        this.retention = config.getRetention();
+        long pollMillis = config.getPollInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::checkWaiters, pollMillis, pollMillis, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::purge, 1, 60, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Up to {@code limit} changes after {@code since}, oldest first, including every change committed before the call.
+     */
+    public List<OrderChangeResponse> read(long since, int limit) {
+        relay();
+        return orderChangeRepository.findAfter(since, limit);
+    }
+
+    /**
+     * Moves every change committed so far from the outbox into the log.
+     */
+    public void relay() {
+        // Probed outside a transaction, so that an empty outbox costs no relay lock.
+        while (orderChangeRepository.hasPending()) {
+            Integer relayed = transactionTemplate.execute(status -> orderChangeRepository.relay(relayBatchSize));
+            if (relayed == null || relayed < relayBatchSize) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Completes with the next changes after {@code since}, or with an empty list if there were none
+     * within {@code wait}.
+     */
+    public CompletableFuture<List<OrderChangeResponse>> poll(long since, int limit, Duration wait) {
+        List<OrderChangeResponse> changes = read(since, limit);
+        if (!changes.isEmpty() || wait.isZero()) {
+            return CompletableFuture.completedFuture(changes);
+        }
+        Waiter waiter = new Waiter(since, limit, new CompletableFuture<>());
+        waiters.add(waiter);
+        scheduler.schedule(() -> {
+            if (waiters.remove(waiter)) {
+                waiter.result().complete(List.of());
+            }
+        }, wait.toMillis(), TimeUnit.MILLISECONDS);
+        // A commit between the read above and registering the waiter would otherwise go unnoticed until the next tick.
+        changed();
+        return waiter.result();
+    }
+
+    /**
+     * Called after a transaction that wrote changes has committed.
+     */
+    public void changed() {
+        if (checkPending.compareAndSet(false, true)) {
+            scheduler.execute(() -> {
+                checkPending.set(false);
+                checkWaiters();
+            });
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+        for (Waiter waiter : waiters) {
+            waiter.result().complete(List.of());
+        }
+        waiters.clear();
+    }
+
+    private void checkWaiters() {
+        try {
+            // Also when nobody waits, so that the outbox does not grow between reads.
+            relay();
+            if (waiters.isEmpty()) {
+                return;
+            }
+            long maxSeq = orderChangeRepository.maxSeq();
+            for (Waiter waiter : waiters) {
+                if (waiter.since() >= maxSeq) {
+                    continue;
+                }
+                List<OrderChangeResponse> changes = orderChangeRepository.findAfter(waiter.since(), waiter.limit());
+                if (!changes.isEmpty() && waiters.remove(waiter)) {
+                    waiter.result().complete(changes);
+                }
+            }
+        } catch (RuntimeException e) {
+            // Keep the scheduler alive; waiters are retried on the next tick.
+            log.warn("Checking the order change log failed", e);
+        }
+    }
+
+    private void purge() {
+        try {
+            int deleted = orderChangeRepository.deleteChangedBefore(Instant.now().minus(retention));
+            if (deleted > 0) {
+                log.debug("Purged {} order changes older than {}", deleted, retention);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Purging the order change log failed", e);
+        }
+    }
+
+    private record Waiter(long since, int limit, CompletableFuture<List<OrderChangeResponse>> result) {
+    }
+}
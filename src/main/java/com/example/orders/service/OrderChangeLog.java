@@ -0,0 +1,75 @@
+package com.example.orders.service;
+
+import com.example.orders.config.ConditionalOnJdbcStorage;
+import com.example.orders.model.Order;
+import com.example.orders.model.OrderChangeType;
+import com.example.orders.repository.OrderChangeRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Records order writes in the change-log outbox, inside the writing transaction, and wakes up the
+ * {@link OrderChangeFeed} once it commits, to relay the change and answer its waiting readers.
+ */
+@Component
+@ConditionalOnJdbcStorage
+public class OrderChangeLog {
+
+    private final OrderChangeRepository orderChangeRepository;
+    private final OrderChangeFeed orderChangeFeed;
+
+    public OrderChangeLog(OrderChangeRepository orderChangeRepository, OrderChangeFeed orderChangeFeed) {
+        this.orderChangeRepository = orderChangeRepository;
+        this.orderChangeFeed = orderChangeFeed;
+    }
+
+    public void created(List<Order> orders) {
+        if (!orders.isEmpty()) {
+            orderChangeRepository.append(OrderChangeType.CREATED, orders, now());
+            notifyAfterCommit();
+        }
+    }
+
+    public void updated(Order order) {
+        orderChangeRepository.append(OrderChangeType.UPDATED, List.of(order), now());
+        notifyAfterCommit();
+    }
+
+    /**
+     * Logs orders updated in bulk, from their rows as the current transaction has left them.
+     */
+    public void updated(Collection<Long> orderIds) {
+        if (!orderIds.isEmpty()) {
+            orderChangeRepository.appendUpdated(orderIds, now());
+            notifyAfterCommit();
+        }
+    }
+
+    public void deleted(Long orderId) {
+        orderChangeRepository.appendDeleted(orderId, now());
+        notifyAfterCommit();
+    }
+
+    private static Instant now() {
+        return Instant.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    private void notifyAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            orderChangeFeed.changed();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                orderChangeFeed.changed();
+            }
+        });
+    }
+}
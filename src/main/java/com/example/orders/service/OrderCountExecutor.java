@@ -0,0 +1,128 @@
+package com.example.orders.service;
+
+import com.example.orders.config.ConditionalOnJdbcStorage;
+import com.example.orders.config.OrdersProperties;
+import com.example.orders.metrics.SqlStatistics;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.LongSupplier;
+
+/**
+ * Runs the count query of {@code GET /orders} on another thread and connection, at the same time as the page query,
+ * with {@code orders.listing.count-execution=parallel}. Latency becomes the slower of the two instead of their sum.
+ * <p>
+ * Each parallel count holds a second connection. At most {@code orders.listing.max-parallel-counts} run at once;
+ * past that, requests simply count sequentially, so the pool never sees more than that many extra borrowers. Callers
+ * must release their own connection before they {@link PendingCount#getAsLong() wait} for a count: a count then
+ * always finds a connection eventually, even when request threads hold every other one.
+ * <p>
+ * Counts run on virtual threads when {@code spring.threads.virtual.enabled} is set, otherwise on a new platform
+ * thread each. Their SQL is added to the calling request's {@link SqlStatistics}.
+ */
+@Component
+@ConditionalOnJdbcStorage
+public class OrderCountExecutor {
+
+    private final boolean parallel;
+    private final Semaphore permits;
+    private final SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("orders-count-");
+    private final TransactionTemplate readOnlyTransaction;
+
+    public OrderCountExecutor(OrdersProperties properties, Environment environment,
+                              PlatformTransactionManager transactionManager) {
+        OrdersProperties.Listing config = properties.getListing();
+        this.parallel = config.getCountExecution() == OrdersProperties.Listing.CountExecution.PARALLEL
+                && config.getMaxParallelCounts() > 0;
+        this.permits = new Semaphore(Math.max(config.getMaxParallelCounts(), 0));
+        this.executor.setVirtualThreads(Threading.VIRTUAL.isActive(environment));
+        this.executor.setDaemon(true);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Starts {@code count} in its own read-only transaction on another thread, or returns null when parallel
+     * execution is off or all permits are taken; the caller then counts sequentially.
+     */
+    public PendingCount trySubmit(LongSupplier count) {
+        if (!parallel || !permits.tryAcquire()) {
+            return null;
+        }
+        boolean tracked = SqlStatistics.current() != null;
+        PendingCount pending = new PendingCount();
+        try {
+            executor.execute(() -> {
+                try {
+                    if (pending.result.isDone()) {
+                        return; // cancelled before it started
+                    }
+                    pending.statistics = tracked ? SqlStatistics.start() : null;
+                    try {
+                        pending.result.complete(readOnlyTransaction.execute(status -> count.getAsLong()));
+                    } finally {
+                        if (pending.statistics != null) {
+                            pending.statistics.stop();
+                        }
+                    }
+                } catch (Throwable e) {
+                    pending.result.completeExceptionally(e);
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            permits.release();
+            return null;
+        }
+        return pending;
+    }
+
+    /**
+     * A count running on another thread.
+     */
+    public static final class PendingCount implements LongSupplier {
+
+        private final CompletableFuture<Long> result = new CompletableFuture<>();
+        // Written by the counting thread before it completes the result; read after joining it.
+        private SqlStatistics statistics;
+
+        /**
+         * Waits for the count and adds its SQL to the current thread's statistics.
+         */
+        @Override
+        public long getAsLong() {
+            long count;
+            try {
+                count = result.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException runtime) {
+                    throw runtime;
+                }
+                if (e.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw e;
+            }
+            SqlStatistics current = SqlStatistics.current();
+            if (current != null && statistics != null) {
+                current.include(statistics);
+            }
+            return count;
+        }
+
+        /**
+         * The count is no longer needed; it is skipped if it has not started yet.
+         */
+        public void cancel() {
+            result.cancel(false);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.orders.service;
+
+import com.example.orders.config.ConditionalOnJdbcStorage;
+import com.example.orders.config.OrdersProperties;
+import com.example.orders.model.OrderStatus;
+import com.example.orders.repository.OrderStatsRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Number of orders per status, held in memory so that {@code GET /orders} without filters (or with {@code status}
+ * only) can report {@code totalItems} without a count query.
+ * <p>
+ * A count is a base read from the {@code order_daily_stats} rollup plus the local writes committed since, added to a
+ * striped {@link LongAdder} once their transaction commits. Every {@code orders.counters.reconcile-interval} the base
+ * is re-read, which picks up writes made by other nodes and repairs any drift. A status whose local commits race the
+ * read is read again, up to three times; if they still race, the read is taken as including them. Counts are therefore
+ * estimates: between reconciliations they miss other nodes' writes, and on a busy node a count can be off by the
+ * commits in flight during the last read, until the next. Until the first reconciliation there are no counts at all.
+ */
+@Component
+@ConditionalOnJdbcStorage
+public class OrderCounters {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderCounters.class);
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+    private static final int RECONCILE_ATTEMPTS = 3;
+
+    private final OrderStatsRepository orderStatsRepository;
+    private final boolean enabled;
+    private final Duration reconcileInterval;
+    // Local deltas by status ordinal, never reset; a count is base[i] + committed[i].sum().
+    private final LongAdder[] committed = new LongAdder[STATUSES.length];
+    private volatile long[] base;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "orders-counters");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public OrderCounters(OrderStatsRepository orderStatsRepository, OrdersProperties properties) {
+        this.orderStatsRepository = orderStatsRepository;
+        this.enabled = properties.getCounters().isEnabled();
+        this.reconcileInterval = properties.getCounters().getReconcileInterval();
+        for (int i = 0; i < committed.length; i++) {
+            committed[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Estimated number of orders with {@code status}, or of all orders when it is null;
+     * empty when counters are disabled or not loaded yet.
+     */
+    public OptionalLong count(OrderStatus status) {
+        long[] current = base;
+        if (current == null) {
+            return OptionalLong.empty();
+        }
+        if (status != null) {
+            return OptionalLong.of(current[status.ordinal()] + committed[status.ordinal()].sum());
+        }
+        long total = 0;
+        for (int i = 0; i < current.length; i++) {
+            total += current[i] + committed[i].sum();
+        }
+        return OptionalLong.of(total);
+    }
+
+    /**
+     * Adds {@code delta} to the count of {@code status} once the current transaction commits.
+     */
+    public void addAfterCommit(OrderStatus status, long delta) {
+        if (!enabled || delta == 0) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            committed[status.ordinal()].add(delta);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                committed[status.ordinal()].add(delta);
+            }
+        });
+    }
+
+    /**
+     * Re-reads the counts from the rollup. Runs on a schedule; public so that it can be forced.
+     */
+    public void reconcile() {
+        if (!enabled) {
+            return;
+        }
+        long[] next = new long[STATUSES.length];
+        boolean[] exact = new boolean[STATUSES.length];
+        for (int attempt = 1; attempt <= RECONCILE_ATTEMPTS; attempt++) {
+            long[] before = committedSnapshot();
+            Map<OrderStatus, Long> stored;
+            try {
+                stored = orderStatsRepository.countByStatus();
+            } catch (DataAccessException e) {
+                if (attempt == 1) {
+                    log.warn("Could not reconcile order counters; keeping the previous counts", e);
+                    return;
+                }
+                break;
+            }
+            long[] after = committedSnapshot();
+            boolean settled = true;
+            for (int i = 0; i < next.length; i++) {
+                if (exact[i]) {
+                    continue;
+                }
+                // Local commits counted during the read may or may not be in it. Taking them as included is off by at
+                // most those commits; a status that had none is exact, the others are read again.
+                next[i] = stored.getOrDefault(STATUSES[i], 0L) - after[i];
+                exact[i] = before[i] == after[i];
+                settled &= exact[i];
+            }
+            if (settled) {
+                break;
+            }
+        }
+        base = next;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        if (enabled) {
+            scheduler.scheduleWithFixedDelay(this::reconcile, 0, reconcileInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private long[] committedSnapshot() {
+        long[] snapshot = new long[committed.length];
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = committed[i].sum();
+        }
+        return snapshot;
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.orders.service;
+
+import com.example.orders.config.ConditionalOnJdbcStorage;
+import com.example.orders.config.OrdersProperties;
+import com.example.orders.dto.ExportFormat;
+import com.example.orders.dto.OrderFilter;
+import com.example.orders.dto.OrderResponse;
+import com.example.orders.model.Money;
+import com.example.orders.model.Order;
+import com.example.orders.repository.OrderArchiveRepository;
+import com.example.orders.repository.OrderRepository;
+import com.example.orders.spec.OrderSpecifications;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams filtered orders straight from a database cursor to an output stream.
+ * Heap use is bounded by the fetch size: rows are written as they arrive and the
+ * persistence context is cleared every {@code orders.export.fetch-size} rows.
+ * Archived orders follow from a second cursor, when the date range reaches them ({@link OrderArchive}).
+ */
+@Service
+@ConditionalOnJdbcStorage
+public class OrderExportService {
+
+    private static final Sort EXPORT_SORT = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+    private static final String CSV_HEADER = "id,customerName,status,amount,createdAt\n";
+
+    private final OrderRepository orderRepository;
+    private final OrderArchive orderArchive;
+    private final OrderArchiveRepository orderArchiveRepository;
+    private final EntityManager entityManager;
+    private final ObjectWriter jsonWriter;
+    private final OrdersProperties properties;
+
+    public OrderExportService(OrderRepository orderRepository,
+                              OrderArchive orderArchive,
+                              OrderArchiveRepository orderArchiveRepository,
+                              EntityManager entityManager,
+                              ObjectMapper objectMapper,
+                              OrdersProperties properties) {
+        this.orderRepository = orderRepository;
+        this.orderArchive = orderArchive;
+        this.orderArchiveRepository = orderArchiveRepository;
+        this.entityManager = entityManager;
+        // Flushing after every row would turn each line into its own network write.
+        this.jsonWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.properties = properties;
+    }
+
+    public void validate(OrderFilter filter) {
+        OrderParams.validateFilterParams(
+                filter.getMinAmount(), filter.getMaxAmount(), filter.getDateFrom(), filter.getDateTo());
+    }
+
+    @Transactional(readOnly = true)
+    public long export(OrderFilter filter, ExportFormat format, OutputStream out) throws IOException {
+        validate(filter);
+        int fetchSize = Math.max(1, properties.getExport().getFetchSize());
+        var spec = OrderSpecifications.build(filter);
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        JsonGenerator generator = format == ExportFormat.NDJSON ? jsonWriter.createGenerator(writer) : null;
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+        }
+
+        long rows = 0;
+        if (!orderArchive.holdsAll(filter)) {
+            try (Stream<Order> stream = orderRepository.streamAll(spec, EXPORT_SORT, fetchSize)) {
+                rows += write(stream.map(OrderResponse::fromEntity).iterator(), fetchSize, writer, generator);
+            }
+        }
+        // Every archived order is older than every order in orders, so the newest-first order holds across both.
+        if (orderArchive.mayHold(filter)) {
+            try (Stream<OrderResponse> stream = orderArchiveRepository.streamResponses(filter, fetchSize)) {
+                rows += write(stream.iterator(), fetchSize, writer, generator);
+            }
+        }
+
+        if (generator != null) {
+            generator.flush();
+        }
+        writer.flush();
+        return rows;
+    }
+
+    private long write(Iterator<OrderResponse> it, int fetchSize, Writer writer, JsonGenerator generator)
+            throws IOException {
+        long rows = 0;
+        char[] amount = new char[Money.MAX_CHARS];
+        while (it.hasNext()) {
+            OrderResponse order = it.next();
+            if (generator != null) {
+                jsonWriter.writeValue(generator, order);
+                generator.writeRaw('\n');
+            } else {
+                writeCsvRow(writer, order, amount);
+            }
+            if (++rows % fetchSize == 0) {
+                // Drop the managed copies of rows already written.
+                entityManager.clear();
+                if (generator != null) {
+                    generator.flush();
+                }
+                writer.flush();
+            }
+        }
+        return rows;
+    }
+
+    private static void writeCsvRow(Writer writer, OrderResponse order, char[] amount) throws IOException {
+        writer.write(String.valueOf(order.getId()));
+        writer.write(',');
+        writeCsvField(writer, order.getCustomerName());
+        writer.write(',');
+        writer.write(order.getStatus().name());
+        writer.write(',');
+        writer.write(amount, 0, Money.toChars(order.getAmount(), amount, 0));
+        writer.write(',');
+        writer.write(order.getCreatedAt().toString());
+        writer.write('\n');
+    }
+
+    // RFC 4180: quote fields containing separators, quotes or line breaks; double embedded quotes.
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        boolean needsQuotes = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!needsQuotes) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.orders.service;
+
+import com.example.orders.exception.BadRequestException;
+import com.example.orders.model.Money;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Validation of the paging, filter, amount and id parameters, shared by the order services of both storage engines.
+ */
+final class OrderParams {
+
+    private OrderParams() {
+    }
+
+    static void validatePaginationParams(int page, int limit) {
+        if (page < 1) {
+            throw new BadRequestException("Page number must be at least 1.");
+        }
+        if (limit < 1 || limit > 100) {
+            throw new BadRequestException("Limit must be between 1 and 100.");
+        }
+        // The offset is bound as an int row number.
+        if ((long) (page - 1) * limit > Integer.MAX_VALUE) {
+            throw new BadRequestException("Page number is too large.");
+        }
+    }
+
+    static void validateFilterParams(BigDecimal minAmount, BigDecimal maxAmount, LocalDate dateFrom, LocalDate dateTo) {
+        if (minAmount != null && maxAmount != null && minAmount.compareTo(maxAmount) > 0) {
+            throw new BadRequestException("minAmount cannot be greater than maxAmount.");
+        }
+        if (dateFrom != null && dateTo != null && dateFrom.isAfter(dateTo)) {
+            throw new BadRequestException("dateFrom cannot be after dateTo.");
+        }
+    }
+
+    /**
+     * A request's amount in cents ({@link Money}).
+     */
+    static long amount(BigDecimal amount) {
+        try {
+            return Money.of(amount);
+        } catch (ArithmeticException e) {
+            throw new BadRequestException("amount must not exceed " + Money.toDecimal(Money.MAX) + ".", e);
+        }
+    }
+
+    /**
+     * The requested ids in order, each once.
+     */
+    static List<Long> distinctIds(List<Long> ids) {
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new BadRequestException("ids must not contain empty values.");
+        }
+        return List.copyOf(new LinkedHashSet<>(ids));
+    }
+}
@@ -1,44 +1,29 @@
 package com.example.orders.service;
 
-import com.example.orders.model.Order;
-import com.example.orders.model.OrderStatus;
-import com.example.orders.repository.OrderRepository;
-import com.example.orders.spec.OrderSpecifications;
 import com.example.orders.dto.CreateOrderRequest;
+import com.example.orders.dto.CursorPagedResponse;
+import com.example.orders.dto.OrderFilter;
+import com.example.orders.dto.OrderLookupResponse;
 import com.example.orders.dto.OrderResponse;
 import com.example.orders.dto.PagedResponse;
-import com.example.orders.exception.BadRequestException;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
-import org.springframework.stereotype.Service;
-import java.math.BigDecimal;
-import java.time.LocalDate;
+import com.example.orders.dto.SliceResponse;
 import com.example.orders.dto.UpdateOrderRequest;
-import com.example.orders.exception.NotFoundException;
-
-
-@Service
-public class OrderService {
+import com.example.orders.model.OrderStatus;
 
-    private final OrderRepository orderRepository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
 
-    public OrderService(OrderRepository orderRepository) {
-        this.orderRepository = orderRepository;
-    }
+/**
+ * Reads and writes of single orders and order listings, as served by {@code /orders}. Implemented on the SQL database
+ * ({@link JdbcOrderService}) or, with {@code orders.storage.engine=memory}, on the in-memory columnar store
+ * ({@link ColumnarOrderService}); both answer alike, including errors.
+ */
+public interface OrderService {
 
-    public OrderResponse createOrder(CreateOrderRequest request) {
-        Order order = Order.builder()
-                .customerName(request.getCustomerName())
-                .status(request.getStatus() != null ? request.getStatus() : OrderStatus.NEW)
-                .amount(request.getAmount())
-                .build();
+    OrderResponse createOrder(CreateOrderRequest request);
 
-        Order savedOrder = orderRepository.save(order);
-        return mapToOrderResponse(savedOrder);
-    }
-    public PagedResponse<OrderResponse> getOrders(
+    default PagedResponse<OrderResponse> getOrders(
             int page,
             int limit,
             OrderStatus status,
@@ -46,86 +31,55 @@ public class OrderService {
             BigDecimal maxAmount,
             LocalDate dateFrom,
             LocalDate dateTo) {
-
-        validatePaginationParams(page, limit);
-        validateFilterParams(minAmount, maxAmount, dateFrom, dateTo);
-
-        Pageable pageable = PageRequest.of(page - 1, limit, Sort.by("createdAt").descending());
-        var spec = OrderSpecifications.build(status, minAmount, maxAmount, dateFrom, dateTo);
-        Page<Order> orderPage = orderRepository.findAll(spec, pageable);
-
-        var orderResponses = orderPage.getContent().stream()
-                .map(this::mapToOrderResponse)
-                .toList();
-
-        return new PagedResponse<>(
-                orderResponses,
-                page,
-                limit,
-                orderPage.getTotalElements(),
-                orderPage.getTotalPages()
-        );
-    }
-    private void validatePaginationParams(int page, int limit) {
-        if (page < 1) {
-            throw new BadRequestException("Page number must be at least 1.");
-        }
-        if (limit < 1 || limit > 100) {
-            throw new BadRequestException("Limit must be between 1 and 100.");
-        }
-    }
-    private void validateFilterParams(
-            java.math.BigDecimal minAmount,
-            java.math.BigDecimal maxAmount,
-            java.time.LocalDate dateFrom,
-            java.time.LocalDate dateTo) {
-        if (minAmount != null && maxAmount != null && minAmount.compareTo(maxAmount) > 0) {
-            throw new BadRequestException("minAmount cannot be greater than maxAmount.");
-        }
-        if (dateFrom != null && dateTo != null && dateFrom.isAfter(dateTo)) {
-            throw new BadRequestException("dateFrom cannot be after dateTo.");
-        }
-    }
-    private OrderResponse mapToOrderResponse(Order order) {
-        return new OrderResponse(
-                order.getId(),
-                order.getCustomerName(),
-                order.getStatus(),
-                order.getAmount(),
-                order.getCreatedAt()
-        );
+        return getOrders(page, limit, new OrderFilter(status, minAmount, maxAmount, dateFrom, dateTo, null, null));
     }
 
-    public OrderResponse getById(Long id) {
-        Order order = orderRepository.findById(id)
-                .orElseThrow(() -> new NotFoundException("Order not found: " + id));
-        return mapToOrderResponse(order);
+    /**
+     * Offset pagination, newest first, with {@code totalItems}.
+     */
+    PagedResponse<OrderResponse> getOrders(int page, int limit, OrderFilter filter);
+
+    /**
+     * Offset pagination without the companion COUNT(*) query: reports only whether a next page exists.
+     * Totals are computed only when the caller explicitly asks for them.
+     */
+    SliceResponse<OrderResponse> getOrderSlice(OrderFilter filter, int page, int limit, boolean includeTotal);
+
+    /**
+     * Keyset (cursor) pagination: seeks past the cursor instead of skipping rows with OFFSET,
+     * so every page costs the same regardless of its depth. No count query is issued.
+     */
+    CursorPagedResponse<OrderResponse> getOrdersByCursor(OrderFilter filter, String cursor, int limit);
+
+    OrderResponse getById(Long id);
+
+    /**
+     * Current version of the order, for answering conditional requests without building the order.
+     */
+    long getVersion(Long id);
+
+    /**
+     * Orders by id, in the order requested and each id once. Ids without an order are reported as missing instead of
+     * failing the request.
+     */
+    OrderLookupResponse getByIds(List<Long> ids);
+
+    default OrderResponse update(Long id, UpdateOrderRequest req) {
+        return update(id, req, null);
     }
 
-    public OrderResponse update(Long id, UpdateOrderRequest req) {
-        Order order = orderRepository.findById(id)
-                .orElseThrow(() -> new NotFoundException("Order not found: " + id));
-
-        if (req.getCustomerName() != null) {
-            order.setCustomerName(req.getCustomerName());
-        }
-        if (req.getAmount() != null) {
-            order.setAmount(req.getAmount());
-        }
-        if (req.getStatus() != null) {
-            order.setStatus(req.getStatus());
-        }
+    /**
+     * Partial update: only the non-null fields are written. With {@code expectedVersions} (from If-Match) the write
+     * only happens if the current version is one of them.
+     */
+    OrderResponse update(Long id, UpdateOrderRequest req, List<Long> expectedVersions);
 
-        Order saved = orderRepository.save(order);
-        return mapToOrderResponse(saved);
+    default void delete(Long id) {
+        delete(id, null);
     }
 
-    public void delete(Long id) {
-        if (!orderRepository.existsById(id)) {
-            throw new NotFoundException("Order not found: " + id);
-        }
-        orderRepository.deleteById(id);
-    }
-
-
+    /**
+     * Deletes the order; with {@code expectedVersions} only if it still has one of them.
+     */
+    void delete(Long id, List<Long> expectedVersions);
 }
@@ -0,0 +1,230 @@
+package com.example.orders.service;
+
+import com.example.orders.config.ConditionalOnJdbcStorage;
+import com.example.orders.dto.OrderFilter;
+import com.example.orders.dto.OrderStatsBucket;
+import com.example.orders.dto.OrderStatsResponse;
+import com.example.orders.exception.BadRequestException;
+import com.example.orders.model.Order;
+import com.example.orders.model.OrderStatus;
+import com.example.orders.repository.OrderStatsRepository;
+import com.example.orders.repository.OrderUpdate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Order statistics for {@code GET /orders/stats}, served from the {@code order_daily_stats} rollup.
+ * <p>
+ * The {@code record*} methods keep the rollup in step with the orders table and must be called inside the
+ * transaction that writes the orders. Status and date filters map onto rollup buckets; amount filters cannot,
+ * and those requests are aggregated from {@code orders} instead (still grouped in the database), plus
+ * {@code orders_archive} when the date range reaches archived months. Archived orders stay in the rollup.
+ */
+@Service
+@ConditionalOnJdbcStorage
+public class OrderStatsService {
+
+    private final OrderStatsRepository orderStatsRepository;
+    private final OrderCounters orderCounters;
+    private final OrderArchive orderArchive;
+
+    public OrderStatsService(OrderStatsRepository orderStatsRepository, OrderCounters orderCounters,
+                             OrderArchive orderArchive) {
+        this.orderStatsRepository = orderStatsRepository;
+        this.orderCounters = orderCounters;
+        this.orderArchive = orderArchive;
+    }
+
+    /**
+     * Adds new orders, one statement per (day, status, shard) rollup row they fall into, in row order.
+     */
+    public void recordCreated(Collection<Order> orders) {
+        Map<Bucket, List<Order>> buckets = orders.stream()
+                .collect(Collectors.groupingBy(Bucket::of, TreeMap::new, Collectors.toList()));
+        buckets.forEach((bucket, bucketOrders) -> {
+            long sum = 0;
+            long min = Long.MAX_VALUE;
+            long max = Long.MIN_VALUE;
+            for (Order order : bucketOrders) {
+                sum = Math.addExact(sum, order.getAmount());
+                min = Math.min(min, order.getAmount());
+                max = Math.max(max, order.getAmount());
+            }
+            orderStatsRepository.add(bucket.day(), bucket.status(), bucket.shard(), bucketOrders.size(), sum, min, max);
+            orderCounters.addAfterCommit(bucket.status(), bucketOrders.size());
+        });
+    }
+
+    /**
+     * Moves an updated order to its new bucket; nothing to do unless its status or amount changed.
+     */
+    public void recordUpdated(OrderUpdate update) {
+        Order order = update.order();
+        if (order.getStatus() == update.previousStatus() && order.getAmount() == update.previousAmount()) {
+            return;
+        }
+        LocalDate day = day(order.getCreatedAt());
+        int shard = OrderStatsRepository.shard(order.getId());
+        Bucket from = new Bucket(day, update.previousStatus(), shard);
+        Bucket to = new Bucket(day, order.getStatus(), shard);
+        long amount = order.getAmount();
+        // The first statement on each row locks it; rows are taken in order, so that an update the other way
+        // round cannot hold the second one while waiting for the first.
+        if (from.compareTo(to) <= 0) {
+            orderStatsRepository.remove(day, update.previousStatus(), shard, update.previousAmount());
+            orderStatsRepository.add(day, order.getStatus(), shard, 1, amount, amount, amount);
+        } else {
+            orderStatsRepository.add(day, order.getStatus(), shard, 1, amount, amount, amount);
+            orderStatsRepository.remove(day, update.previousStatus(), shard, update.previousAmount());
+        }
+        if (order.getStatus() != update.previousStatus()) {
+            orderCounters.addAfterCommit(update.previousStatus(), -1);
+            orderCounters.addAfterCommit(order.getStatus(), 1);
+        }
+    }
+
+    /**
+     * Moves orders whose status was set to {@code status} in bulk. {@code previous} are their bucket shards before
+     * the update ({@link OrderStatsRepository#aggregateOrders(Collection)}); must be called after the update.
+     */
+    public void recordStatusChanged(List<OrderStatsBucket> previous, OrderStatus status) {
+        if (previous.isEmpty()) {
+            return;
+        }
+        Map<Bucket, OrderStatsBucket> moved = new TreeMap<>();
+        for (OrderStatsBucket bucket : previous) {
+            moved.merge(new Bucket(bucket.getDay(), status, bucket.getShard()), new OrderStatsBucket(bucket.getDay(),
+                    status, bucket.getCount(), bucket.getSum(), bucket.getMin(), bucket.getMax(), bucket.getShard()),
+                    OrderStatsService::combine);
+            orderCounters.addAfterCommit(bucket.getStatus(), -bucket.getCount());
+            orderCounters.addAfterCommit(status, bucket.getCount());
+        }
+        // Source and target rows interleave in key order; lock them all in that order before adjusting any.
+        List<OrderStatsBucket> affected = new ArrayList<>(previous);
+        affected.addAll(moved.values());
+        orderStatsRepository.lock(affected);
+        orderStatsRepository.removeAll(previous);
+        orderStatsRepository.addAll(new ArrayList<>(moved.values()));
+    }
+
+    public void recordDeleted(Order order) {
+        orderStatsRepository.remove(day(order.getCreatedAt()), order.getStatus(),
+                OrderStatsRepository.shard(order.getId()), order.getAmount());
+        orderCounters.addAfterCommit(order.getStatus(), -1);
+    }
+
+    /**
+     * Exact number of orders with {@code status} (if not null) created in the day range, read from the rollup
+     * in the caller's transaction: at most (days x statuses) rows instead of a count over {@code orders}.
+     */
+    public long countOrders(OrderStatus status, LocalDate dateFrom, LocalDate dateTo) {
+        return orderStatsRepository.countOrders(status, dateFrom, dateTo);
+    }
+
+    /**
+     * Estimated number of orders with {@code status}, or of all orders, from the in-memory {@link OrderCounters}.
+     */
+    public OptionalLong estimateOrders(OrderStatus status) {
+        return orderCounters.count(status);
+    }
+
+    @Transactional(readOnly = true)
+    public OrderStatsResponse getStats(OrderFilter filter) {
+        if (filter.getDateFrom() != null && filter.getDateTo() != null && filter.getDateFrom().isAfter(filter.getDateTo())) {
+            throw new BadRequestException("dateFrom must be <= dateTo");
+        }
+        boolean rollup = filter.getMinAmount() == null && filter.getMaxAmount() == null
+                && (filter.getCustomer() == null || filter.getCustomer().isBlank());
+        List<OrderStatsBucket> buckets = rollup
+                ? orderStatsRepository.findBuckets(filter.getStatus(), filter.getDateFrom(), filter.getDateTo())
+                : aggregateOrders(filter);
+
+        Map<OrderStatus, List<OrderStatsBucket>> byStatus = new EnumMap<>(OrderStatus.class);
+        Map<LocalDate, List<OrderStatsBucket>> byDay = new TreeMap<>();
+        for (OrderStatsBucket bucket : buckets) {
+            byStatus.computeIfAbsent(bucket.getStatus(), s -> new ArrayList<>()).add(bucket);
+            byDay.computeIfAbsent(bucket.getDay(), d -> new ArrayList<>()).add(bucket);
+        }
+        return OrderStatsResponse.builder()
+                .total(merge(buckets, null, null))
+                .byStatus(merged(byStatus, status -> null, status -> status))
+                .byDay(merged(byDay, day -> day, day -> null))
+                .build();
+    }
+
+    // Buckets are merged per day and status below, so those of both tables can simply be listed together.
+    private List<OrderStatsBucket> aggregateOrders(OrderFilter filter) {
+        List<OrderStatsBucket> buckets = orderArchive.holdsAll(filter)
+                ? List.of() : orderStatsRepository.aggregateOrders(filter);
+        if (!orderArchive.mayHold(filter)) {
+            return buckets;
+        }
+        List<OrderStatsBucket> all = new ArrayList<>(buckets);
+        all.addAll(orderStatsRepository.aggregateArchivedOrders(filter));
+        return all;
+    }
+
+    private static <K> List<OrderStatsBucket> merged(Map<K, List<OrderStatsBucket>> groups,
+                                                     Function<K, LocalDate> day, Function<K, OrderStatus> status) {
+        List<OrderStatsBucket> result = new ArrayList<>(groups.size());
+        groups.forEach((key, buckets) -> result.add(merge(buckets, day.apply(key), status.apply(key))));
+        return result;
+    }
+
+    private static OrderStatsBucket merge(List<OrderStatsBucket> buckets, LocalDate day, OrderStatus status) {
+        long count = 0;
+        BigDecimal sum = BigDecimal.ZERO;
+        BigDecimal min = null;
+        BigDecimal max = null;
+        for (OrderStatsBucket bucket : buckets) {
+            count += bucket.getCount();
+            sum = sum.add(bucket.getSum());
+            min = min == null || bucket.getMin().compareTo(min) < 0 ? bucket.getMin() : min;
+            max = max == null || bucket.getMax().compareTo(max) > 0 ? bucket.getMax() : max;
+        }
+        return new OrderStatsBucket(day, status, count, sum, min, max);
+    }
+
+    private static OrderStatsBucket combine(OrderStatsBucket a, OrderStatsBucket b) {
+        OrderStatsBucket merged = merge(List.of(a, b), a.getDay(), a.getStatus());
+        return new OrderStatsBucket(merged.getDay(), merged.getStatus(), merged.getCount(), merged.getSum(),
+                merged.getMin(), merged.getMax(), a.getShard());
+    }
+
+    private static LocalDate day(Instant createdAt) {
+        return LocalDate.ofInstant(createdAt, ZoneOffset.UTC);
+    }
+
+    // A rollup row, ordered as the primary key (order_date, status, shard), which is the order rows are locked in.
+    private record Bucket(LocalDate day, OrderStatus status, int shard) implements Comparable<Bucket> {
+
+        private static final Comparator<Bucket> ORDER = Comparator.comparing(Bucket::day)
+                .thenComparing(bucket -> bucket.status().name())
+                .thenComparingInt(Bucket::shard);
+
+        static Bucket of(Order order) {
+            return new Bucket(OrderStatsService.day(order.getCreatedAt()), order.getStatus(),
+                    OrderStatsRepository.shard(order.getId()));
+        }
+
+        @Override
+        public int compareTo(Bucket other) {
+            return ORDER.compare(this, other);
+        }
+    }
+}
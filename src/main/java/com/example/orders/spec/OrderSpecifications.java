@@ -20,15 +20,26 @@ package com.example.orders.spec;
 // - Provide one method: build(status, minAmount, maxAmount, dateFrom, dateTo) that returns a single Specification<Order>
 //   combining all filters with and().
 // - Ensure the class cannot be instantiated (private constructor).
+import com.example.orders.dto.CustomerMatch;
+import com.example.orders.dto.OrderFilter;
+import com.example.orders.model.CustomerNames;
+import com.example.orders.model.Money;
 import com.example.orders.model.Order;
+import com.example.orders.model.OrderNameToken;
 import com.example.orders.model.OrderStatus;
+import com.example.orders.pagination.OrderCursor;
 import org.springframework.data.jpa.domain.Specification;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
 import java.time.Instant;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 public class OrderSpecifications {
 
@@ -48,12 +59,13 @@ public class OrderSpecifications {
             if (status != null) {
                 predicates.add(criteriaBuilder.equal(root.get("status"), status));
             }
+            // Compared in cents (Money): amounts are whole cents, so rounding the bounds inwards changes no match.
             if (minAmount != null) {
-                predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.get("amount"), minAmount));
+                predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.get("amount"), Money.atLeast(minAmount)));
             }
             if (maxAmount != null) {
                 predicates.add(
-                        criteriaBuilder.lessThanOrEqualTo(root.get("amount"), maxAmount)
+                        criteriaBuilder.lessThanOrEqualTo(root.get("amount"), Money.atMost(maxAmount))
                 );
             }
             if (dateFrom != null) {
@@ -67,4 +79,78 @@ public class OrderSpecifications {
             return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
         };
     }
+
+    public static Specification<Order> build(OrderFilter filter) {
+        Specification<Order> spec = build(
+                filter.getStatus(),
+                filter.getMinAmount(),
+                filter.getMaxAmount(),
+                filter.getDateFrom(),
+                filter.getDateTo());
+        if (filter.getCustomer() != null && !filter.getCustomer().isBlank()) {
+            spec = spec.and(customer(filter.getCustomer(), filter.getCustomerMatch()));
+        }
+        return spec;
+    }
+
+    // Customer-name search: on orders.customer_name_key for EXACT and PREFIX, through the order_name_tokens word
+    // index for WORDS (the default). There the most selective word finds the candidate orders
+    // ("id IN (orders having a word starting with ...)"); each other word is then checked per candidate through the
+    // token primary key, instead of collecting every order matching it.
+    public static Specification<Order> customer(String customer, CustomerMatch match) {
+        String key = CustomerNames.normalize(customer);
+        return (root, query, criteriaBuilder) -> {
+            switch (match != null ? match : CustomerMatch.WORDS) {
+                case EXACT:
+                    return criteriaBuilder.equal(root.get("customerNameKey"), key);
+                case PREFIX:
+                    return startsWith(criteriaBuilder, root.get("customerNameKey"), key);
+                default:
+                    List<Predicate> predicates = new ArrayList<>();
+                    for (String word : CustomerNames.searchWords(key)) {
+                        Subquery<Long> orderIds = query.subquery(Long.class);
+                        Root<OrderNameToken> token = orderIds.from(OrderNameToken.class);
+                        Predicate startsWith = startsWith(criteriaBuilder, token.get("token"), word);
+                        if (predicates.isEmpty()) {
+                            orderIds.select(token.get("orderId")).where(startsWith);
+                            predicates.add(root.get("id").in(orderIds));
+                        } else {
+                            orderIds.select(token.get("orderId"))
+                                    .where(criteriaBuilder.equal(token.get("orderId"), root.get("id")), startsWith);
+                            predicates.add(criteriaBuilder.exists(orderIds));
+                        }
+                    }
+                    return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
+            }
+        };
+    }
+
+    // The range lets any btree index seek (LIKE alone needs a pattern operator class on PostgreSQL); the LIKE keeps
+    // the match exact. The range assumes code-point order, as H2 and a "C" collation sort; on a PostgreSQL database
+    // with a linguistic default collation, customer_name_key and token must be declared COLLATE "C".
+    private static Predicate startsWith(CriteriaBuilder criteriaBuilder, Expression<String> value, String prefix) {
+        List<Predicate> predicates = new ArrayList<>(3);
+        predicates.add(criteriaBuilder.greaterThanOrEqualTo(value, prefix));
+        String upperBound = CustomerNames.prefixUpperBound(prefix);
+        if (upperBound != null) {
+            predicates.add(criteriaBuilder.lessThan(value, upperBound));
+        }
+        predicates.add(criteriaBuilder.like(value, CustomerNames.likePrefix(prefix), '\\'));
+        return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
+    }
+
+    // Keyset predicate for the (createdAt DESC, id DESC) ordering: rows strictly after the cursor.
+    public static Specification<Order> after(OrderCursor cursor) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.or(
+                criteriaBuilder.lessThan(root.get("createdAt"), cursor.getCreatedAt()),
+                criteriaBuilder.and(
+                        criteriaBuilder.equal(root.get("createdAt"), cursor.getCreatedAt()),
+                        criteriaBuilder.lessThan(root.get("id"), cursor.getId())
+                )
+        );
+    }
+
+    public static Specification<Order> idIn(Collection<Long> ids) {
+        return (root, query, criteriaBuilder) -> root.get("id").in(ids);
+    }
 }
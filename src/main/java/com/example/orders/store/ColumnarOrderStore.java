@@ -0,0 +1,546 @@
+package com.example.orders.store;
+
+import com.example.orders.dto.CustomerMatch;
+import com.example.orders.dto.OrderFilter;
+import com.example.orders.dto.OrderResponse;
+import com.example.orders.model.CustomerNames;
+import com.example.orders.model.Money;
+import com.example.orders.model.OrderStatus;
+import com.example.orders.pagination.OrderCursor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Orders held in memory column by column, for single-node deployments without a database
+ * ({@code orders.storage.engine=memory}).
+ * <p>
+ * Every field is a primitive array indexed by row: ids, versions, creation times (epoch microseconds, the precision of
+ * the SQL column), amounts ({@link Money} cents), status ordinals and customer names as ids into a dictionary holding each distinct
+ * name once. Rows are found by id through a primitive hash map, and listed through indexes holding the rows sorted by
+ * {@code (createdAt, id)}: one over all orders and one per status. A listing binary-searches its date and cursor bounds
+ * in the status index (or the full one) and walks it newest first, checking amount and customer on the columns.
+ * <p>
+ * Every write is appended to the {@link OrderLog} before it is applied, under the write lock; the store is rebuilt
+ * from the log at startup, and the log compacted then when deleted and overwritten records outnumber the live ones.
+ * Filters match exactly as on the SQL database.
+ */
+public class ColumnarOrderStore implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(ColumnarOrderStore.class);
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+    private static final byte DELETED = -1;
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+
+    private final Path logPath;
+    private final long regionSize;
+    private final boolean forceWrites;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private OrderLog orderLog;
+    private ByteBuffer record = ByteBuffer.allocate(256);
+    // Records replayed from the log, live or not; drives compaction.
+    private long replayedRecords;
+
+    // Columns, one entry per row. A deleted order's row keeps its place with status DELETED until the next startup.
+    private long[] ids;
+    private long[] versions;
+    private long[] createdAt;
+    private long[] amounts;
+    private byte[] statuses;
+    private int[] names;
+    private int rows;
+    private long lastId;
+    private final LongIntHashMap rowsById = new LongIntHashMap();
+    private final Index all = new Index();
+    private final Index[] byStatus = new Index[STATUSES.length];
+
+    // Name dictionary: the name, and its normalized search key, by name id.
+    private final List<String> nameValues = new ArrayList<>();
+    private final List<String> nameKeys = new ArrayList<>();
+    private final Map<String, Integer> nameIds = new HashMap<>();
+
+    public ColumnarOrderStore(Path logPath, long regionSize, boolean forceWrites) {
+        this.logPath = logPath;
+        this.regionSize = regionSize;
+        this.forceWrites = forceWrites;
+        for (int i = 0; i < byStatus.length; i++) {
+            byStatus[i] = new Index();
+        }
+        load();
+        if (replayedRecords > 2L * rowsById.size() && replayedRecords > INITIAL_CAPACITY) {
+            compact();
+        }
+    }
+
+    /**
+     * Live orders.
+     */
+    public int size() {
+        return read(rowsById::size);
+    }
+
+    public Optional<OrderResponse> findById(long id) {
+        return read(() -> {
+            int row = rowsById.get(id);
+            return row == LongIntHashMap.MISSING ? Optional.empty() : Optional.of(response(row));
+        });
+    }
+
+    public OptionalLong findVersion(long id) {
+        return read(() -> {
+            int row = rowsById.get(id);
+            return row == LongIntHashMap.MISSING ? OptionalLong.empty() : OptionalLong.of(versions[row]);
+        });
+    }
+
+    public boolean existsById(long id) {
+        return read(() -> rowsById.get(id) != LongIntHashMap.MISSING);
+    }
+
+    /**
+     * Orders matching the filter, newest first ({@code createdAt DESC, id DESC}), after the cursor if given, skipping
+     * {@code offset} of them.
+     */
+    public List<OrderResponse> find(OrderFilter filter, OrderCursor after, long offset, int limit) {
+        return read(() -> {
+            Query query = new Query(filter, after);
+            List<OrderResponse> page = new ArrayList<>(Math.min(limit, query.to - query.from));
+            long skip = offset;
+            for (int i = query.to - 1; i >= query.from && page.size() < limit; i--) {
+                int row = query.index.rows[i];
+                if (query.matches(row) && skip-- <= 0) {
+                    page.add(response(row));
+                }
+            }
+            return page;
+        });
+    }
+
+    public long count(OrderFilter filter) {
+        return read(() -> {
+            Query query = new Query(filter, null);
+            if (!query.checksRows()) {
+                return (long) (query.to - query.from);
+            }
+            long count = 0;
+            for (int i = query.from; i < query.to; i++) {
+                if (query.matches(query.index.rows[i])) {
+                    count++;
+                }
+            }
+            return count;
+        });
+    }
+
+    /**
+     * Adds an order of {@code amountMinor} cents ({@link Money}) with the next id, created now.
+     */
+    public OrderResponse insert(String customerName, OrderStatus status, long amountMinor) {
+        checkAmount(amountMinor);
+        return write(() -> {
+            long id = lastId + 1;
+            int row = put(id, 0, toMicros(Instant.now()), amountMinor, status, customerName);
+            return response(row);
+        });
+    }
+
+    /**
+     * Overwrites the given fields (null keeps the current value; the amount in cents) and increments the version; with
+     * {@code expectedVersions}, only if the current version is one of them.
+     *
+     * @return the updated order, or empty if there is no such order or its version did not match
+     */
+    public Optional<OrderResponse> update(long id, String customerName, Long amountMinor, OrderStatus status,
+                                          List<Long> expectedVersions) {
+        if (amountMinor != null) {
+            checkAmount(amountMinor);
+        }
+        return write(() -> {
+            int row = rowsById.get(id);
+            if (row == LongIntHashMap.MISSING
+                    || (expectedVersions != null && !expectedVersions.contains(versions[row]))) {
+                return Optional.empty();
+            }
+            int updated = put(id, versions[row] + 1, createdAt[row],
+                    amountMinor != null ? amountMinor : amounts[row],
+                    status != null ? status : STATUSES[statuses[row]],
+                    customerName != null ? customerName : nameValues.get(names[row]));
+            return Optional.of(response(updated));
+        });
+    }
+
+    /**
+     * Deletes the order; with {@code expectedVersions}, only if its version is one of them.
+     *
+     * @return whether it was deleted
+     */
+    public boolean delete(long id, List<Long> expectedVersions) {
+        return write(() -> {
+            int row = rowsById.get(id);
+            if (row == LongIntHashMap.MISSING
+                    || (expectedVersions != null && !expectedVersions.contains(versions[row]))) {
+                return false;
+            }
+            ByteBuffer payload = buffer(1 + Long.BYTES);
+            payload.put(REMOVE).putLong(id).flip();
+            orderLog.append(payload);
+            applyRemove(id);
+            return true;
+        });
+    }
+
+    @Override
+    public void close() throws IOException {
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            orderLog.close();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Writes the order's full state to the log, then applies it.
+    private int put(long id, long version, long micros, long amountMinor, OrderStatus status, String customerName) {
+        byte[] name = customerName.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer payload = buffer(1 + 4 * Long.BYTES + 1 + Integer.BYTES + name.length);
+        payload.put(PUT).putLong(id).putLong(version).putLong(micros).putLong(amountMinor)
+                .put((byte) status.ordinal()).putInt(name.length).put(name).flip();
+        orderLog.append(payload);
+        return applyPut(id, version, micros, amountMinor, (byte) status.ordinal(), customerName);
+    }
+
+    private ByteBuffer buffer(int size) {
+        if (record.capacity() < size) {
+            record = ByteBuffer.allocate(Math.max(size, record.capacity() * 2));
+        }
+        return record.clear().limit(size);
+    }
+
+    private void load() {
+        reset();
+        orderLog = OrderLog.open(logPath, regionSize, forceWrites, this::apply);
+        log.info("Loaded {} orders from {} log records in {}", rowsById.size(), replayedRecords, logPath);
+    }
+
+    // Rewrites the log with one record per live order, and reloads from it so that the columns lose their dead rows.
+    private void compact() {
+        try {
+            orderLog.close();
+        } catch (IOException e) {
+            log.warn("Could not close the order log before compacting it", e);
+        }
+        OrderLog.rewrite(logPath, regionSize, compacted -> {
+            for (int i = 0; i < all.size; i++) {
+                int row = all.rows[i];
+                byte[] name = nameValues.get(names[row]).getBytes(StandardCharsets.UTF_8);
+                ByteBuffer payload = ByteBuffer.allocate(1 + 4 * Long.BYTES + 1 + Integer.BYTES + name.length);
+                payload.put(PUT).putLong(ids[row]).putLong(versions[row]).putLong(createdAt[row]).putLong(amounts[row])
+                        .put(statuses[row]).putInt(name.length).put(name).flip();
+                compacted.append(payload);
+            }
+            if (rowsById.get(lastId) == LongIntHashMap.MISSING) {
+                // Keeps the deleted newest id from being handed out again.
+                compacted.append(ByteBuffer.allocate(1 + Long.BYTES).put(REMOVE).putLong(lastId).flip());
+            }
+        });
+        long before = replayedRecords;
+        load();
+        log.info("Compacted the order log from {} to {} records", before, replayedRecords);
+    }
+
+    private void reset() {
+        ids = new long[INITIAL_CAPACITY];
+        versions = new long[INITIAL_CAPACITY];
+        createdAt = new long[INITIAL_CAPACITY];
+        amounts = new long[INITIAL_CAPACITY];
+        statuses = new byte[INITIAL_CAPACITY];
+        names = new int[INITIAL_CAPACITY];
+        rows = 0;
+        lastId = 0;
+        replayedRecords = 0;
+        rowsById.clear();
+        all.clear();
+        for (Index index : byStatus) {
+            index.clear();
+        }
+        nameValues.clear();
+        nameKeys.clear();
+        nameIds.clear();
+    }
+
+    private void apply(ByteBuffer payload) {
+        replayedRecords++;
+        byte type = payload.get();
+        long id = payload.getLong();
+        lastId = Math.max(lastId, id);
+        if (type == REMOVE) {
+            applyRemove(id);
+            return;
+        }
+        long version = payload.getLong();
+        long micros = payload.getLong();
+        long amountMinor = payload.getLong();
+        byte status = payload.get();
+        byte[] name = new byte[payload.getInt()];
+        payload.get(name);
+        applyPut(id, version, micros, amountMinor, status, new String(name, StandardCharsets.UTF_8));
+    }
+
+    private int applyPut(long id, long version, long micros, long amountMinor, byte status, String customerName) {
+        int row = rowsById.get(id);
+        if (row == LongIntHashMap.MISSING) {
+            if (rows == ids.length) {
+                grow();
+            }
+            row = rows++;
+            ids[row] = id;
+            createdAt[row] = micros;
+            statuses[row] = status;
+            rowsById.put(id, row);
+            all.add(row);
+            byStatus[status].add(row);
+            lastId = Math.max(lastId, id);
+        } else if (statuses[row] != status) {
+            byStatus[statuses[row]].remove(row);
+            statuses[row] = status;
+            byStatus[status].add(row);
+        }
+        versions[row] = version;
+        amounts[row] = amountMinor;
+        names[row] = nameId(customerName);
+        return row;
+    }
+
+    private void applyRemove(long id) {
+        int row = rowsById.get(id);
+        if (row == LongIntHashMap.MISSING) {
+            return;
+        }
+        all.remove(row);
+        byStatus[statuses[row]].remove(row);
+        statuses[row] = DELETED;
+        rowsById.remove(id);
+    }
+
+    private void grow() {
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        versions = Arrays.copyOf(versions, capacity);
+        createdAt = Arrays.copyOf(createdAt, capacity);
+        amounts = Arrays.copyOf(amounts, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+        names = Arrays.copyOf(names, capacity);
+    }
+
+    private int nameId(String name) {
+        Integer id = nameIds.get(name);
+        if (id == null) {
+            id = nameValues.size();
+            nameValues.add(name);
+            nameKeys.add(CustomerNames.normalize(name));
+            nameIds.put(name, id);
+        }
+        return id;
+    }
+
+    private OrderResponse response(int row) {
+        return OrderResponse.builder()
+                .id(ids[row])
+                .customerName(nameValues.get(names[row]))
+                .status(STATUSES[statuses[row]])
+                .amount(amounts[row])
+                .createdAt(toInstant(createdAt[row]))
+                .version(versions[row])
+                .build();
+    }
+
+    private <T> T read(Supplier<T> reader) {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            return reader.get();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private <T> T write(Supplier<T> writer) {
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            return writer.get();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private static void checkAmount(long amountMinor) {
+        if (Math.abs(amountMinor) > Money.MAX) {
+            throw new IllegalArgumentException("Amount exceeds " + Money.toDecimal(Money.MAX) + ": " + amountMinor);
+        }
+    }
+
+    private static long toMicros(Instant instant) {
+        return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000L), instant.getNano() / 1_000);
+    }
+
+    private static Instant toInstant(long micros) {
+        return Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000L), Math.floorMod(micros, 1_000_000L) * 1_000L);
+    }
+
+    private static long startOf(LocalDate day) {
+        return toMicros(day.atStartOfDay(ZoneOffset.UTC).toInstant());
+    }
+
+    /**
+     * One listing's scan: positions {@code [from, to)} of an index, and the row checks its bounds do not cover.
+     */
+    private final class Query {
+
+        final Index index;
+        final int from;
+        final int to;
+        private final long minAmount;
+        private final long maxAmount;
+        private final CustomerMatch customerMatch;
+        private final String customer;
+        private final List<String> words;
+        // Per name id: 0 not checked yet, 1 matches, 2 does not.
+        private final byte[] nameMatches;
+
+        Query(OrderFilter filter, OrderCursor after) {
+            index = filter.getStatus() != null ? byStatus[filter.getStatus().ordinal()] : all;
+            int start = 0;
+            int end = index.size;
+            if (filter.getDateFrom() != null) {
+                start = index.lowerBound(startOf(filter.getDateFrom()), Long.MIN_VALUE);
+            }
+            if (filter.getDateTo() != null) {
+                end = index.lowerBound(startOf(filter.getDateTo().plusDays(1)), Long.MIN_VALUE);
+            }
+            if (after != null) {
+                long micros = toMicros(after.getCreatedAt());
+                // Between two microseconds, every order of the earlier one sorts before the cursor.
+                end = Math.min(end, after.getCreatedAt().getNano() % 1_000 == 0
+                        ? index.lowerBound(micros, after.getId())
+                        : index.lowerBound(micros + 1, Long.MIN_VALUE));
+            }
+            from = start;
+            to = Math.max(start, end);
+            minAmount = filter.getMinAmount() == null ? Long.MIN_VALUE : Money.atLeast(filter.getMinAmount());
+            maxAmount = filter.getMaxAmount() == null ? Long.MAX_VALUE : Money.atMost(filter.getMaxAmount());
+
+            boolean byCustomer = filter.getCustomer() != null && !filter.getCustomer().isBlank();
+            customer = byCustomer ? CustomerNames.normalize(filter.getCustomer()) : null;
+            customerMatch = !byCustomer ? null
+                    : filter.getCustomerMatch() != null ? filter.getCustomerMatch() : CustomerMatch.WORDS;
+            words = customerMatch == CustomerMatch.WORDS ? CustomerNames.searchWords(customer) : List.of();
+            nameMatches = customerMatch == null ? null : new byte[nameValues.size()];
+        }
+
+        boolean checksRows() {
+            return minAmount != Long.MIN_VALUE || maxAmount != Long.MAX_VALUE || customerMatch != null;
+        }
+
+        boolean matches(int row) {
+            long amount = amounts[row];
+            if (amount < minAmount || amount > maxAmount) {
+                return false;
+            }
+            if (customerMatch == null) {
+                return true;
+            }
+            int name = names[row];
+            if (nameMatches[name] == 0) {
+                nameMatches[name] = matchesCustomer(nameKeys.get(name)) ? (byte) 1 : (byte) 2;
+            }
+            return nameMatches[name] == 1;
+        }
+
+        private boolean matchesCustomer(String key) {
+            switch (customerMatch) {
+                case EXACT:
+                    return key.equals(customer);
+                case PREFIX:
+                    return key.startsWith(customer);
+                default:
+                    String spaced = " " + key;
+                    for (String word : words) {
+                        if (!spaced.contains(" " + word)) {
+                            return false;
+                        }
+                    }
+                    return true;
+            }
+        }
+    }
+
+    /**
+     * Rows sorted by {@code (createdAt, id)}, oldest first.
+     */
+    private final class Index {
+
+        int[] rows = new int[INITIAL_CAPACITY];
+        int size;
+
+        void add(int row) {
+            int at = lowerBound(createdAt[row], ids[row]);
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+            }
+            System.arraycopy(rows, at, rows, at + 1, size - at);
+            rows[at] = row;
+            size++;
+        }
+
+        void remove(int row) {
+            int at = lowerBound(createdAt[row], ids[row]);
+            System.arraycopy(rows, at + 1, rows, at, size - at - 1);
+            size--;
+        }
+
+        void clear() {
+            rows = new int[INITIAL_CAPACITY];
+            size = 0;
+        }
+
+        /**
+         * The first position whose row sorts at or after {@code (micros, id)}.
+         */
+        int lowerBound(long micros, long id) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                int row = rows[mid];
+                if (createdAt[row] < micros || (createdAt[row] == micros && ids[row] < id)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
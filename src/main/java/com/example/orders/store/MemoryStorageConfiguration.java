@@ -0,0 +1,23 @@
+package com.example.orders.store;
+
+import com.example.orders.config.ConditionalOnMemoryStorage;
+import com.example.orders.config.OrdersProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * The in-memory columnar store, with {@code orders.storage.engine=memory}. Closed (and its log forced) on shutdown.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnMemoryStorage
+class MemoryStorageConfiguration {
+
+    @Bean
+    ColumnarOrderStore columnarOrderStore(OrdersProperties properties) {
+        OrdersProperties.Storage.Memory config = properties.getStorage().getMemory();
+        return new ColumnarOrderStore(Path.of(config.getLog()), config.getRegionSize().toBytes(),
+                config.isForceWrites());
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.orders.store;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only record log of the {@link ColumnarOrderStore}, written through memory-mapped regions of the file.
+ * <p>
+ * A record is {@code int length, int crc32c, payload}; a length of 0 ends the log, and {@link #SKIP} (or a region end
+ * too close for a header) continues it at the next region, so that no record spans two mappings. Reading stops at the
+ * first record whose length or checksum does not hold. When that is the end of the log, a crash tore the last write:
+ * the rest of that region is zeroed and appending resumes from there. When a later region still starts with an intact
+ * record, the damage is in the middle of the log instead, and opening fails rather than drop every record after it.
+ */
+final class OrderLog implements Closeable {
+
+    private static final int HEADER = 8;
+    private static final int SKIP = -1;
+
+    private final FileChannel channel;
+    private final long regionSize;
+    private final boolean forceWrites;
+    private final CRC32C crc = new CRC32C();
+    private MappedByteBuffer region;
+    private long regionStart;
+
+    private OrderLog(FileChannel channel, long regionSize, boolean forceWrites) {
+        this.channel = channel;
+        this.regionSize = regionSize;
+        this.forceWrites = forceWrites;
+    }
+
+    /**
+     * Opens (or creates) the log, passing every intact record's payload to {@code replay} in order.
+     */
+    static OrderLog open(Path path, long regionSize, boolean forceWrites, Consumer<ByteBuffer> replay) {
+        if (regionSize < HEADER * 2 || regionSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Log region size must be between 16 bytes and 2 GB: " + regionSize);
+        }
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            OrderLog log = new OrderLog(channel, regionSize, forceWrites);
+            try {
+                log.replay(path, replay);
+            } catch (RuntimeException | IOException e) {
+                channel.close();
+                throw e;
+            }
+            return log;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open the order log " + path, e);
+        }
+    }
+
+    /**
+     * Writes a new log at {@code path} holding the records {@code writer} appends, replacing the current file only
+     * once the new one is complete and forced.
+     */
+    static void rewrite(Path path, long regionSize, Consumer<OrderLog> writer) {
+        Path temporary = path.resolveSibling(path.getFileName() + ".compact");
+        try {
+            Files.deleteIfExists(temporary);
+            try (OrderLog log = open(temporary, regionSize, false, payload -> { })) {
+                writer.accept(log);
+            }
+            Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not rewrite the order log " + path, e);
+        }
+    }
+
+    /**
+     * Appends one record; with {@code force-writes} it is on the device when this returns.
+     */
+    void append(ByteBuffer payload) {
+        int length = payload.remaining();
+        if (length == 0 || length > regionSize - HEADER) {
+            throw new IllegalArgumentException("Log record of " + length + " bytes does not fit a region");
+        }
+        if (region.remaining() < HEADER + length) {
+            if (region.remaining() >= Integer.BYTES) {
+                region.putInt(region.position(), SKIP);
+            }
+            map(regionStart + regionSize);
+        }
+        int start = region.position();
+        crc.reset();
+        crc.update(payload.duplicate());
+        region.putInt(start + Integer.BYTES, (int) crc.getValue());
+        region.put(start + HEADER, payload, payload.position(), length);
+        // The length goes last: until it is written, the record reads as the end of the log.
+        region.putInt(start, length);
+        region.position(start + HEADER + length);
+        if (forceWrites) {
+            region.force(start, HEADER + length);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (region != null) {
+                region.force();
+            }
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void replay(Path path, Consumer<ByteBuffer> replay) throws IOException {
+        map(0);
+        while (true) {
+            int position = region.position();
+            int length = region.remaining() < HEADER ? SKIP : region.getInt(position);
+            if (length == SKIP) {
+                if (regionStart + regionSize >= channel.size()) {
+                    break;
+                }
+                map(regionStart + regionSize);
+                continue;
+            }
+            if (length <= 0 || length > region.remaining() - HEADER) {
+                break;
+            }
+            ByteBuffer payload = region.slice(position + HEADER, length);
+            crc.reset();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != region.getInt(position + Integer.BYTES)) {
+                break;
+            }
+            replay.accept(payload);
+            region.position(position + HEADER + length);
+        }
+        long intact = firstRecordAfter(regionStart + regionSize);
+        if (intact >= 0) {
+            throw new IllegalStateException("The order log " + path + " is damaged at offset "
+                    + (regionStart + region.position()) + " but has intact records from offset " + intact
+                    + "; it was left unchanged and must be restored before the store can open");
+        }
+        // Clears a torn record (and anything after it), so that appending resumes on zeroes.
+        for (int i = region.position(); i < region.limit(); i++) {
+            if (region.get(i) != 0) {
+                region.put(i, (byte) 0);
+            }
+        }
+        region.force();
+        channel.truncate(regionStart + regionSize);
+    }
+
+    /**
+     * Offset of the first region from {@code start} on that begins with an intact record, or -1 if there is none.
+     */
+    private long firstRecordAfter(long start) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER);
+        for (long at = start; at + HEADER <= channel.size(); at += regionSize) {
+            header.clear();
+            read(header, at);
+            int length = header.getInt(0);
+            if (length <= 0 || length > regionSize - HEADER || at + HEADER + length > channel.size()) {
+                continue;
+            }
+            ByteBuffer payload = ByteBuffer.allocate(length);
+            read(payload, at + HEADER);
+            crc.reset();
+            crc.update(payload.flip());
+            if ((int) crc.getValue() == header.getInt(Integer.BYTES)) {
+                return at;
+            }
+        }
+        return -1;
+    }
+
+    private void read(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of the order log at " + (position + buffer.position()));
+            }
+        }
+    }
+
+    private void map(long start) {
+        try {
+            // Mapping past the end of the file grows it to the region's end.
+            region = channel.map(FileChannel.MapMode.READ_WRITE, start, regionSize);
+            regionStart = start;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not map the order log at " + start, e);
+        }
+    }
+}
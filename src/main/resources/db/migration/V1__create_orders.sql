@@ -0,0 +1,14 @@
+-- Orders table as previously generated by Hibernate (ddl-auto), now owned by Flyway.
+-- Ids come from a sequence with the same increment as the entity's allocationSize (pooled optimizer).
+CREATE SEQUENCE orders_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE orders (
+    id            BIGINT                      NOT NULL,
+    version       BIGINT                      NOT NULL,
+    customer_name VARCHAR(255)                NOT NULL,
+    status        VARCHAR(255)                NOT NULL,
+    amount        NUMERIC(12, 2)              NOT NULL,
+    created_at    TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_orders PRIMARY KEY (id),
+    CONSTRAINT ck_orders_status CHECK (status IN ('NEW', 'PAID', 'SHIPPED', 'CANCELLED'))
+);
@@ -0,0 +1,10 @@
+-- Indexes for the filters of OrderSpecifications.build and the listing sort (created_at DESC, id DESC).
+--
+-- No filter / date range only / keyset cursor: walk created_at in sort order, no sort step.
+CREATE INDEX idx_orders_created_at_id ON orders (created_at DESC, id DESC);
+
+-- status (optionally with a date range or cursor): equality prefix, then already in sort order.
+CREATE INDEX idx_orders_status_created_at_id ON orders (status, created_at DESC, id DESC);
+
+-- minAmount / maxAmount without status: range seek on amount.
+CREATE INDEX idx_orders_amount ON orders (amount);
@@ -0,0 +1,15 @@
+-- Idempotency-Key store shared by all nodes (orders.idempotency.store=jdbc).
+-- A row without status is a request still in progress; status, content_type and body are its stored response.
+CREATE TABLE idempotency_keys (
+    idempotency_key VARCHAR(255)                NOT NULL,
+    fingerprint     VARCHAR(64)                 NOT NULL,
+    status          INTEGER,
+    content_type    VARCHAR(255),
+    body            BYTEA,
+    created_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    expires_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_idempotency_keys PRIMARY KEY (idempotency_key)
+);
+
+-- Periodic purge of expired keys.
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys (expires_at);
@@ -0,0 +1,18 @@
+-- Change log (outbox) behind GET /orders/changes, written in the same transaction as the order change itself.
+-- seq orders the feed; the order columns are a snapshot after the change (NULL for DELETED).
+CREATE TABLE order_changes (
+    seq           BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    order_id      BIGINT                      NOT NULL,
+    change_type   VARCHAR(16)                 NOT NULL,
+    version       BIGINT,
+    customer_name VARCHAR(255),
+    status        VARCHAR(255),
+    amount        NUMERIC(12, 2),
+    created_at    TIMESTAMP(6) WITH TIME ZONE,
+    changed_at    TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_order_changes PRIMARY KEY (seq),
+    CONSTRAINT ck_order_changes_type CHECK (change_type IN ('CREATED', 'UPDATED', 'DELETED'))
+);
+
+-- Retention purge.
+CREATE INDEX idx_order_changes_changed_at ON order_changes (changed_at);
@@ -0,0 +1,16 @@
+-- Rollup behind GET /orders/stats: count, sum, min and max of amount per UTC day and status.
+-- Maintained incrementally by every order write; an order_count of 0 leaves min/max NULL.
+CREATE TABLE order_daily_stats (
+    order_date   DATE           NOT NULL,
+    status       VARCHAR(255)   NOT NULL,
+    order_count  BIGINT         NOT NULL,
+    amount_sum   NUMERIC(19, 2) NOT NULL,
+    amount_min   NUMERIC(12, 2),
+    amount_max   NUMERIC(12, 2),
+    CONSTRAINT pk_order_daily_stats PRIMARY KEY (order_date, status)
+);
+
+INSERT INTO order_daily_stats (order_date, status, order_count, amount_sum, amount_min, amount_max)
+SELECT CAST(created_at AT TIME ZONE 'UTC' AS DATE), status, COUNT(*), SUM(amount), MIN(amount), MAX(amount)
+FROM orders
+GROUP BY CAST(created_at AT TIME ZONE 'UTC' AS DATE), status;
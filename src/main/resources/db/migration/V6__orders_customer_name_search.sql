@@ -0,0 +1,32 @@
+-- Customer-name search for GET /orders (and every endpoint taking its filters).
+--
+-- customer_name_key: the name lower-cased, trimmed and with runs of spaces collapsed, as
+-- CustomerNames.normalize does. Written by the application with the name; nullable only because the development
+-- seed inserts names without it and fills it afterwards.
+ALTER TABLE orders ADD COLUMN customer_name_key VARCHAR(255);
+
+UPDATE orders SET customer_name_key = LOWER(REGEXP_REPLACE(TRIM(customer_name), ' +', ' ', 'g'));
+
+-- customerMatch=exact: equality, then already in sort order. customerMatch=prefix: range seek on the same index.
+CREATE INDEX idx_orders_customer_name_key ON orders (customer_name_key, created_at DESC, id DESC);
+
+-- customerMatch=words: the words of each order's customer_name_key, one row per distinct word.
+-- Looked up by word (or word prefix) through idx_order_name_tokens_token; rows go away with their order.
+CREATE TABLE order_name_tokens (
+    order_id BIGINT       NOT NULL,
+    token    VARCHAR(255) NOT NULL,
+    CONSTRAINT pk_order_name_tokens PRIMARY KEY (order_id, token),
+    CONSTRAINT fk_order_name_tokens_order FOREIGN KEY (order_id) REFERENCES orders (id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_order_name_tokens_token ON order_name_tokens (token, order_id);
+
+INSERT INTO order_name_tokens (order_id, token)
+WITH RECURSIVE words (order_id, token, rest) AS (
+    SELECT id, CAST(NULL AS VARCHAR(255)), customer_name_key || ' ' FROM orders
+    UNION ALL
+    SELECT order_id, SUBSTRING(rest FROM 1 FOR POSITION(' ' IN rest) - 1), SUBSTRING(rest FROM POSITION(' ' IN rest) + 1)
+    FROM words
+    WHERE rest <> ''
+)
+SELECT DISTINCT order_id, token FROM words WHERE token IS NOT NULL;
@@ -0,0 +1,29 @@
+-- Monthly archiving of cold orders (OrderArchive). Whole UTC months older than orders.archive.hot-months are moved,
+-- oldest first, from orders to orders_archive; readers only look at the table(s) a date range can reach.
+--
+-- orders_archive: read-only copies of archived orders, every one of them older than any order left in orders.
+-- Rows are never updated, so the table stays compact; its only secondary index serves the listing order
+-- (created_at DESC, id DESC) and date bounds. Customer searches scan the month range they are given.
+CREATE TABLE orders_archive (
+    id                BIGINT                      NOT NULL,
+    version           BIGINT                      NOT NULL,
+    customer_name     VARCHAR(255)                NOT NULL,
+    customer_name_key VARCHAR(255),
+    status            VARCHAR(255)                NOT NULL,
+    amount            NUMERIC(12, 2)              NOT NULL,
+    created_at        TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_orders_archive PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_orders_archive_created_at_id ON orders_archive (created_at DESC, id DESC);
+
+-- One row per archived month (first day of the month, UTC). A month is announced first and its orders are only moved
+-- once every node has re-read this table (orders.archive.refresh-interval), so no reader can skip orders_archive for
+-- a month whose orders already are there. archived_at is set when the month's last orders have been moved.
+CREATE TABLE order_archive_months (
+    archive_month DATE                        NOT NULL,
+    announced_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    archived_at   TIMESTAMP(6) WITH TIME ZONE,
+    order_count   BIGINT                      NOT NULL DEFAULT 0,
+    CONSTRAINT pk_order_archive_months PRIMARY KEY (archive_month)
+);
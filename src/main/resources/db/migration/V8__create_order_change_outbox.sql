@@ -0,0 +1,23 @@
+-- Outbox in front of order_changes. Writers insert their change rows here, in their own transaction and without any
+-- shared lock; the change feed's relay moves committed rows into order_changes, which is where seq is assigned.
+-- Relays take the single order_change_relay row, so seq values are handed out in the order the relays commit and a
+-- reader never sees a seq before a lower one that is still to come.
+CREATE TABLE order_change_outbox (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    order_id      BIGINT                      NOT NULL,
+    change_type   VARCHAR(16)                 NOT NULL,
+    version       BIGINT,
+    customer_name VARCHAR(255),
+    status        VARCHAR(255),
+    amount        NUMERIC(12, 2),
+    created_at    TIMESTAMP(6) WITH TIME ZONE,
+    changed_at    TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_order_change_outbox PRIMARY KEY (id)
+);
+
+CREATE TABLE order_change_relay (
+    id INTEGER NOT NULL,
+    CONSTRAINT pk_order_change_relay PRIMARY KEY (id)
+);
+
+INSERT INTO order_change_relay (id) VALUES (1);
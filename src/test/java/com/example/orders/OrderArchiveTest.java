@@ -0,0 +1,216 @@
+package com.example.orders;
+
+import com.example.orders.cache.OrderCache;
+import com.example.orders.service.OrderArchive;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// hot-months=0: every month before the current one is archived, i.e. all seeded orders but none created here.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:archivedb;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "orders.archive.hot-months=0",
+        "orders.archive.refresh-interval=100ms",
+        "orders.archive.chunk-size=7"
+})
+@AutoConfigureMockMvc
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class OrderArchiveTest {
+
+    @Autowired MockMvc mockMvc;
+    @Autowired ObjectMapper objectMapper;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired MeterRegistry meterRegistry;
+    @Autowired OrderArchive orderArchive;
+    @Autowired OrderCache orderCache;
+
+    // First, while the seeded orders are still in orders.
+    @Test
+    @Order(1)
+    void archiving_leavesEveryReadUnchanged() throws Exception {
+        create("Archive Hot Zeferino", 120);
+        create("Archive Hot Zeferino", 80);
+        create("Archive Hot Ysolde", 300);
+        String seededName = jdbcTemplate.queryForObject(
+                "SELECT customer_name FROM orders ORDER BY id FETCH FIRST 1 ROW ONLY", String.class);
+        long seededId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM orders", Long.class);
+
+        Map<String, Object> before = reads(seededName, seededId);
+        archiveColdMonths();
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders", Long.class));
+        assertEquals(before, reads(seededName, seededId));
+    }
+
+    @Test
+    void datePrunedReads_touchOneTable() throws Exception {
+        archiveColdMonths();
+        for (int i = 0; i < 3; i++) {
+            create("Archive Pruned Quillon", 10 + i);
+        }
+
+        // Archived months only: orders is not read.
+        assertEquals(1, statements(get("/orders").param("mode", "cursor").param("limit", "3")
+                .param("dateTo", "2025-12-31")));
+        // The current month only: orders_archive is not read.
+        assertEquals(1, statements(get("/orders").param("mode", "cursor").param("limit", "3")
+                .param("dateFrom", LocalDate.now(ZoneOffset.UTC).withDayOfMonth(1).toString())));
+        // A page filled from orders does not read on into the archive.
+        assertEquals(1, statements(get("/orders").param("mode", "cursor").param("limit", "2")));
+    }
+
+    @Test
+    void archivedOrders_areReadOnly() throws Exception {
+        archiveColdMonths();
+        orderCache.invalidateAll();
+        long archivedId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM orders_archive", Long.class);
+        long hotId = create("Archive Writable Ondrej", 42);
+
+        mockMvc.perform(get("/orders/{id}", archivedId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(archivedId));
+        String lookup = mockMvc.perform(get("/orders").param("ids", archivedId + "," + hotId + ",999999999"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertEquals(2, objectMapper.readTree(lookup).get("items").size());
+        assertEquals(999_999_999L, objectMapper.readTree(lookup).get("missing").get(0).asLong());
+
+        mockMvc.perform(put("/orders/{id}", archivedId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"PAID\"}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Order " + archivedId + " is archived and read-only."));
+        mockMvc.perform(delete("/orders/{id}", archivedId)).andExpect(status().isConflict());
+        mockMvc.perform(delete("/orders/{id}", 999_999_999L)).andExpect(status().isNotFound());
+        mockMvc.perform(delete("/orders/{id}", hotId)).andExpect(status().isNoContent());
+    }
+
+    @Test
+    void catalog_listsEveryArchivedMonth() {
+        archiveColdMonths();
+        assertEquals(50, jdbcTemplate.queryForObject(
+                "SELECT SUM(order_count) FROM order_archive_months", Long.class));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM order_archive_months WHERE archived_at IS NULL", Long.class));
+        assertEquals(LocalDate.of(2025, 11, 1), jdbcTemplate.queryForObject(
+                "SELECT MIN(archive_month) FROM order_archive_months", LocalDate.class));
+        // Name tokens went with the moved orders.
+        assertEquals(0, jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM order_name_tokens t
+                WHERE NOT EXISTS (SELECT 1 FROM orders o WHERE o.id = t.order_id)""", Long.class));
+    }
+
+    // Announces the cold months, then moves them once every node can have seen the announcement.
+    private void archiveColdMonths() {
+        orderArchive.archiveColdMonths();
+        try {
+            Thread.sleep(250);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        orderArchive.archiveColdMonths();
+    }
+
+    private Map<String, Object> reads(String seededName, long seededId) throws Exception {
+        Map<String, Object> reads = new LinkedHashMap<>();
+        List<String> listings = List.of(
+                "limit=7", "limit=7&page=3", "limit=7&page=8", "limit=100&status=PAID",
+                "limit=4&page=2&minAmount=100", "limit=5&page=2&dateFrom=2025-12-01&dateTo=2025-12-31",
+                "limit=10&customer=zeferino", "limit=10&customer=" + seededName,
+                "limit=10&customerMatch=EXACT&customer=" + seededName,
+                "mode=slice&limit=6&page=2&includeTotal=true&maxAmount=200");
+        for (String query : listings) {
+            reads.put(query, json(get("/orders"), query));
+        }
+        reads.put("cursor", cursorWalk());
+        reads.put("export", export(get("/orders/export")));
+        reads.put("export dateTo", export(get("/orders/export").param("dateTo", "2025-12-31").param("format", "csv")));
+        reads.put("stats", json(get("/orders/stats"), "minAmount=50"));
+        reads.put("stats customer", json(get("/orders/stats"), "customer=" + seededName));
+        reads.put("by id", json(get("/orders/{id}", seededId), ""));
+        return reads;
+    }
+
+    private List<Long> cursorWalk() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            MockHttpServletRequestBuilder request = get("/orders").param("mode", "cursor").param("limit", "6");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            JsonNode page = objectMapper.readTree(mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            page.get("items").forEach(item -> ids.add(item.get("id").asLong()));
+            cursor = page.hasNonNull("nextCursor") ? page.get("nextCursor").asText() : null;
+        } while (cursor != null);
+        return ids;
+    }
+
+    // Parameters as name=value pairs joined by '&', unencoded.
+    private JsonNode json(MockHttpServletRequestBuilder request, String params) throws Exception {
+        for (String param : params.split("&")) {
+            if (!param.isEmpty()) {
+                request.param(param.substring(0, param.indexOf('=')), param.substring(param.indexOf('=') + 1));
+            }
+        }
+        return objectMapper.readTree(mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    private String export(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult started = mockMvc.perform(request)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+    }
+
+    private double statements(MockHttpServletRequestBuilder request) throws Exception {
+        double before = sqlStatements();
+        mockMvc.perform(request).andExpect(status().isOk());
+        return sqlStatements() - before;
+    }
+
+    private double sqlStatements() {
+        return meterRegistry.find("orders.http.sql.statements").tags("uri", "/orders").summaries().stream()
+                .mapToDouble(DistributionSummary::totalAmount)
+                .sum();
+    }
+
+    private long create(String customer, int amount) throws Exception {
+        String json = mockMvc.perform(post("/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("customerName", customer, "amount", amount))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(json).get("id").asLong();
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.orders;
+
+import com.example.orders.ingestion.OrderIngestionQueue;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:ingestiondb;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "orders.ingestion.mode=async",
+        "orders.ingestion.batch-size=5",
+        "orders.ingestion.flush-interval=20ms"
+})
+@AutoConfigureMockMvc
+class OrderAsyncIngestionTest {
+
+    @Autowired MockMvc mockMvc;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired OrderIngestionQueue ingestionQueue;
+
+    @Test
+    void create_isAccepted_andWrittenInTheBackground() throws Exception {
+        for (int i = 0; i < 12; i++) {
+            mockMvc.perform(post("/orders")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"customerName\":\"Queued Customer " + i + "\",\"amount\":12.50}"))
+                    .andExpect(status().isAccepted())
+                    .andExpect(content().string(""));
+        }
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        // The depth drops only once the flusher is back from the commit that made the rows visible.
+        while ((countQueued() < 12 || ingestionQueue.depth() > 0) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(12, countQueued());
+        assertEquals(0, ingestionQueue.depth());
+    }
+
+    @Test
+    void invalidOrder_isRejectedBeforeQueueing() throws Exception {
+        mockMvc.perform(post("/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"customerName\":\"\",\"amount\":-1}"))
+                .andExpect(status().isBadRequest());
+        // Valid requests the orders table could not hold: refused now, or they would fail every write later.
+        mockMvc.perform(post("/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"customerName\":\"" + "x".repeat(256) + "\",\"amount\":1}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"customerName\":\"Too Much\",\"amount\":10000000000}"))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(0, ingestionQueue.depth());
+    }
+
+    private int countQueued() {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM orders WHERE customer_name LIKE 'Queued Customer %'", Integer.class);
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.orders;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.notNullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:batchdb;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "orders.batch.chunk-size=2"
+})
+@AutoConfigureMockMvc
+class OrderBatchCreateTest {
+
+    @Autowired MockMvc mockMvc;
+    @Autowired ObjectMapper objectMapper;
+
+    @Test
+    void batch_createsAllValidItems_acrossChunks() throws Exception {
+        List<Map<String, Object>> body = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            body.add(Map.of("customerName", "Batch Customer " + i, "amount", 10 + i, "status", "PAID"));
+        }
+
+        String json = mockMvc.perform(post("/orders/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(body)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(5))
+                .andExpect(jsonPath("$.failed").value(0))
+                .andExpect(jsonPath("$.items.length()").value(5))
+                .andExpect(jsonPath("$.items[4].index").value(4))
+                .andExpect(jsonPath("$.items[4].outcome").value("CREATED"))
+                .andExpect(jsonPath("$.items[4].order.id", notNullValue()))
+                .andExpect(jsonPath("$.items[4].order.customerName").value("Batch Customer 4"))
+                .andExpect(jsonPath("$.items[4].order.createdAt", notNullValue()))
+                .andReturn().getResponse().getContentAsString();
+
+        long id = objectMapper.readTree(json).at("/items/2/order/id").asLong();
+        mockMvc.perform(get("/orders/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.customerName").value("Batch Customer 2"))
+                .andExpect(jsonPath("$.status").value("PAID"));
+    }
+
+    @Test
+    void batch_reportsInvalidItems_withoutFailingTheRest() throws Exception {
+        List<Map<String, Object>> body = List.of(
+                Map.of("customerName", "Batch Valid", "amount", 12.5),
+                Map.of("customerName", "  ", "amount", 12.5),
+                Map.of("customerName", "Batch Negative", "amount", -1));
+
+        mockMvc.perform(post("/orders/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(body)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.failed").value(2))
+                .andExpect(jsonPath("$.items[0].outcome").value("CREATED"))
+                .andExpect(jsonPath("$.items[0].order.status").value("NEW"))
+                .andExpect(jsonPath("$.items[1].outcome").value("FAILED"))
+                .andExpect(jsonPath("$.items[1].fieldErrors.customerName").exists())
+                .andExpect(jsonPath("$.items[2].outcome").value("FAILED"))
+                .andExpect(jsonPath("$.items[2].fieldErrors.amount").exists());
+    }
+
+    @Test
+    void batch_reportsItemsOverTheColumnLimits_withoutFailingTheirChunk() throws Exception {
+        // Chunks of two: each invalid item shares its chunk with a valid one.
+        List<Map<String, Object>> body = List.of(
+                Map.of("customerName", "Batch Limits A", "amount", 12.5),
+                Map.of("customerName", "x".repeat(256), "amount", 12.5),
+                Map.of("customerName", "Batch Limits B", "amount", 9999999999.99),
+                Map.of("customerName", "Batch Too Much", "amount", 10000000000L));
+
+        mockMvc.perform(post("/orders/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(body)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.failed").value(2))
+                .andExpect(jsonPath("$.items[0].outcome").value("CREATED"))
+                .andExpect(jsonPath("$.items[1].fieldErrors.customerName").exists())
+                .andExpect(jsonPath("$.items[2].outcome").value("CREATED"))
+                .andExpect(jsonPath("$.items[3].fieldErrors.amount").exists());
+    }
+
+    @Test
+    void batch_empty_returns400() throws Exception {
+        mockMvc.perform(post("/orders/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.message").exists());
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.orders;
+
+import com.example.orders.service.OrderChangeFeed;
+import com.example.orders.service.OrderCounters;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bulkstatusdb;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        // Several chunks (transactions) even for a handful of orders.
+        "orders.batch.status-chunk-size=3",
+        "orders.counters.reconcile-interval=1h"})
+@AutoConfigureMockMvc
+class OrderBulkStatusTest {
+
+    private static final String ROLLUP = """
+            SELECT order_date, status, shard, order_count, amount_sum, amount_min, amount_max
+            FROM order_daily_stats WHERE order_count > 0 ORDER BY order_date, status, shard""";
+    private static final String FROM_ORDERS = """
+            SELECT CAST(created_at AT TIME ZONE 'UTC' AS DATE) AS order_date, status, MOD(id, 8) AS shard,
+                   COUNT(*) AS order_count, SUM(amount) AS amount_sum, MIN(amount) AS amount_min,
+                   MAX(amount) AS amount_max
+            FROM orders GROUP BY CAST(created_at AT TIME ZONE 'UTC' AS DATE), status, MOD(id, 8)
+            ORDER BY order_date, status, shard""";
+
+    @Autowired MockMvc mockMvc;
+    @Autowired ObjectMapper objectMapper;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired OrderCounters orderCounters;
+    @Autowired OrderChangeFeed orderChangeFeed;
+
+    @BeforeEach
+    void loadCounters() {
+        orderCounters.reconcile();
+    }
+
+    @Test
+    void filter_movesEveryMatchingOrder_acrossChunks() throws Exception {
+        create("Bulk Stays", "1.00", "NEW");
+        long first = create("Bulk Move 1", "7001.00", "NEW");
+        for (int i = 2; i <= 7; i++) {
+            create("Bulk Move " + i, "700" + i + ".00", "NEW");
+        }
+        // The bucket's maximum moves out, so the remaining bucket's max must be recomputed.
+        create("Bulk Move Max", "9500.00", "NEW");
+        long alreadyShipped = create("Bulk Already Shipped", "7100.00", "SHIPPED");
+        long shippedBefore = list("?status=SHIPPED&limit=1").get("totalItems").asLong();
+        // Cached before the bulk update: must not be served stale afterwards.
+        assertEquals("NEW", getById(first).get("status").asText());
+        orderChangeFeed.relay();
+        long changesBefore = count("SELECT COUNT(*) FROM order_changes WHERE change_type = 'UPDATED'");
+
+        JsonNode response = bulk("""
+                {"targetStatus":"SHIPPED","filter":{"minAmount":7000,"maxAmount":9999}}""");
+
+        assertEquals(8, response.get("updated").asLong());
+        assertEquals(0, count("SELECT COUNT(*) FROM orders WHERE amount BETWEEN 7000 AND 9999 AND status <> 'SHIPPED'"));
+        assertEquals(1, count("SELECT version FROM orders WHERE id = " + first));
+        assertEquals(0, count("SELECT version FROM orders WHERE id = " + alreadyShipped));
+        orderChangeFeed.relay();
+        assertEquals(changesBefore + 8, count("SELECT COUNT(*) FROM order_changes WHERE change_type = 'UPDATED'"));
+        assertEquals(1, count("SELECT COUNT(*) FROM order_changes WHERE change_type = 'UPDATED' AND order_id = "
+                + first + " AND status = 'SHIPPED' AND version = 1"));
+
+        JsonNode cached = getById(first);
+        assertEquals("SHIPPED", cached.get("status").asText());
+        assertRollupMatchesOrders();
+        assertEquals(shippedBefore + 8, list("?status=SHIPPED&limit=1").get("totalItems").asLong());
+        assertEquals(count("SELECT COUNT(*) FROM orders WHERE status = 'NEW'"),
+                list("?status=NEW&limit=1").get("totalItems").asLong());
+    }
+
+    @Test
+    void ids_areFurtherRestrictedByTheFilter() throws Exception {
+        long a = create("Bulk Ids A", "11.00", "NEW");
+        long b = create("Bulk Ids B", "12.00", "PAID");
+        long c = create("Bulk Ids C", "13.00", "NEW");
+        long d = create("Bulk Ids D", "14.00", "NEW");
+
+        JsonNode response = bulk("{\"targetStatus\":\"CANCELLED\",\"filter\":{\"status\":\"NEW\"},\"ids\":["
+                + d + "," + a + "," + b + "," + a + ",999999999]}");
+
+        assertEquals(2, response.get("updated").asLong());
+        assertEquals("CANCELLED", statusOf(a));
+        assertEquals("PAID", statusOf(b));
+        assertEquals("NEW", statusOf(c));
+        assertEquals("CANCELLED", statusOf(d));
+        assertRollupMatchesOrders();
+    }
+
+    @Test
+    void ordersAlreadyInTheTargetStatus_areNotCounted() throws Exception {
+        long id = create("Bulk Noop", "21.00", "PAID");
+
+        assertEquals(0, bulk("{\"targetStatus\":\"PAID\",\"ids\":[" + id + "]}").get("updated").asLong());
+        assertEquals(0, count("SELECT version FROM orders WHERE id = " + id));
+    }
+
+    @Test
+    void invalidRequests_areRejected() throws Exception {
+        // No filter and no ids would move every order.
+        assertBadRequest("{\"targetStatus\":\"PAID\"}");
+        assertBadRequest("{\"targetStatus\":\"PAID\",\"filter\":{}}");
+        assertBadRequest("{\"filter\":{\"status\":\"NEW\"}}");
+        assertBadRequest("{\"targetStatus\":\"PAID\",\"filter\":{\"minAmount\":10,\"maxAmount\":5}}");
+        assertBadRequest("{\"targetStatus\":\"PAID\",\"filter\":{\"dateFrom\":\"2026-01-02\",\"dateTo\":\"2026-01-01\"}}");
+    }
+
+    private JsonNode bulk(String body) throws Exception {
+        String json = mockMvc.perform(post("/orders/bulk/status").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(json);
+    }
+
+    private void assertBadRequest(String body) throws Exception {
+        mockMvc.perform(post("/orders/bulk/status").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isBadRequest());
+    }
+
+    private long create(String customer, String amount, String status) throws Exception {
+        String json = mockMvc.perform(post("/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"customerName\":\"" + customer + "\",\"amount\":" + amount
+                                + ",\"status\":\"" + status + "\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(json).get("id").asLong();
+    }
+
+    private JsonNode getById(long id) throws Exception {
+        String json = mockMvc.perform(get("/orders/{id}", id))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(json);
+    }
+
+    private JsonNode list(String query) throws Exception {
+        String json = mockMvc.perform(get("/orders" + query))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(json);
+    }
+
+    private String statusOf(long id) {
+        return jdbcTemplate.queryForObject("SELECT status FROM orders WHERE id = ?", String.class, id);
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+
+    private void assertRollupMatchesOrders() {
+        List<Map<String, Object>> rollup = jdbcTemplate.queryForList(ROLLUP);
+        List<Map<String, Object>> fromOrders = jdbcTemplate.queryForList(FROM_ORDERS);
+        assertEquals(fromOrders.size(), rollup.size());
+        for (int i = 0; i < rollup.size(); i++) {
+            Map<String, Object> actual = rollup.get(i);
+            Map<String, Object> expected = fromOrders.get(i);
+            for (String column : List.of("ORDER_DATE", "STATUS", "SHARD", "ORDER_COUNT")) {
+                assertEquals(expected.get(column).toString(), actual.get(column).toString(), column + " " + actual);
+            }
+            for (String column : List.of("AMOUNT_SUM", "AMOUNT_MIN", "AMOUNT_MAX")) {
+                assertEquals(0, ((BigDecimal) expected.get(column)).compareTo((BigDecimal) actual.get(column)),
+                        column + " " + actual + " vs " + expected);
+            }
+        }
+    }
+}
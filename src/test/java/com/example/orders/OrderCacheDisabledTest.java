@@ -0,0 +1,55 @@
+package com.example.orders;
+
+import com.example.orders.cache.OrderCache;
+import com.example.orders.dto.CreateOrderRequest;
+import com.example.orders.dto.OrderResponse;
+import com.example.orders.metrics.SqlStatistics;
+import com.example.orders.service.OrderService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:nocachedb;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "orders.cache.enabled=false"
+})
+class OrderCacheDisabledTest {
+
+    @Autowired OrderService orderService;
+    @Autowired OrderCache orderCache;
+
+    @Test
+    void disabledCache_bypassesCaching() {
+        OrderResponse created = orderService.createOrder(CreateOrderRequest.builder()
+                .customerName("No Cache")
+                .amount(new BigDecimal("5.00"))
+                .build());
+
+        orderService.getById(created.getId());
+        orderService.getById(created.getId());
+
+        assertFalse(orderCache.isEnabled());
+        assertEquals(0, orderCache.stats().requestCount());
+    }
+
+    @Test
+    void getVersion_readsOnlyTheVersion() {
+        OrderResponse created = orderService.createOrder(CreateOrderRequest.builder()
+                .customerName("No Cache Version")
+                .amount(new BigDecimal("5.00"))
+                .build());
+
+        SqlStatistics statistics = SqlStatistics.start();
+        try {
+            assertEquals(0, orderService.getVersion(created.getId()));
+        } finally {
+            statistics.stop();
+        }
+        assertEquals(1, statistics.getStatements());
+        assertFalse(statistics.getSql().get(0).contains("customer_name"), statistics.getSql().get(0));
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.orders;
+
+import com.example.orders.cache.OrderCache;
+import com.example.orders.dto.CreateOrderRequest;
+import com.example.orders.dto.OrderResponse;
+import com.example.orders.dto.UpdateOrderRequest;
+import com.example.orders.exception.NotFoundException;
+import com.example.orders.model.OrderStatus;
+import com.example.orders.repository.OrderRepository;
+import com.example.orders.service.OrderService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class OrderCacheTest {
+
+    @Autowired OrderService orderService;
+    @Autowired OrderCache orderCache;
+    @Autowired OrderRepository orderRepository;
+    @Autowired MeterRegistry meterRegistry;
+
+    @Test
+    void repeatedGet_isServedFromCache() {
+        OrderResponse created = create("Cache Hit", "10.00");
+        long hitsBefore = orderCache.stats().hitCount();
+
+        orderService.getById(created.getId());
+        orderService.getById(created.getId());
+
+        assertEquals(hitsBefore + 2, orderCache.stats().hitCount());
+        assertNotNull(meterRegistry.find("cache.gets").tag("cache", OrderCache.NAME).tag("result", "hit").functionCounter());
+    }
+
+    @Test
+    void update_invalidatesCachedOrder() {
+        OrderResponse created = create("Cache Update", "10.00");
+        orderService.getById(created.getId());
+
+        UpdateOrderRequest update = new UpdateOrderRequest();
+        update.setStatus(OrderStatus.SHIPPED);
+        orderService.update(created.getId(), update);
+
+        assertEquals(OrderStatus.SHIPPED, orderService.getById(created.getId()).getStatus());
+    }
+
+    @Test
+    void delete_invalidatesCachedOrder() {
+        OrderResponse created = create("Cache Delete", "10.00");
+        orderService.getById(created.getId());
+
+        orderService.delete(created.getId());
+
+        assertThrows(NotFoundException.class, () -> orderService.getById(created.getId()));
+    }
+
+    @Test
+    void missingOrder_isNotCached() {
+        long missesBefore = orderCache.stats().missCount();
+
+        assertThrows(NotFoundException.class, () -> orderService.getById(987654L));
+        assertThrows(NotFoundException.class, () -> orderService.getById(987654L));
+
+        assertEquals(missesBefore + 2, orderCache.stats().missCount());
+    }
+
+    @Test
+    void concurrentUpdatesAndGets_leaveCacheConsistentWithDatabase() throws Exception {
+        OrderResponse created = create("Cache Race", "1.00");
+        long id = created.getId();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int writer = 0; writer < 2; writer++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 1; i <= 50; i++) {
+                    UpdateOrderRequest update = new UpdateOrderRequest();
+                    update.setAmount(new BigDecimal(i + ".00"));
+                    orderService.update(id, update);
+                }
+                return null;
+            }));
+        }
+        for (int reader = 0; reader < 6; reader++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < 200; i++) {
+                    orderService.getById(id);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        long inDatabase = orderRepository.findById(id).orElseThrow().getAmount();
+        assertEquals(inDatabase, orderService.getById(id).getAmount());
+    }
+
+    @Test
+    void bulkLoad_overlappingAnInvalidation_isNotCached() {
+        OrderResponse created = create("Cache Bulk Race", "1.00");
+        long id = created.getId();
+        orderCache.invalidate(id);
+
+        // The row is read, then a writer commits and invalidates before the bulk load stores it.
+        Map<Long, OrderResponse> found = orderCache.getAll(List.of(id), ids -> {
+            Map<Long, OrderResponse> read = Map.of(id, orderService.getByIds(List.of(id)).getItems().get(0));
+            orderCache.invalidate(id);
+            return read;
+        });
+
+        assertEquals(id, found.get(id).getId());
+        assertNull(orderCache.getIfPresent(id));
+
+        orderService.getByIds(List.of(id));
+        assertNotNull(orderCache.getIfPresent(id));
+    }
+
+    private OrderResponse create(String customerName, String amount) {
+        return orderService.createOrder(CreateOrderRequest.builder()
+                .customerName(customerName)
+                .amount(new BigDecimal(amount))
+                .build());
+    }
+}
@@ -0,0 +1,214 @@
+package com.example.orders;
+
+import com.example.orders.dto.CreateOrderRequest;
+import com.example.orders.dto.OrderChangeResponse;
+import com.example.orders.model.OrderStatus;
+import com.example.orders.service.OrderChangeFeed;
+import com.example.orders.service.OrderService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:changesdb;DB_CLOSE_DELAY=-1;MODE=PostgreSQL")
+@AutoConfigureMockMvc
+class OrderChangeFeedTest {
+
+    @Autowired MockMvc mockMvc;
+    @Autowired ObjectMapper objectMapper;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired TransactionTemplate transactionTemplate;
+    @Autowired OrderChangeFeed orderChangeFeed;
+    @Autowired OrderService orderService;
+
+    private long start;
+
+    @BeforeEach
+    void rememberEndOfLog() {
+        orderChangeFeed.relay();
+        start = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(seq), 0) FROM order_changes", Long.class);
+    }
+
+    @Test
+    void feed_returnsCreateUpdateAndDelete_inOrder_withResumableCursor() throws Exception {
+        long id = createOrder("Feed Customer");
+        mockMvc.perform(put("/orders/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"PAID\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/orders/{id}", id)).andExpect(status().isNoContent());
+
+        JsonNode page = poll(start, 2, 0);
+        assertEquals(2, page.get("changes").size());
+        assertEquals("CREATED", page.at("/changes/0/type").asText());
+        assertEquals("Feed Customer", page.at("/changes/0/order/customerName").asText());
+        assertEquals("UPDATED", page.at("/changes/1/type").asText());
+        assertEquals("PAID", page.at("/changes/1/order/status").asText());
+        assertEquals(1, page.at("/changes/1/version").asLong());
+
+        JsonNode rest = poll(page.get("nextCursor").asLong(), 2, 0);
+        assertEquals(1, rest.get("changes").size());
+        assertEquals("DELETED", rest.at("/changes/0/type").asText());
+        assertEquals(id, rest.at("/changes/0/orderId").asLong());
+        assertTrue(rest.at("/changes/0/order").isNull());
+    }
+
+    @Test
+    void batchCreate_isInTheFeed() throws Exception {
+        mockMvc.perform(post("/orders/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"customerName\":\"Feed Batch 1\",\"amount\":1},"
+                                + "{\"customerName\":\"Feed Batch 2\",\"amount\":2}]"))
+                .andExpect(status().isOk());
+
+        JsonNode page = poll(start, 10, 0);
+        assertEquals(2, page.get("changes").size());
+        assertEquals("Feed Batch 2", page.at("/changes/1/order/customerName").asText());
+    }
+
+    @Test
+    void longPoll_waitsForTheNextCommit() throws Exception {
+        MvcResult waiting = mockMvc.perform(get("/orders/changes")
+                        .param("since", String.valueOf(start))
+                        .param("wait", "10"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        createOrder("Long Poll Customer");
+
+        mockMvc.perform(asyncDispatch(waiting))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes.length()").value(1))
+                .andExpect(jsonPath("$.changes[0].order.customerName").value("Long Poll Customer"));
+    }
+
+    @Test
+    void longPoll_withoutChanges_returnsTheSameCursor() throws Exception {
+        JsonNode page = poll(start, 10, 1);
+
+        assertEquals(0, page.get("changes").size());
+        assertEquals(start, page.get("nextCursor").asLong());
+    }
+
+    @Test
+    void gapInSeq_isSkipped() throws Exception {
+        // A relay that rolled back leaves a hole in seq that can never fill.
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("INSERT INTO order_changes (order_id, change_type, changed_at)"
+                    + " VALUES (1, 'DELETED', CURRENT_TIMESTAMP)");
+            status.setRollbackOnly();
+        });
+        createOrder("After Gap Customer");
+
+        List<OrderChangeResponse> changes = orderChangeFeed.read(start, 10);
+        assertEquals(1, changes.size());
+        assertEquals(start + 2, changes.get(0).getSeq());
+    }
+
+    @Test
+    void changeCommittingLate_isNotSkipped() throws Exception {
+        CountDownLatch appended = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        CompletableFuture<Long> slow = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> {
+            long id = orderService.createOrder(newOrder("Slow Commit Customer")).getId();
+            appended.countDown();
+            // Still open while a later writer commits, as behind a slow commit or a lock wait.
+            await(commit);
+            return id;
+        }));
+        assertTrue(appended.await(5, TimeUnit.SECONDS));
+        // Another status, so that the two do not meet on a statistics row.
+        CreateOrderRequest paid = newOrder("Fast Commit Customer");
+        paid.setStatus(OrderStatus.PAID);
+        long fastId = orderService.createOrder(paid).getId();
+
+        List<OrderChangeResponse> early = orderChangeFeed.read(start, 10);
+        assertEquals(List.of(fastId), early.stream().map(OrderChangeResponse::getOrderId).toList());
+
+        commit.countDown();
+        long slowId = slow.get(10, TimeUnit.SECONDS);
+        List<OrderChangeResponse> late = orderChangeFeed.read(early.get(0).getSeq(), 10);
+        assertEquals(List.of(slowId), late.stream().map(OrderChangeResponse::getOrderId).toList());
+    }
+
+    @Test
+    void stream_sendsChangesAsServerSentEvents() throws Exception {
+        MvcResult stream = mockMvc.perform(get("/orders/changes/stream")
+                        .header("Last-Event-ID", String.valueOf(start)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        long id = createOrder("Stream Customer");
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        String body = "";
+        while (!body.contains("Stream Customer") && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            body = stream.getResponse().getContentAsString();
+        }
+        assertTrue(body.contains("event:CREATED"), body);
+        assertTrue(body.contains("\"orderId\":" + id), body);
+        assertTrue(body.contains("id:" + (start + 1)), body);
+    }
+
+    @Test
+    void invalidCursor_isRejected() throws Exception {
+        mockMvc.perform(get("/orders/changes").param("since", "abc").param("wait", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid change cursor: abc"));
+    }
+
+    private static CreateOrderRequest newOrder(String customer) {
+        return CreateOrderRequest.builder().customerName(customer).amount(new BigDecimal("12.50")).build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private long createOrder(String customer) throws Exception {
+        String json = mockMvc.perform(post("/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"customerName\":\"" + customer + "\",\"amount\":12.50}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(json).get("id").asLong();
+    }
+
+    private JsonNode poll(long since, int limit, int wait) throws Exception {
+        MvcResult result = mockMvc.perform(get("/orders/changes")
+                        .param("since", String.valueOf(since))
+                        .param("limit", String.valueOf(limit))
+                        .param("wait", String.valueOf(wait)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String json = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(json);
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.orders;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:concurrencydb;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "orders.concurrency.enabled=true"
+})
+@AutoConfigureMockMvc
+class OrderConcurrencyLimitTest {
+
+    @Autowired MockMvc mockMvc;
+    @Autowired MeterRegistry meterRegistry;
+
+    @Test
+    void limitDefaultsToPoolSize_andFreesSlotsAfterEachRequest() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            mockMvc.perform(get("/orders")).andExpect(status().isOk());
+        }
+
+        // spring.datasource.hikari.maximum-pool-size
+        assertEquals(10, meterRegistry.get("orders.concurrency.available").gauge().value());
+        assertEquals(0, meterRegistry.get("orders.concurrency.rejected").counter().count());
+    }
+}
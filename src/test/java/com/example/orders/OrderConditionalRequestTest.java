@@ -0,0 +1,129 @@
+package com.example.orders;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class OrderConditionalRequestTest {
+
+    @Autowired MockMvc mockMvc;
+    @Autowired ObjectMapper objectMapper;
+
+    @Test
+    void get_returnsETag_andNoVersionInBody() throws Exception {
+        long id = createOrder("ETag Get");
+
+        mockMvc.perform(get("/orders/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andExpect(jsonPath("$.version").doesNotExist());
+    }
+
+    @Test
+    void get_withMatchingIfNoneMatch_returns304WithoutBody() throws Exception {
+        long id = createOrder("ETag NotModified");
+
+        mockMvc.perform(get("/orders/{id}", id).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void get_withStaleIfNoneMatch_returns200AndNewETag() throws Exception {
+        long id = createOrder("ETag Stale");
+        updateStatus(id, "PAID", null).andExpect(status().isOk());
+
+        mockMvc.perform(get("/orders/{id}", id).header(HttpHeaders.IF_NONE_MATCH, "W/\"0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.status").value("PAID"));
+    }
+
+    @Test
+    void get_withIfNoneMatch_onMissingOrder_returns404() throws Exception {
+        mockMvc.perform(get("/orders/{id}", 999999).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void put_withMatchingIfMatch_updatesAndBumpsETag() throws Exception {
+        long id = createOrder("ETag Put");
+
+        updateStatus(id, "PAID", "\"0\"")
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.status").value("PAID"));
+    }
+
+    @Test
+    void put_withStaleIfMatch_returns412_andLeavesOrderUnchanged() throws Exception {
+        long id = createOrder("ETag Conflict");
+        updateStatus(id, "PAID", "\"0\"").andExpect(status().isOk());
+
+        updateStatus(id, "CANCELLED", "\"0\"")
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.status").value(412))
+                .andExpect(jsonPath("$.path").value("/orders/" + id));
+
+        mockMvc.perform(get("/orders/{id}", id))
+                .andExpect(jsonPath("$.status").value("PAID"));
+    }
+
+    @Test
+    void put_withIfMatch_onMissingOrder_returns404() throws Exception {
+        updateStatus(999999, "PAID", "\"0\"").andExpect(status().isNotFound());
+    }
+
+    @Test
+    void delete_withStaleIfMatch_returns412_thenMatchingDeletes() throws Exception {
+        long id = createOrder("ETag Delete");
+
+        mockMvc.perform(delete("/orders/{id}", id).header(HttpHeaders.IF_MATCH, "\"5\""))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(delete("/orders/{id}", id).header(HttpHeaders.IF_MATCH, "\"7\", \"0\""))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/orders/{id}", id))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void delete_withWildcardIfMatch_deletesExistingOrder() throws Exception {
+        long id = createOrder("ETag Wildcard");
+
+        mockMvc.perform(delete("/orders/{id}", id).header(HttpHeaders.IF_MATCH, "*"))
+                .andExpect(status().isNoContent());
+    }
+
+    private org.springframework.test.web.servlet.ResultActions updateStatus(long id, String status, String ifMatch)
+            throws Exception {
+        var request = put("/orders/{id}", id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("status", status)));
+        if (ifMatch != null) {
+            request.header(HttpHeaders.IF_MATCH, ifMatch);
+        }
+        return mockMvc.perform(request);
+    }
+
+    private long createOrder(String customerName) throws Exception {
+        String json = mockMvc.perform(post("/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("customerName", customerName, "amount", 42.5))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(json).get("id").asLong();
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.orders;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class OrderCursorPaginationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void firstPage_returnsItemsAndNextCursor_withoutTotals() throws Exception {
+        mockMvc.perform(get("/orders").param("mode", "cursor").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(10))
+                .andExpect(jsonPath("$.limit").value(10))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.nextCursor").isString())
+                .andExpect(jsonPath("$.totalItems").doesNotExist());
+    }
+
+    @Test
+    void walkingAllPages_visitsEveryOrderOnceInCreatedAtDescOrder() throws Exception {
+        Set<Long> seen = new HashSet<>();
+        Instant previous = Instant.MAX;
+        String cursor = null;
+        int pages = 0;
+
+        do {
+            JsonNode root = fetch(get("/orders").param("mode", "cursor").param("limit", "7"), cursor);
+            for (JsonNode item : root.get("items")) {
+                assertTrue(seen.add(item.get("id").asLong()), "duplicate id across pages");
+                Instant createdAt = Instant.parse(item.get("createdAt").asText());
+                assertFalse(createdAt.isAfter(previous), "items must be ordered by createdAt desc");
+                previous = createdAt;
+            }
+            cursor = root.get("hasNext").asBoolean() ? root.get("nextCursor").asText() : null;
+            pages++;
+        } while (cursor != null);
+
+        JsonNode offsetPage = objectMapper.readTree(mockMvc.perform(get("/orders").param("limit", "1"))
+                .andReturn().getResponse().getContentAsString());
+        assertEquals(offsetPage.get("totalItems").asLong(), seen.size());
+        assertTrue(pages > 1);
+    }
+
+    @Test
+    void cursorPagesHonourFilters() throws Exception {
+        String cursor = null;
+        int total = 0;
+        do {
+            JsonNode root = fetch(get("/orders")
+                    .param("mode", "cursor")
+                    .param("limit", "3")
+                    .param("status", "PAID")
+                    .param("minAmount", "150")
+                    .param("dateFrom", "2025-12-01")
+                    .param("dateTo", "2025-12-31"), cursor);
+            for (JsonNode item : root.get("items")) {
+                assertEquals("PAID", item.get("status").asText());
+                assertTrue(item.get("amount").decimalValue().compareTo(new java.math.BigDecimal("150")) >= 0);
+                total++;
+            }
+            cursor = root.get("hasNext").asBoolean() ? root.get("nextCursor").asText() : null;
+        } while (cursor != null);
+
+        assertTrue(total > 3);
+    }
+
+    @Test
+    void invalidCursor_returns400() throws Exception {
+        mockMvc.perform(get("/orders").param("mode", "cursor").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.message").value("Invalid cursor."));
+    }
+
+    @Test
+    void limitTooLarge_returns400() throws Exception {
+        mockMvc.perform(get("/orders").param("mode", "cursor").param("limit", "101"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private JsonNode fetch(MockHttpServletRequestBuilder request, String cursor) throws Exception {
+        if (cursor != null) {
+            request.param("cursor", cursor);
+        }
+        String json = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(json);
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.orders;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:customersearchdb;DB_CLOSE_DELAY=-1;MODE=PostgreSQL")
+@AutoConfigureMockMvc
+class OrderCustomerSearchTest {
+
+    @Autowired MockMvc mockMvc;
+    @Autowired ObjectMapper objectMapper;
+    @Autowired JdbcTemplate jdbcTemplate;
+
+    @Test
+    void matchModes_ignoreCaseAndExtraSpaces() throws Exception {
+        long marta = create("  Marta   VON Quixley ");
+        long martaSon = create("Marta von Quixleyson");
+        long other = create("Quentin Marta-Vonn");
+
+        assertEquals(List.of(marta), search("marta von quixley", "EXACT"));
+        assertEquals(List.of(marta), search("MARTA  von QUIXLEY", "EXACT"));
+        assertEquals(List.of(marta, martaSon), search("marta von quix", "PREFIX"));
+        assertEquals(List.of(), search("von quix", "PREFIX"));
+        // Every word given must start a word of the name, in any order.
+        assertEquals(List.of(marta, martaSon), search("QUIX marta", null));
+        assertEquals(List.of(martaSon), search("quixleyson", "WORDS"));
+        assertEquals(List.of(marta, martaSon, other), search("marta", "WORDS"));
+        assertEquals(List.of(), search("marta zzz", "WORDS"));
+    }
+
+    @Test
+    void likeWildcards_areMatchedLiterally() throws Exception {
+        long percent = create("100% Cotton_Co");
+        create("1000 Cottonwood Co");
+
+        assertEquals(List.of(percent), search("100%", "PREFIX"));
+        assertEquals(List.of(percent), search("cotton_", "WORDS"));
+        assertEquals(List.of(), search("cotton_c_", "WORDS"));
+    }
+
+    @Test
+    void totalsAndOtherEndpoints_applyTheCustomerFilter() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            create("Totals Ybarrondo " + i);
+        }
+
+        JsonNode page = list("/orders?customer=ybarrondo&limit=2");
+        assertEquals(3, page.get("totalItems").asLong());
+        assertTrue(page.get("totalExact").asBoolean());
+        assertEquals(2, page.get("items").size());
+
+        assertEquals(3, list("/orders?mode=slice&includeTotal=true&customer=ybarrondo").get("totalItems").asLong());
+        assertEquals(3, list("/orders?mode=cursor&customer=ybarrondo").get("items").size());
+        String stats = mockMvc.perform(get("/orders/stats")
+                        .param("customer", "totals ybarrondo 1")
+                        .param("customerMatch", "EXACT"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertEquals(1, objectMapper.readTree(stats).at("/total/count").asLong());
+        stats = mockMvc.perform(get("/orders/stats").param("customer", "ybarrondo tot"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertEquals(3, objectMapper.readTree(stats).at("/total/count").asLong());
+    }
+
+    @Test
+    void writes_keepTheSearchIndexInLine() throws Exception {
+        long id = create("Wendell Oyelaran");
+
+        mockMvc.perform(put("/orders/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"customerName\":\"Priya  Uzelac\"}"))
+                .andExpect(status().isOk());
+        assertEquals(List.of(), search("oyelaran", "WORDS"));
+        assertEquals(List.of(id), search("uzelac", "WORDS"));
+        assertEquals(List.of(id), search("priya uzelac", "EXACT"));
+
+        // A status-only update leaves the words alone.
+        mockMvc.perform(put("/orders/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"PAID\"}"))
+                .andExpect(status().isOk());
+        assertEquals(List.of(id), search("uzelac", "WORDS"));
+
+        mockMvc.perform(delete("/orders/{id}", id)).andExpect(status().isNoContent());
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM order_name_tokens WHERE order_id = ?", Long.class, id));
+    }
+
+    @Test
+    void batchCreatedOrders_areSearchable() throws Exception {
+        List<Map<String, Object>> body = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            body.add(Map.of("customerName", "Batch Xiomara " + i, "amount", 10 + i));
+        }
+        mockMvc.perform(post("/orders/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(body)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(3));
+
+        assertEquals(3, search("xiomara batch", "WORDS").size());
+        assertEquals(1, search("batch xiomara 2", "EXACT").size());
+    }
+
+    @Test
+    void seededOrders_areSearchable() {
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM orders WHERE customer_name_key IS NULL", Long.class));
+        assertEquals(0, jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM orders o
+                WHERE NOT EXISTS (SELECT 1 FROM order_name_tokens t WHERE t.order_id = o.id)""", Long.class));
+    }
+
+    private List<Long> search(String customer, String match) throws Exception {
+        var request = get("/orders").param("customer", customer).param("limit", "100");
+        if (match != null) {
+            request.param("customerMatch", match);
+        }
+        String json = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        List<Long> ids = new ArrayList<>();
+        objectMapper.readTree(json).get("items").forEach(item -> ids.add(item.get("id").asLong()));
+        // Orders created in the same instant have no defined order; compare by id.
+        return ids.stream().sorted().toList();
+    }
+
+    private JsonNode list(String uri) throws Exception {
+        String json = mockMvc.perform(get(uri))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(json);
+    }
+
+    private long create(String customer) throws Exception {
+        String json = mockMvc.perform(post("/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("customerName", customer, "amount", 10))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(json).get("id").asLong();
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.orders;
+
+import com.example.orders.store.ColumnarOrderStore;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// The edge profile: /orders served from the in-memory columnar store, no database at all.
+@SpringBootTest(properties = {
+        "orders.storage.memory.log=target/edge-test/orders-${random.uuid}.log",
+        "orders.storage.memory.force-writes=false"
+})
+@ActiveProfiles("edge")
+@AutoConfigureMockMvc
+class OrderEdgeStorageTest {
+
+    @Autowired MockMvc mockMvc;
+    @Autowired ObjectMapper objectMapper;
+    @Autowired ApplicationContext context;
+    @Autowired ColumnarOrderStore store;
+
+    @Test
+    void edge_runsWithoutADataSource() {
+        assertEquals(0, context.getBeanNamesForType(DataSource.class).length);
+    }
+
+    @Test
+    void crud_answersLikeTheSqlEngine() throws Exception {
+        long id = create("Edge Crud Ilse", "19.999");
+
+        mockMvc.perform(get("/orders/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andExpect(jsonPath("$.customerName").value("Edge Crud Ilse"))
+                .andExpect(jsonPath("$.status").value("NEW"))
+                .andExpect(jsonPath("$.amount").value(20.00));
+
+        mockMvc.perform(put("/orders/{id}", id)
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"PAID\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.status").value("PAID"));
+        mockMvc.perform(put("/orders/{id}", id)
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"SHIPPED\"}"))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(put("/orders/{id}", 999_999_999L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"SHIPPED\"}"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Order not found: 999999999"));
+        mockMvc.perform(post("/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"customerName\":\"Edge Too Much\",\"amount\":10000000000}"))
+                .andExpect(status().isBadRequest());
+
+        String lookup = mockMvc.perform(get("/orders").param("ids", id + ",999999999," + id))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertEquals(id, objectMapper.readTree(lookup).get("items").get(0).get("id").asLong());
+        assertEquals(999_999_999L, objectMapper.readTree(lookup).get("missing").get(0).asLong());
+
+        mockMvc.perform(delete("/orders/{id}", id)).andExpect(status().isNoContent());
+        mockMvc.perform(get("/orders/{id}", id)).andExpect(status().isNotFound());
+        mockMvc.perform(delete("/orders/{id}", id)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void listings_pageAndFilterTheStore() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            ids.add(create("Edge Listing Wojtek " + i, String.valueOf(1_000 + i)));
+        }
+        List<Long> newestFirst = new ArrayList<>(ids);
+        Collections.reverse(newestFirst);
+
+        JsonNode page = json(get("/orders").param("customer", "listing wojt").param("limit", "3").param("page", "2"));
+        assertEquals(newestFirst.subList(3, 6), ids(page));
+        assertEquals(7, page.get("totalItems").asLong());
+        assertTrue(page.get("totalExact").asBoolean());
+
+        JsonNode slice = json(get("/orders").param("mode", "slice").param("minAmount", "1002.5")
+                .param("maxAmount", "1005").param("customer", "wojtek").param("includeTotal", "true"));
+        assertEquals(newestFirst.subList(1, 4), ids(slice));
+        assertEquals(3, slice.get("totalItems").asLong());
+
+        List<Long> walked = new ArrayList<>();
+        String cursor = null;
+        do {
+            MockHttpServletRequestBuilder request = get("/orders").param("mode", "cursor").param("limit", "2")
+                    .param("customer", "Edge Listing").param("customerMatch", "PREFIX");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            JsonNode cursorPage = json(request);
+            walked.addAll(ids(cursorPage));
+            cursor = cursorPage.hasNonNull("nextCursor") ? cursorPage.get("nextCursor").asText() : null;
+        } while (cursor != null);
+        assertEquals(newestFirst, walked);
+
+        mockMvc.perform(get("/orders").param("minAmount", "5").param("maxAmount", "1"))
+                .andExpect(status().isBadRequest());
+        assertEquals(store.size(), json(get("/orders").param("limit", "1")).get("totalItems").asLong());
+    }
+
+    private JsonNode json(MockHttpServletRequestBuilder request) throws Exception {
+        return objectMapper.readTree(mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    private static List<Long> ids(JsonNode page) {
+        List<Long> ids = new ArrayList<>();
+        page.get("items").forEach(item -> ids.add(item.get("id").asLong()));
+        return ids;
+    }
+
+    private long create(String customer, String amount) throws Exception {
+        String json = mockMvc.perform(post("/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("customerName", customer, "amount",
+                                new BigDecimal(amount)))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(json).get("id").asLong();
+    }
+}
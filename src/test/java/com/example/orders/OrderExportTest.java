@@ -0,0 +1,97 @@
+package com.example.orders;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:exportdb;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "orders.export.fetch-size=7"
+})
+@AutoConfigureMockMvc
+class OrderExportTest {
+
+    @Autowired MockMvc mockMvc;
+    @Autowired ObjectMapper objectMapper;
+
+    @Test
+    void ndjson_streamsOneOrderPerLine_matchingFilters() throws Exception {
+        String body = export(get("/orders/export")
+                .param("status", "PAID")
+                .param("minAmount", "150"), "application/x-ndjson");
+
+        String[] lines = body.split("\n");
+        assertTrue(lines.length > 0);
+        for (String line : lines) {
+            JsonNode order = objectMapper.readTree(line);
+            assertEquals("PAID", order.get("status").asText());
+            assertTrue(order.get("amount").decimalValue().compareTo(new BigDecimal("150")) >= 0);
+            assertTrue(order.hasNonNull("id"));
+            assertTrue(order.hasNonNull("createdAt"));
+        }
+    }
+
+    @Test
+    void ndjson_withoutFilters_exportsEveryOrder() throws Exception {
+        String body = export(get("/orders/export"), "application/x-ndjson");
+
+        long total = objectMapper.readTree(mockMvc.perform(get("/orders").param("limit", "1"))
+                .andReturn().getResponse().getContentAsString()).get("totalItems").asLong();
+        assertEquals(total, body.lines().count());
+    }
+
+    @Test
+    void csv_hasHeaderAndRows() throws Exception {
+        String body = export(get("/orders/export")
+                .param("format", "csv")
+                .param("dateFrom", "2025-12-01")
+                .param("dateTo", "2025-12-31"), "text/csv");
+
+        String[] lines = body.split("\n");
+        assertEquals("id,customerName,status,amount,createdAt", lines[0]);
+        assertTrue(lines.length > 1);
+        for (int i = 1; i < lines.length; i++) {
+            assertTrue(lines[i].contains(",2025-12-"), lines[i]);
+        }
+    }
+
+    @Test
+    void unknownFormat_returns400() throws Exception {
+        mockMvc.perform(get("/orders/export").param("format", "xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("format")));
+    }
+
+    @Test
+    void invalidAmountRange_returns400() throws Exception {
+        mockMvc.perform(get("/orders/export").param("minAmount", "300").param("maxAmount", "200"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400));
+    }
+
+    private String export(MockHttpServletRequestBuilder request, String contentType) throws Exception {
+        MvcResult started = mockMvc.perform(request)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(contentType))
+                .andExpect(header().string("Content-Disposition", containsString("attachment")))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+    }
+}
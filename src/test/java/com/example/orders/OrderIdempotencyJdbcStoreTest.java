@@ -0,0 +1,96 @@
+package com.example.orders;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:idempotencyjdbcdb;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "orders.idempotency.store=jdbc",
+        "orders.idempotency.in-flight-timeout=5s"
+})
+@AutoConfigureMockMvc
+class OrderIdempotencyJdbcStoreTest {
+
+    @Autowired MockMvc mockMvc;
+    @Autowired JdbcTemplate jdbcTemplate;
+
+    @Test
+    void response_isStoredInTheTable_andReplayed() throws Exception {
+        String first = create("jdbc-replay", "Jdbc Replay Customer").andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals(201, jdbcTemplate.queryForObject(
+                "SELECT status FROM idempotency_keys WHERE idempotency_key = 'jdbc-replay'", Integer.class));
+        create("jdbc-replay", "Jdbc Replay Customer")
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(content().string(first));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM orders WHERE customer_name = 'Jdbc Replay Customer'", Integer.class));
+    }
+
+    @Test
+    void keyInProgressOnAnotherNode_isAConflict() throws Exception {
+        String fingerprint = fingerprint("Jdbc Busy Customer");
+        jdbcTemplate.update("""
+                INSERT INTO idempotency_keys (idempotency_key, fingerprint, created_at, expires_at)
+                VALUES ('jdbc-busy', ?, CURRENT_TIMESTAMP, DATEADD('HOUR', 1, CURRENT_TIMESTAMP))""", fingerprint);
+
+        create("jdbc-busy", "Jdbc Busy Customer").andExpect(status().isConflict());
+    }
+
+    @Test
+    void abandonedKey_canBeClaimedAgain() throws Exception {
+        String fingerprint = fingerprint("Jdbc Abandoned Customer");
+        jdbcTemplate.update("""
+                INSERT INTO idempotency_keys (idempotency_key, fingerprint, created_at, expires_at)
+                VALUES ('jdbc-abandoned', ?, DATEADD('MINUTE', -1, CURRENT_TIMESTAMP),
+                        DATEADD('HOUR', 1, CURRENT_TIMESTAMP))""", fingerprint);
+
+        create("jdbc-abandoned", "Jdbc Abandoned Customer").andExpect(status().isCreated());
+    }
+
+    @Test
+    void expiredKey_runsAgain() throws Exception {
+        create("jdbc-expired", "Jdbc Expired Customer").andExpect(status().isCreated());
+        jdbcTemplate.update("UPDATE idempotency_keys SET expires_at = DATEADD('SECOND', -1, CURRENT_TIMESTAMP)"
+                + " WHERE idempotency_key = 'jdbc-expired'");
+
+        create("jdbc-expired", "Jdbc Expired Customer")
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"));
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM orders WHERE customer_name = 'Jdbc Expired Customer'", Integer.class));
+    }
+
+    /** Another node's claim: SHA-256 of method, path and body of the request {@link #create} sends. */
+    private static String fingerprint(String customer) throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        digest.update("POST /orders\n".getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest.digest(body(customer).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String body(String customer) {
+        return "{\"customerName\":\"" + customer + "\",\"amount\":12.50}";
+    }
+
+    private ResultActions create(String key, String customer) throws Exception {
+        return mockMvc.perform(post("/orders").header("Idempotency-Key", key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body(customer)));
+    }
+}
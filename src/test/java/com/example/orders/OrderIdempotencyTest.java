@@ -0,0 +1,141 @@
+package com.example.orders;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:idempotencydb;DB_CLOSE_DELAY=-1;MODE=PostgreSQL")
+@AutoConfigureMockMvc
+class OrderIdempotencyTest {
+
+    @Autowired MockMvc mockMvc;
+    @Autowired ObjectMapper objectMapper;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired MeterRegistry meterRegistry;
+
+    @Test
+    void repeatedKey_replaysTheStoredResponse_withoutCreatingAnotherOrder() throws Exception {
+        String first = create("key-replay", "Replay Customer").andExpect(status().isCreated())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"))
+                .andReturn().getResponse().getContentAsString();
+
+        String second = create("key-replay", "Replay Customer").andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals(first, second);
+        assertEquals(1, countOrders("Replay Customer"));
+    }
+
+    @Test
+    void keyReusedForADifferentRequest_isRejected() throws Exception {
+        create("key-reuse", "Reuse Customer").andExpect(status().isCreated());
+
+        create("key-reuse", "Other Customer")
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.status").value(422));
+        assertEquals(0, countOrders("Other Customer"));
+    }
+
+    @Test
+    void failedRequest_isNotStored_soTheRetryRunsAgain() throws Exception {
+        mockMvc.perform(post("/orders").header("Idempotency-Key", "key-invalid")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"customerName\":\"Retry Customer\"}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post("/orders").header("Idempotency-Key", "key-invalid")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"customerName\":\"Retry Customer\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"));
+    }
+
+    @Test
+    void tooLongKey_isRejected() throws Exception {
+        create("k".repeat(256), "Long Key Customer")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Idempotency-Key must be 1 to 255 characters"));
+    }
+
+    @Test
+    void batch_isReplayedToo() throws Exception {
+        String body = "[{\"customerName\":\"Batch Replay Customer\",\"amount\":5}]";
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/orders/batch").header("Idempotency-Key", "key-batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.created").value(1));
+        }
+        assertEquals(1, countOrders("Batch Replay Customer"));
+    }
+
+    @Test
+    void concurrentDuplicates_areSingleFlighted() throws Exception {
+        int clients = 8;
+        double executedBefore = executed();
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<MvcResult>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < clients; i++) {
+                Callable<MvcResult> request = () -> {
+                    start.await();
+                    return create("key-concurrent", "Concurrent Customer").andReturn();
+                };
+                results.add(executor.submit(request));
+            }
+            start.countDown();
+
+            Set<Long> ids = new HashSet<>();
+            for (Future<MvcResult> result : results) {
+                assertEquals(201, result.get().getResponse().getStatus());
+                ids.add(objectMapper.readTree(result.get().getResponse().getContentAsString()).get("id").asLong());
+            }
+            assertEquals(1, ids.size());
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, countOrders("Concurrent Customer"));
+        assertEquals(1, executed() - executedBefore);
+    }
+
+    private ResultActions create(String key, String customer) throws Exception {
+        return mockMvc.perform(post("/orders").header("Idempotency-Key", key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"customerName\":\"" + customer + "\",\"amount\":12.50}"));
+    }
+
+    private int countOrders(String customer) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders WHERE customer_name = ?", Integer.class, customer);
+    }
+
+    private double executed() {
+        var counter = meterRegistry.find("orders.idempotency.requests").tag("outcome", "executed").counter();
+        return counter != null ? counter.count() : 0;
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.orders;
+
+import com.example.orders.dto.CustomerMatch;
+import com.example.orders.dto.OrderFilter;
+import com.example.orders.model.Order;
+import com.example.orders.model.OrderStatus;
+import com.example.orders.pagination.OrderCursor;
+import com.example.orders.repository.OrderRepository;
+import com.example.orders.spec.OrderSpecifications;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs EXPLAIN on the SQL Hibernate generates for every filter combination {@link OrderSpecifications#build}
+ * can produce (list, keyset and count queries) and fails if any of them scans the whole table.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:indexdb;DB_CLOSE_DELAY=-1;MODE=PostgreSQL")
+class OrderIndexUsageTest {
+
+    private static final Sort LIST_SORT = Sort.by("createdAt").descending();
+    private static final Sort KEYSET_SORT = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
+    @TestConfiguration
+    static class SqlCaptureConfig {
+        @Bean
+        RecordingStatementInspector recordingStatementInspector() {
+            return new RecordingStatementInspector();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer statementInspectorCustomizer(RecordingStatementInspector inspector) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+        }
+    }
+
+    static class RecordingStatementInspector implements StatementInspector {
+        final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+
+    @Autowired OrderRepository orderRepository;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired RecordingStatementInspector inspector;
+
+    @Test
+    void everyFilterCombination_usesAnIndex() {
+        OrderCursor cursor = new OrderCursor(Instant.parse("2025-12-01T00:00:00Z"), 1_000L);
+        List<String> failures = new ArrayList<>();
+
+        for (int mask = 0; mask < 32; mask++) {
+            assertEveryQueryUsesAnIndex(filterFor(mask), cursor, failures);
+        }
+
+        assertTrue(failures.isEmpty(), "Queries doing a full table scan:\n" + String.join("\n\n", failures));
+    }
+
+    @Test
+    void customerSearch_usesAnIndex_inEveryMatchMode() {
+        OrderCursor cursor = new OrderCursor(Instant.parse("2025-12-01T00:00:00Z"), 1_000L);
+        List<String> failures = new ArrayList<>();
+
+        for (CustomerMatch match : CustomerMatch.values()) {
+            for (int mask : new int[] {0, 1, 8 | 16}) {
+                OrderFilter filter = filterFor(mask);
+                filter.setCustomer("Customer 1");
+                filter.setCustomerMatch(match);
+                assertEveryQueryUsesAnIndex(filter, cursor, failures);
+            }
+        }
+
+        assertTrue(failures.isEmpty(), "Queries doing a full table scan:\n" + String.join("\n\n", failures));
+    }
+
+    private void assertEveryQueryUsesAnIndex(OrderFilter filter, OrderCursor cursor, List<String> failures) {
+        Specification<Order> spec = OrderSpecifications.build(filter);
+
+        assertUsesIndex("offset list " + filter, failures,
+                () -> orderRepository.findResponses(spec, LIST_SORT, 20, 10));
+        assertUsesIndex("keyset first page " + filter, failures,
+                () -> orderRepository.findResponses(spec, KEYSET_SORT, 0, 11));
+        assertUsesIndex("keyset next page " + filter, failures,
+                () -> orderRepository.findResponses(spec.and(OrderSpecifications.after(cursor)), KEYSET_SORT, 0, 11));
+        assertUsesIndex("count " + filter, failures, () -> orderRepository.count(spec));
+    }
+
+    private static OrderFilter filterFor(int mask) {
+        OrderFilter filter = new OrderFilter();
+        if ((mask & 1) != 0) filter.setStatus(OrderStatus.PAID);
+        if ((mask & 2) != 0) filter.setMinAmount(new BigDecimal("100.00"));
+        if ((mask & 4) != 0) filter.setMaxAmount(new BigDecimal("500.00"));
+        if ((mask & 8) != 0) filter.setDateFrom(LocalDate.of(2025, 11, 1));
+        if ((mask & 16) != 0) filter.setDateTo(LocalDate.of(2025, 12, 31));
+        return filter;
+    }
+
+    private void assertUsesIndex(String description, List<String> failures, Runnable query) {
+        inspector.statements.clear();
+        query.run();
+        assertEquals(1, inspector.statements.size(), description + " should run exactly one statement");
+
+        String sql = inspector.statements.get(0);
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+        if (plan.contains("tableScan")) {
+            failures.add(description + "\n" + plan);
+        }
+    }
+}
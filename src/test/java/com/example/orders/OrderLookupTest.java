@@ -0,0 +1,100 @@
+package com.example.orders;
+
+import com.example.orders.cache.OrderCache;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.StringJoiner;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:lookupdb;DB_CLOSE_DELAY=-1;MODE=PostgreSQL")
+@AutoConfigureMockMvc
+class OrderLookupTest {
+
+    @Autowired MockMvc mockMvc;
+    @Autowired ObjectMapper objectMapper;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired MeterRegistry meterRegistry;
+    @Autowired OrderCache orderCache;
+
+    @Test
+    void lookup_keepsTheRequestedOrder_andReportsMissingIds() throws Exception {
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM orders ORDER BY id FETCH FIRST 5 ROWS ONLY", Long.class);
+        List<Long> requested = new ArrayList<>(ids);
+        Collections.reverse(requested);
+        requested.add(2, 999_999_999L);
+        requested.add(ids.get(0)); // a duplicate is returned once
+
+        JsonNode response = lookup(requested);
+
+        JsonNode items = response.get("items");
+        assertEquals(5, items.size());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(ids.get(4 - i), items.get(i).get("id").asLong());
+        }
+        assertEquals(jdbcTemplate.queryForObject("SELECT customer_name FROM orders WHERE id = ?", String.class,
+                ids.get(4)), items.get(0).get("customerName").asText());
+        assertEquals(List.of(999_999_999L), objectMapper.convertValue(response.get("missing"), List.class).stream()
+                .map(id -> ((Number) id).longValue()).toList());
+    }
+
+    @Test
+    void lookup_runsOneQuery_andNoneOnceCached() throws Exception {
+        orderCache.invalidateAll();
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM orders ORDER BY id DESC FETCH FIRST 20 ROWS ONLY", Long.class);
+
+        double before = lookupStatements();
+        assertEquals(20, lookup(ids).get("items").size());
+        assertEquals(1, lookupStatements() - before);
+
+        // The first lookup filled the cache.
+        before = lookupStatements();
+        assertEquals(20, lookup(ids).get("items").size());
+        assertEquals(0, lookupStatements() - before);
+    }
+
+    @Test
+    void invalidLookups_areRejected() throws Exception {
+        List<Long> tooMany = new ArrayList<>();
+        for (long id = 1; id <= 101; id++) {
+            tooMany.add(id);
+        }
+        mockMvc.perform(get("/orders").param("ids", join(tooMany))).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/orders").param("ids", "")).andExpect(status().isBadRequest());
+    }
+
+    private JsonNode lookup(List<Long> ids) throws Exception {
+        String json = mockMvc.perform(get("/orders").param("ids", join(ids)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(json);
+    }
+
+    private double lookupStatements() {
+        return meterRegistry.find("orders.http.sql.statements").tags("uri", "/orders", "mode", "ids").summaries()
+                .stream()
+                .mapToDouble(DistributionSummary::totalAmount)
+                .sum();
+    }
+
+    private static String join(List<Long> ids) {
+        StringJoiner joined = new StringJoiner(",");
+        ids.forEach(id -> joined.add(id.toString()));
+        return joined.toString();
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.orders;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:metricsdb;DB_CLOSE_DELAY=-1;MODE=PostgreSQL")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class OrderMetricsTest {
+
+    @Autowired MockMvc mockMvc;
+    @Autowired MeterRegistry meterRegistry;
+
+    @Test
+    void listRequest_isTaggedWithFilterShapeAndMode() throws Exception {
+        mockMvc.perform(get("/orders").param("status", "PAID").param("minAmount", "10").param("mode", "slice"))
+                .andExpect(status().isOk());
+
+        assertNotNull(meterRegistry.find("http.server.requests")
+                .tags("uri", "/orders", "filters", "status+amount", "mode", "slice")
+                .timer());
+    }
+
+    @Test
+    void listRequest_recordsSqlStatementsAndRows() throws Exception {
+        // 50 seeded orders fit on one page of 100, so no count query is needed.
+        mockMvc.perform(get("/orders").param("limit", "100").param("dateFrom", "2020-01-01"))
+                .andExpect(status().isOk());
+
+        DistributionSummary statements = meterRegistry.get("orders.http.sql.statements")
+                .tags("uri", "/orders", "filters", "date", "mode", "offset").summary();
+        DistributionSummary rows = meterRegistry.get("orders.http.sql.rows")
+                .tags("uri", "/orders", "filters", "date", "mode", "offset").summary();
+        assertEquals(1, statements.count());
+        assertEquals(1, statements.totalAmount());
+        assertEquals(50, rows.totalAmount());
+    }
+
+    @Test
+    void prometheusEndpoint_exposesRequestPoolAndHibernateMetrics() throws Exception {
+        mockMvc.perform(get("/orders")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket{")))
+                .andExpect(content().string(containsString("orders_http_sql_statements_bucket{")))
+                .andExpect(content().string(containsString("hikaricp_connections_active")))
+                .andExpect(content().string(containsString("hibernate_statements_total")));
+    }
+}
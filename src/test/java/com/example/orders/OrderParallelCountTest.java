@@ -0,0 +1,94 @@
+package com.example.orders;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:parallelcountdb;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "orders.listing.count-execution=parallel",
+        "orders.listing.max-parallel-counts=2",
+        // Every unfiltered page needs a count query as well.
+        "orders.counters.enabled=false"})
+@AutoConfigureMockMvc
+class OrderParallelCountTest {
+
+    @Autowired MockMvc mockMvc;
+    @Autowired ObjectMapper objectMapper;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired MeterRegistry meterRegistry;
+
+    @Test
+    void totals_matchTheSequentialCount() throws Exception {
+        assertTotal("?limit=10", "SELECT COUNT(*) FROM orders");
+        assertTotal("?status=PAID&limit=2", "SELECT COUNT(*) FROM orders WHERE status = 'PAID'");
+        assertTotal("?minAmount=50&maxAmount=500&limit=2",
+                "SELECT COUNT(*) FROM orders WHERE amount >= 50 AND amount <= 500");
+        assertTotal("?dateFrom=2025-12-01&limit=2",
+                "SELECT COUNT(*) FROM orders WHERE created_at >= TIMESTAMP WITH TIME ZONE '2025-12-01 00:00:00Z'");
+    }
+
+    @Test
+    void parallelCount_isChargedToTheRequest() throws Exception {
+        double before = listStatements();
+
+        list("?minAmount=0&limit=10");
+
+        // Page query plus the count run on the other thread; also within the GET /orders budget of 2 (FAIL mode).
+        assertEquals(2, listStatements() - before);
+    }
+
+    @Test
+    void moreRequestsThanPermits_countSequentially() throws Exception {
+        long expected = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders WHERE amount >= 1", Long.class);
+        ExecutorService clients = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Long>> calls = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                calls.add(() -> list("?minAmount=1&limit=5").get("totalItems").asLong());
+            }
+            for (Future<Long> total : clients.invokeAll(calls)) {
+                assertEquals(expected, total.get());
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    private void assertTotal(String query, String countSql) throws Exception {
+        JsonNode page = list(query);
+        assertTrue(page.get("totalExact").asBoolean());
+        assertEquals(jdbcTemplate.queryForObject(countSql, Long.class), page.get("totalItems").asLong(), query);
+    }
+
+    private JsonNode list(String query) throws Exception {
+        String json = mockMvc.perform(get("/orders" + query))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(json);
+    }
+
+    private double listStatements() {
+        return meterRegistry.find("orders.http.sql.statements").tags("uri", "/orders").summaries().stream()
+                .mapToDouble(DistributionSummary::totalAmount)
+                .sum();
+    }
+}
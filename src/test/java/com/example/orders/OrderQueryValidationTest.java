@@ -1,13 +1,16 @@
 package com.example.orders;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import static org.hamcrest.Matchers.containsString;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest
@@ -34,5 +37,29 @@ class OrderQueryValidationTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void pageBeyondTheLargestOffset_shouldReturn400() throws Exception {
+        mockMvc.perform(get("/orders").param("page", "30000000").param("limit", "100"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(containsString("Page number is too large.")));
+    }
 
+    // Rescaling 1e99999999 to cents would take minutes; the bounds are clamped before any rounding.
+    @Test
+    @Timeout(10)
+    void hugeAmountExponents_shouldAnswerPromptly() throws Exception {
+        mockMvc.perform(get("/orders").param("minAmount", "1e99999999"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items").isEmpty());
+        mockMvc.perform(get("/orders").param("mode", "slice")
+                        .param("minAmount", "1e-99999999").param("maxAmount", "1e99999999"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items").isNotEmpty());
+        mockMvc.perform(get("/orders/export").param("maxAmount", "-1e99999999"))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"customerName\":\"Huge Exponent\",\"amount\":1e99999999}"))
+                .andExpect(status().isBadRequest());
+    }
 }
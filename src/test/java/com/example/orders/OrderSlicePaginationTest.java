@@ -0,0 +1,72 @@
+package com.example.orders;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class OrderSlicePaginationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void slice_returnsHasNext_withoutTotals() throws Exception {
+        mockMvc.perform(get("/orders").param("mode", "slice").param("page", "1").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.page").value(1))
+                .andExpect(jsonPath("$.limit").value(10))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.items.length()").value(10))
+                .andExpect(jsonPath("$.totalItems").doesNotExist())
+                .andExpect(jsonPath("$.totalPages").doesNotExist());
+    }
+
+    @Test
+    void slice_pastLastPage_hasNoNext() throws Exception {
+        mockMvc.perform(get("/orders").param("mode", "slice").param("page", "1000").param("limit", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.items.length()").value(0));
+    }
+
+    @Test
+    void slice_withIncludeTotal_returnsTotals() throws Exception {
+        mockMvc.perform(get("/orders")
+                        .param("mode", "slice")
+                        .param("limit", "10")
+                        .param("includeTotal", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalItems").value(greaterThanOrEqualTo(50)))
+                .andExpect(jsonPath("$.totalPages").value(greaterThanOrEqualTo(5)));
+    }
+
+    @Test
+    void slice_appliesFilters() throws Exception {
+        mockMvc.perform(get("/orders")
+                        .param("mode", "slice")
+                        .param("status", "SHIPPED")
+                        .param("limit", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.items[*].status").value(org.hamcrest.Matchers.everyItem(
+                        org.hamcrest.Matchers.is("SHIPPED"))));
+    }
+
+    @Test
+    void slice_invalidAmountRange_returns400() throws Exception {
+        mockMvc.perform(get("/orders")
+                        .param("mode", "slice")
+                        .param("minAmount", "300")
+                        .param("maxAmount", "200"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400));
+    }
+}
@@ -0,0 +1,217 @@
+package com.example.orders;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:statsdb;DB_CLOSE_DELAY=-1;MODE=PostgreSQL")
+@AutoConfigureMockMvc
+class OrderStatsTest {
+
+    private static final String ROLLUP = """
+            SELECT order_date, status, shard, order_count, amount_sum, amount_min, amount_max
+            FROM order_daily_stats WHERE order_count > 0 ORDER BY order_date, status, shard""";
+    // Archived orders stay in the rollup.
+    private static final String FROM_ORDERS = """
+            SELECT CAST(created_at AT TIME ZONE 'UTC' AS DATE) AS order_date, status, MOD(id, 8) AS shard,
+                   COUNT(*) AS order_count, SUM(amount) AS amount_sum, MIN(amount) AS amount_min,
+                   MAX(amount) AS amount_max
+            FROM (SELECT id, status, amount, created_at FROM orders
+                  UNION ALL
+                  SELECT id, status, amount, created_at FROM orders_archive) o
+            GROUP BY CAST(created_at AT TIME ZONE 'UTC' AS DATE), status, MOD(id, 8)
+            ORDER BY order_date, status, shard""";
+
+    @Autowired MockMvc mockMvc;
+    @Autowired ObjectMapper objectMapper;
+    @Autowired JdbcTemplate jdbcTemplate;
+
+    @Test
+    void seededRollup_matchesTheOrdersTable() {
+        assertRollupMatchesOrders();
+    }
+
+    @Test
+    void rollup_followsCreatesUpdatesAndDeletes() throws Exception {
+        long low = create("Stats Low", "1.00", "NEW");
+        create("Stats Mid", "5.00", "NEW");
+        long high = create("Stats High", "9.00", "NEW");
+        mockMvc.perform(post("/orders/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"customerName\":\"Stats Batch 1\",\"amount\":3,\"status\":\"PAID\"},"
+                                + "{\"customerName\":\"Stats Batch 2\",\"amount\":4,\"status\":\"PAID\"}]"))
+                .andExpect(status().isOk());
+        assertRollupMatchesOrders();
+
+        // The bucket's maximum moves down and the order changes bucket.
+        update(high, "{\"amount\":2.00}");
+        assertRollupMatchesOrders();
+        update(high, "{\"status\":\"SHIPPED\"}");
+        assertRollupMatchesOrders();
+        // A name-only change leaves the statistics alone.
+        update(high, "{\"customerName\":\"Stats Renamed\"}");
+        assertRollupMatchesOrders();
+
+        // Deleting the bucket's minimum forces a recompute.
+        mockMvc.perform(delete("/orders/{id}", low)).andExpect(status().isNoContent());
+        assertRollupMatchesOrders();
+    }
+
+    @Test
+    void removingAnExtreme_recomputesWithTheArchivedOrdersOfItsDay() throws Exception {
+        long archived = create("Stats Archived", "900.00", "CANCELLED");
+        long removed;
+        do {
+            removed = create("Stats Removed", "100.00", "CANCELLED");
+        } while (removed % 8 != archived % 8);
+        // The archive job has moved part of the day: the rollup row still counts the archived order.
+        jdbcTemplate.update("INSERT INTO orders_archive"
+                + " (id, version, customer_name, customer_name_key, status, amount, created_at)"
+                + " SELECT id, version, customer_name, customer_name_key, status, amount, created_at"
+                + " FROM orders WHERE id = ?", archived);
+        jdbcTemplate.update("DELETE FROM orders WHERE id = ?", archived);
+
+        // The removed order held the row's minimum; the archived one is what remains of it.
+        mockMvc.perform(delete("/orders/{id}", removed)).andExpect(status().isNoContent());
+
+        assertRollupMatchesOrders();
+        BigDecimal min = jdbcTemplate.queryForObject("SELECT amount_min FROM order_daily_stats"
+                + " WHERE status = 'CANCELLED' AND shard = ? AND order_date = ?", BigDecimal.class,
+                archived % 8, LocalDate.now(ZoneOffset.UTC));
+        assertEquals(0, new BigDecimal("900.00").compareTo(min));
+    }
+
+    @Test
+    void stats_groupByStatusAndDay_withFilters() throws Exception {
+        JsonNode stats = stats("?status=PAID&dateFrom=2025-12-01&dateTo=2025-12-31");
+
+        Map<String, Object> expected = jdbcTemplate.queryForMap("""
+                SELECT COUNT(*) AS c, SUM(amount) AS s, MIN(amount) AS mn, MAX(amount) AS mx FROM orders
+                WHERE status = 'PAID' AND created_at >= TIMESTAMP WITH TIME ZONE '2025-12-01 00:00:00Z'
+                  AND created_at < TIMESTAMP WITH TIME ZONE '2026-01-01 00:00:00Z'""");
+        assertEquals(((Number) expected.get("c")).longValue(), stats.at("/total/count").asLong());
+        assertEquals(0, ((BigDecimal) expected.get("s")).compareTo(stats.at("/total/sum").decimalValue()));
+        assertEquals(0, ((BigDecimal) expected.get("mn")).compareTo(stats.at("/total/min").decimalValue()));
+        assertEquals(0, ((BigDecimal) expected.get("mx")).compareTo(stats.at("/total/max").decimalValue()));
+        assertEquals(1, stats.get("byStatus").size());
+        assertEquals("PAID", stats.at("/byStatus/0/status").asText());
+        assertTrue(stats.at("/byStatus/0/day").isMissingNode());
+
+        long dayCount = 0;
+        String previousDay = "";
+        for (JsonNode day : stats.get("byDay")) {
+            assertTrue(day.get("day").asText().startsWith("2025-12"));
+            assertTrue(day.get("day").asText().compareTo(previousDay) > 0);
+            previousDay = day.get("day").asText();
+            dayCount += day.get("count").asLong();
+        }
+        assertEquals(stats.at("/total/count").asLong(), dayCount);
+    }
+
+    @Test
+    void amountFilters_areAggregatedFromOrders() throws Exception {
+        JsonNode stats = stats("?minAmount=100&maxAmount=200");
+
+        Long count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM orders WHERE amount >= 100 AND amount <= 200", Long.class);
+        assertEquals(count, stats.at("/total/count").asLong());
+        assertTrue(stats.at("/total/min").decimalValue().compareTo(new BigDecimal("100")) >= 0);
+        assertTrue(stats.at("/total/max").decimalValue().compareTo(new BigDecimal("200")) <= 0);
+    }
+
+    // Opposite transitions on the same day touch the same two buckets; taken in different orders, they deadlock.
+    @Test
+    void oppositeStatusChanges_runConcurrently() throws Exception {
+        long a = create("Stats Swap A", "6.00", "NEW");
+        long b = create("Stats Swap B", "7.00", "PAID");
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int i = 0; i < 50; i++) {
+                String forward = i % 2 == 0 ? "PAID" : "NEW";
+                String backward = i % 2 == 0 ? "NEW" : "PAID";
+                CyclicBarrier start = new CyclicBarrier(2);
+                Future<?> first = executor.submit(() -> {
+                    start.await();
+                    update(a, "{\"status\":\"" + forward + "\"}");
+                    return null;
+                });
+                Future<?> second = executor.submit(() -> {
+                    start.await();
+                    update(b, "{\"status\":\"" + backward + "\"}");
+                    return null;
+                });
+                first.get(30, TimeUnit.SECONDS);
+                second.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertRollupMatchesOrders();
+    }
+
+    @Test
+    void invalidDateRange_isRejected() throws Exception {
+        mockMvc.perform(get("/orders/stats").param("dateFrom", "2026-01-02").param("dateTo", "2026-01-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void assertRollupMatchesOrders() {
+        List<Map<String, Object>> rollup = jdbcTemplate.queryForList(ROLLUP);
+        List<Map<String, Object>> fromOrders = jdbcTemplate.queryForList(FROM_ORDERS);
+        assertEquals(fromOrders.size(), rollup.size());
+        for (int i = 0; i < rollup.size(); i++) {
+            Map<String, Object> actual = rollup.get(i);
+            Map<String, Object> expected = fromOrders.get(i);
+            for (String column : List.of("ORDER_DATE", "STATUS", "SHARD", "ORDER_COUNT")) {
+                assertEquals(expected.get(column).toString(), actual.get(column).toString(), column + " " + actual);
+            }
+            for (String column : List.of("AMOUNT_SUM", "AMOUNT_MIN", "AMOUNT_MAX")) {
+                assertEquals(0, ((BigDecimal) expected.get(column)).compareTo((BigDecimal) actual.get(column)),
+                        column + " " + actual + " vs " + expected);
+            }
+        }
+    }
+
+    private long create(String customer, String amount, String status) throws Exception {
+        String json = mockMvc.perform(post("/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"customerName\":\"" + customer + "\",\"amount\":" + amount
+                                + ",\"status\":\"" + status + "\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(json).get("id").asLong();
+    }
+
+    private void update(long id, String body) throws Exception {
+        mockMvc.perform(put("/orders/{id}", id).contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk());
+    }
+
+    private JsonNode stats(String query) throws Exception {
+        String json = mockMvc.perform(get("/orders/stats" + query))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(json);
+    }
+}
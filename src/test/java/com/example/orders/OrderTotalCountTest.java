@@ -0,0 +1,136 @@
+package com.example.orders;
+
+import com.example.orders.service.OrderCounters;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:totalsdb;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        // Reconciled by the tests only.
+        "orders.counters.reconcile-interval=1h"})
+@AutoConfigureMockMvc
+class OrderTotalCountTest {
+
+    @Autowired MockMvc mockMvc;
+    @Autowired ObjectMapper objectMapper;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired MeterRegistry meterRegistry;
+    @Autowired OrderCounters orderCounters;
+
+    @BeforeEach
+    void loadCounters() {
+        orderCounters.reconcile();
+    }
+
+    @Test
+    void noFilter_isServedFromTheCounters_withoutACountQuery() throws Exception {
+        double before = listStatements();
+        JsonNode page = list("");
+
+        assertFalse(page.get("totalExact").asBoolean());
+        assertEquals(count("SELECT COUNT(*) FROM orders"), page.get("totalItems").asLong());
+        assertEquals(1, listStatements() - before);
+    }
+
+    @Test
+    void statusOnly_isServedFromTheCounters_andFollowsWrites() throws Exception {
+        long paid = list("?status=PAID&limit=1").get("totalItems").asLong();
+
+        String json = mockMvc.perform(post("/orders").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"customerName\":\"Counter Check\",\"amount\":10,\"status\":\"PAID\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long id = objectMapper.readTree(json).get("id").asLong();
+        JsonNode page = list("?status=PAID&limit=1");
+        assertFalse(page.get("totalExact").asBoolean());
+        assertEquals(paid + 1, page.get("totalItems").asLong());
+
+        mockMvc.perform(put("/orders/{id}", id).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"SHIPPED\"}"))
+                .andExpect(status().isOk());
+        assertEquals(paid, list("?status=PAID&limit=1").get("totalItems").asLong());
+        assertEquals(count("SELECT COUNT(*) FROM orders WHERE status = 'SHIPPED'"),
+                list("?status=SHIPPED&limit=1").get("totalItems").asLong());
+
+        mockMvc.perform(delete("/orders/{id}", id)).andExpect(status().isNoContent());
+        assertEquals(count("SELECT COUNT(*) FROM orders"), list("?limit=1").get("totalItems").asLong());
+    }
+
+    @Test
+    void reconcile_picksUpWritesTheCountersDidNotSee() throws Exception {
+        // Another node's write: it reaches the database and the rollup, but not this node's counters.
+        jdbcTemplate.update("UPDATE order_daily_stats SET order_count = order_count + 5 "
+                + "WHERE order_date = (SELECT MIN(order_date) FROM order_daily_stats WHERE status = 'CANCELLED') "
+                + "AND status = 'CANCELLED'");
+        try {
+            long stale = list("?status=CANCELLED&limit=1").get("totalItems").asLong();
+            orderCounters.reconcile();
+            assertEquals(stale + 5, list("?status=CANCELLED&limit=1").get("totalItems").asLong());
+        } finally {
+            jdbcTemplate.update("UPDATE order_daily_stats SET order_count = order_count - 5 "
+                    + "WHERE order_date = (SELECT MIN(order_date) FROM order_daily_stats WHERE status = 'CANCELLED') "
+                    + "AND status = 'CANCELLED'");
+        }
+    }
+
+    @Test
+    void dateFilter_isCountedExactlyFromTheRollup() throws Exception {
+        JsonNode page = list("?dateFrom=2025-12-01&dateTo=2026-01-31&limit=1");
+
+        assertTrue(page.get("totalExact").asBoolean());
+        assertEquals(count("SELECT COUNT(*) FROM orders WHERE created_at >= TIMESTAMP WITH TIME ZONE "
+                        + "'2025-12-01 00:00:00Z' AND created_at < TIMESTAMP WITH TIME ZONE '2026-02-01 00:00:00Z'"),
+                page.get("totalItems").asLong());
+    }
+
+    @Test
+    void amountFilter_isCountedExactly() throws Exception {
+        JsonNode page = list("?minAmount=50&limit=1");
+
+        assertTrue(page.get("totalExact").asBoolean());
+        assertEquals(count("SELECT COUNT(*) FROM orders WHERE amount >= 50"), page.get("totalItems").asLong());
+    }
+
+    @Test
+    void lastPage_isExactFromThePageItself() throws Exception {
+        long total = count("SELECT COUNT(*) FROM orders");
+        int lastPage = (int) ((total + 9) / 10);
+        JsonNode page = list("?page=" + lastPage + "&limit=10");
+
+        if (total % 10 != 0) {
+            assertTrue(page.get("totalExact").asBoolean());
+        }
+        assertEquals(total, page.get("totalItems").asLong());
+    }
+
+    private JsonNode list(String query) throws Exception {
+        String json = mockMvc.perform(get("/orders" + query))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(json);
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+
+    private double listStatements() {
+        return meterRegistry.find("orders.http.sql.statements").tags("uri", "/orders").summaries().stream()
+                .mapToDouble(DistributionSummary::totalAmount)
+                .sum();
+    }
+}
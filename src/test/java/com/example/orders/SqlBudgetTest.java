@@ -0,0 +1,123 @@
+package com.example.orders;
+
+import com.example.orders.dto.CreateOrderRequest;
+import com.example.orders.dto.OrderResponse;
+import com.example.orders.dto.UpdateOrderRequest;
+import com.example.orders.metrics.SqlBudgetExceededException;
+import com.example.orders.metrics.SqlStatistics;
+import com.example.orders.model.OrderStatus;
+import com.example.orders.service.OrderService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:budgetdb;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "orders.sql-budget.mode=fail",
+        "orders.sql-budget.endpoints[0].endpoint=GET /orders",
+        "orders.sql-budget.endpoints[0].max-statements=1",
+        "orders.sql-budget.endpoints[1].endpoint=GET /orders/{id}",
+        "orders.sql-budget.endpoints[1].max-statements=1"
+})
+@AutoConfigureMockMvc
+class SqlBudgetTest {
+
+    @Autowired MockMvc mockMvc;
+    @Autowired MeterRegistry meterRegistry;
+    @Autowired OrderService orderService;
+
+    @Test
+    void requestWithinBudget_passes() throws Exception {
+        // 50 seeded orders fit on one page of 100: no count query.
+        mockMvc.perform(get("/orders").param("limit", "100")).andExpect(status().isOk());
+        mockMvc.perform(get("/orders/1")).andExpect(status().isOk());
+    }
+
+    @Test
+    void requestOverBudget_failsAndIsCounted() {
+        // A page of 10 out of 50 with an amount filter needs the count query as well: 2 statements.
+        SqlBudgetExceededException e = assertThrows(SqlBudgetExceededException.class,
+                () -> mockMvc.perform(get("/orders").param("limit", "10").param("minAmount", "0")));
+
+        assertTrue(e.getMessage().contains("GET /orders executed 2 SQL statements, budget is 1"), e.getMessage());
+        assertTrue(e.getMessage().contains("count("), e.getMessage());
+        assertEquals(1, meterRegistry.get("orders.http.sql.budget.exceeded")
+                .tags("method", "GET", "uri", "/orders").counter().count());
+    }
+
+    // The budgets in application.yml cover each endpoint's worst case (sequence allocation, min/max recompute, name
+    // tokens, archive lookups), for LOG mode in production. The common paths below are held to their exact count.
+
+    @Test
+    void create_runsOneStatementPerTable() {
+        List<String> sql = statements(() -> create("Budget Create", "50.00"));
+
+        // orders, order_name_tokens, order_daily_stats, order_change_outbox
+        assertEquals(4, sql.size(), sql::toString);
+    }
+
+    @Test
+    void statusChange_ofAnOrderHoldingNoExtreme_runsFourStatements() {
+        OrderResponse order = createBetweenExtremes("Budget Update");
+        UpdateOrderRequest update = new UpdateOrderRequest();
+        update.setStatus(OrderStatus.PAID);
+
+        List<String> sql = statements(() -> orderService.update(order.getId(), update));
+
+        // UPDATE orders, decrement of the old bucket, upsert of the new one, change-log insert
+        assertEquals(4, sql.size(), sql::toString);
+    }
+
+    @Test
+    void delete_ofAnOrderHoldingNoExtreme_runsThreeStatements() {
+        OrderResponse order = createBetweenExtremes("Budget Delete");
+
+        List<String> sql = statements(() -> orderService.delete(order.getId()));
+
+        // DELETE (name tokens cascade), bucket decrement, change-log insert
+        assertEquals(3, sql.size(), sql::toString);
+    }
+
+    /**
+     * An order whose rollup shard also holds a smaller and a larger amount, so taking it out recomputes nothing: ids
+     * are consecutive, so eight orders in a row land in every shard.
+     */
+    private OrderResponse createBetweenExtremes(String customerName) {
+        OrderResponse order = create(customerName, "50.00");
+        for (int i = 0; i < 8; i++) {
+            create(customerName + " Low", "0.01");
+        }
+        for (int i = 0; i < 8; i++) {
+            create(customerName + " High", "99999.00");
+        }
+        return order;
+    }
+
+    private OrderResponse create(String customerName, String amount) {
+        return orderService.createOrder(CreateOrderRequest.builder()
+                .customerName(customerName)
+                .amount(new BigDecimal(amount))
+                .build());
+    }
+
+    /** SQL run by {@code action} on this thread, without the id sequence's calls (one per 50 ids). */
+    private static List<String> statements(Runnable action) {
+        SqlStatistics statistics = SqlStatistics.start();
+        try {
+            action.run();
+        } finally {
+            statistics.stop();
+        }
+        return statistics.getSql().stream().filter(sql -> !sql.contains("orders_seq")).toList();
+    }
+}
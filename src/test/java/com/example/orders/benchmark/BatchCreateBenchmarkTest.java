@@ -0,0 +1,82 @@
+package com.example.orders.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Compares N single {@code POST /orders} calls with one {@code POST /orders/batch} of N items.
+ * Excluded from the default build; run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bench-batch;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "logging.level.org.hibernate.SQL=info"
+})
+@AutoConfigureMockMvc
+class BatchCreateBenchmarkTest {
+
+    private static final int ORDERS = 5_000;
+    private static final int ROUNDS = 3;
+
+    @Autowired MockMvc mockMvc;
+    @Autowired ObjectMapper objectMapper;
+
+    @Test
+    void batchInsert_vs_singlePosts() throws Exception {
+        List<Map<String, Object>> orders = new ArrayList<>(ORDERS);
+        for (int i = 0; i < ORDERS; i++) {
+            orders.add(Map.of("customerName", "Bench Customer " + i, "amount", 1 + (i % 500), "status", "NEW"));
+        }
+        List<String> singleBodies = new ArrayList<>(ORDERS);
+        for (Map<String, Object> order : orders) {
+            singleBodies.add(objectMapper.writeValueAsString(order));
+        }
+        String batchBody = objectMapper.writeValueAsString(orders);
+
+        // Warm-up round for both paths.
+        runSingles(singleBodies.subList(0, 500));
+        runBatch(objectMapper.writeValueAsString(orders.subList(0, 500)), 500);
+
+        for (int round = 1; round <= ROUNDS; round++) {
+            long singleNanos = runSingles(singleBodies);
+            long batchNanos = runBatch(batchBody, ORDERS);
+            System.out.printf("round %d: %d single POSTs %.0f orders/s | one batch POST %.0f orders/s | speed-up x%.1f%n",
+                    round, ORDERS, rate(singleNanos), rate(batchNanos), (double) singleNanos / batchNanos);
+        }
+    }
+
+    private long runSingles(List<String> bodies) throws Exception {
+        long start = System.nanoTime();
+        for (String body : bodies) {
+            mockMvc.perform(post("/orders").contentType(MediaType.APPLICATION_JSON).content(body))
+                    .andExpect(status().isCreated());
+        }
+        return System.nanoTime() - start;
+    }
+
+    private long runBatch(String body, int expected) throws Exception {
+        long start = System.nanoTime();
+        mockMvc.perform(post("/orders/batch").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(expected));
+        return System.nanoTime() - start;
+    }
+
+    private static double rate(long nanos) {
+        return ORDERS / (nanos / 1_000_000_000.0);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.orders.benchmark;
+
+import com.example.orders.OrdersApiApplication;
+import com.example.orders.dto.CustomerMatch;
+import com.example.orders.dto.OrderFilter;
+import com.example.orders.dto.OrderResponse;
+import com.example.orders.dto.PagedResponse;
+import com.example.orders.service.OrderService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+/**
+ * Latency of the first {@code GET /orders} page (20 items plus its count) for each customer match mode, against
+ * 200k orders with 5 000 given names times 40 family names. Each search picks another name, so that H2's result
+ * cache does not answer repeated queries. Run with {@code mvn test -Pbenchmark -Dtest=CustomerSearchBenchmarkTest}.
+ */
+@Tag("benchmark")
+class CustomerSearchBenchmarkTest {
+
+    private static final int ROWS = 200_000;
+    private static final int WARMUP = 500;
+    private static final int MEASURED = 2_000;
+
+    @Test
+    void customerSearch() {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(OrdersApiApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:bench-customer;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+                        "logging.level.root=warn",
+                        "logging.level.org.hibernate.SQL=info")
+                .run()) {
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            // Names and their search columns are written the way the application writes them.
+            jdbcTemplate.update("""
+                    INSERT INTO orders (id, version, customer_name, customer_name_key, status, amount, created_at)
+                    SELECT NEXT VALUE FOR orders_seq, 0, 'Given' || MOD(X, 5000) || ' Family' || X / 5000,
+                           'given' || MOD(X, 5000) || ' family' || X / 5000,
+                           CASEWHEN(MOD(X, 2) = 0, 'PAID', 'NEW'), MOD(X, 1000) + 0.99,
+                           DATEADD('SECOND', -X, TIMESTAMP '2026-01-01 00:00:00')
+                    FROM SYSTEM_RANGE(1, ?)""", ROWS);
+            jdbcTemplate.update("""
+                    INSERT INTO order_name_tokens (order_id, token)
+                    SELECT id, SUBSTRING(customer_name_key FROM 1 FOR POSITION(' ' IN customer_name_key) - 1)
+                    FROM orders WHERE customer_name_key LIKE 'given%'
+                    UNION ALL
+                    SELECT id, SUBSTRING(customer_name_key FROM POSITION(' ' IN customer_name_key) + 1)
+                    FROM orders WHERE customer_name_key LIKE 'given%'""");
+            OrderService orderService = context.getBean(OrderService.class);
+            Random random = new Random(42);
+
+            measure(orderService, CustomerMatch.EXACT,
+                    i -> "Given" + random.nextInt(5000) + " Family" + random.nextInt(40));
+            measure(orderService, CustomerMatch.PREFIX,
+                    i -> "given" + random.nextInt(5000) + " fam");
+            measure(orderService, CustomerMatch.WORDS,
+                    i -> "family" + random.nextInt(40) + " given" + random.nextInt(5000));
+            measure(orderService, CustomerMatch.WORDS,
+                    i -> "family" + random.nextInt(40));
+            jdbcTemplate.execute("SHUTDOWN");
+        }
+    }
+
+    private static void measure(OrderService orderService, CustomerMatch match, IntFunction<String> customers) {
+        long[] latencies = new long[MEASURED];
+        long matched = 0;
+        for (int i = 0; i < WARMUP + MEASURED; i++) {
+            String customer = customers.apply(i);
+            long start = System.nanoTime();
+            PagedResponse<OrderResponse> page = orderService.getOrders(1, 20,
+                    new OrderFilter(null, null, null, null, null, customer, match));
+            if (i >= WARMUP) {
+                latencies[i - WARMUP] = System.nanoTime() - start;
+                matched += page.getTotalItems();
+            }
+        }
+        Arrays.sort(latencies);
+        System.out.printf("%-6s e.g. %-22s  avg %7.1f matches  p50 %6.2f ms  p99 %6.2f ms%n",
+                match, "'" + customers.apply(0) + "'", matched / (double) MEASURED,
+                latencies[MEASURED / 2] / 1e6, latencies[(int) (MEASURED * 0.99)] / 1e6);
+    }
+}
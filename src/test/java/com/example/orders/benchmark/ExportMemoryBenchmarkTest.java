@@ -0,0 +1,79 @@
+package com.example.orders.benchmark;
+
+import com.example.orders.dto.ExportFormat;
+import com.example.orders.dto.OrderFilter;
+import com.example.orders.service.OrderExportService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Exports a large seeded table and samples the retained (post-GC) heap while streaming.
+ * Run with {@code mvn test -Pbenchmark -Dtest=ExportMemoryBenchmarkTest}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bench-export;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "logging.level.org.hibernate.SQL=info"
+})
+class ExportMemoryBenchmarkTest {
+
+    private static final int ROWS = 1_000_000;
+
+    @Autowired OrderExportService orderExportService;
+    @Autowired JdbcTemplate jdbcTemplate;
+
+    @Test
+    void exportKeepsHeapFlat() throws Exception {
+        jdbcTemplate.update("""
+                INSERT INTO orders (id, customer_name, status, amount, created_at)
+                SELECT NEXT VALUE FOR orders_seq, 'Export Customer ' || X,
+                       CASEWHEN(MOD(X, 2) = 0, 'PAID', 'NEW'), MOD(X, 1000) + 0.99,
+                       DATEADD('SECOND', -X, TIMESTAMP '2026-01-01 00:00:00')
+                FROM SYSTEM_RANGE(1, ?)""", ROWS);
+        long expected = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders", Long.class);
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long baseline = memory.getHeapMemoryUsage().getUsed();
+        long[] peak = {baseline};
+        OutputStream sink = new OutputStream() {
+            long bytes;
+
+            @Override
+            public void write(int b) {
+                count(1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                count(len);
+            }
+
+            private void count(int len) {
+                bytes += len;
+                // Every ~16 MB of output, sample the heap that survives a full GC.
+                if (bytes % (16 * 1024 * 1024) < len) {
+                    System.gc();
+                    peak[0] = Math.max(peak[0], memory.getHeapMemoryUsage().getUsed());
+                }
+            }
+        };
+
+        long start = System.nanoTime();
+        long rows = orderExportService.export(new OrderFilter(), ExportFormat.NDJSON, sink);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        assertEquals(expected, rows);
+        System.out.printf("exported %d rows in %.1fs (%.0f rows/s); retained heap before %d MB, peak retained while streaming %d MB%n",
+                rows, seconds, rows / seconds, baseline >> 20, peak[0] >> 20);
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.orders.benchmark;
+
+import com.example.orders.OrdersApiApplication;
+import com.example.orders.service.OrderService;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Latency of {@code getOrders} pages that need a count query, with the count run after the page query
+ * ({@code sequential}) and next to it ({@code parallel}), for 1, 4 and 16 closed-loop callers against 200k rows.
+ * Connection-pool pressure is sampled every millisecond from Hikari: the mean and peak of active connections and of
+ * threads waiting for one. Run with {@code mvn test -Pbenchmark -Dtest=ParallelCountBenchmarkTest}.
+ */
+@Tag("benchmark")
+class ParallelCountBenchmarkTest {
+
+    private static final int[] CALLERS = {1, 4, 16};
+    private static final int ROWS = 200_000;
+    private static final Duration WARMUP = Duration.ofSeconds(3);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(10);
+
+    @Test
+    void sequential() throws Exception {
+        run("sequential");
+    }
+
+    @Test
+    void parallel() throws Exception {
+        run("parallel");
+    }
+
+    private void run(String mode) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(OrdersApiApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:bench-count-" + mode + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+                        "logging.level.root=warn",
+                        "logging.level.org.hibernate.SQL=info",
+                        "orders.listing.count-execution=" + mode,
+                        "orders.listing.max-parallel-counts=4")
+                .run()) {
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            jdbcTemplate.update("""
+                    INSERT INTO orders (id, version, customer_name, status, amount, created_at)
+                    SELECT NEXT VALUE FOR orders_seq, 0, 'Count Customer ' || X,
+                           CASEWHEN(MOD(X, 2) = 0, 'PAID', 'NEW'), MOD(X, 1000) + 0.99,
+                           DATEADD('SECOND', -X, TIMESTAMP '2026-01-01 00:00:00')
+                    FROM SYSTEM_RANGE(1, ?)""", ROWS);
+            OrderService orderService = context.getBean(OrderService.class);
+            HikariPoolMXBean pool = context.getBean(DataSource.class).unwrap(HikariDataSource.class).getHikariPoolMXBean();
+            // An amount filter is never answered from counters or the rollup: every page runs COUNT(*) over orders.
+            // The bound varies so that H2's result cache does not answer repeated queries.
+            Runnable call = () -> orderService.getOrders(2, 20, null,
+                    BigDecimal.valueOf(ThreadLocalRandom.current().nextInt(100, 200)), null, null, null);
+
+            // Unreported round so that both modes are measured with a warmed-up JIT.
+            load(call, pool, CALLERS[0]);
+            for (int callers : CALLERS) {
+                report(mode, callers, load(call, pool, callers));
+            }
+            // The in-memory database would otherwise outlive the context and weigh on the next mode's run.
+            jdbcTemplate.execute("SHUTDOWN");
+        }
+    }
+
+    private static Result load(Runnable call, HikariPoolMXBean pool, int callers) throws InterruptedException {
+        long measureFrom = System.nanoTime() + WARMUP.toNanos();
+        long measureUntil = measureFrom + MEASUREMENT.toNanos();
+        Result result = new Result();
+        CountDownLatch done = new CountDownLatch(callers);
+        for (int i = 0; i < callers; i++) {
+            Thread caller = new Thread(() -> {
+                long start;
+                while ((start = System.nanoTime()) < measureUntil) {
+                    call.run();
+                    if (start >= measureFrom) {
+                        result.record(System.nanoTime() - start);
+                    }
+                }
+                done.countDown();
+            });
+            caller.setDaemon(true);
+            caller.start();
+        }
+        while (!done.await(1, TimeUnit.MILLISECONDS)) {
+            if (System.nanoTime() >= measureFrom) {
+                result.sample(pool.getActiveConnections(), pool.getThreadsAwaitingConnection());
+            }
+        }
+        return result;
+    }
+
+    private static void report(String mode, int callers, Result result) {
+        long[] latencies = result.sortedLatencies();
+        int n = latencies.length;
+        System.out.printf("%-10s %2d callers  %7.0f calls/s  p50 %7.2f ms  p99 %7.2f ms"
+                        + "  active conns avg %5.2f max %2d  waiting avg %5.2f max %2d%n",
+                mode, callers, n / (double) MEASUREMENT.toSeconds(),
+                n > 0 ? latencies[n / 2] / 1e6 : 0, n > 0 ? latencies[(int) (n * 0.99)] / 1e6 : 0,
+                result.activeSum / (double) Math.max(result.samples, 1), result.activeMax,
+                result.waitingSum / (double) Math.max(result.samples, 1), result.waitingMax);
+    }
+
+    private static final class Result {
+        private final long[] latencies = new long[2_000_000];
+        private final AtomicInteger recorded = new AtomicInteger();
+        // Written by the sampling thread only.
+        private long samples;
+        private long activeSum;
+        private int activeMax;
+        private long waitingSum;
+        private int waitingMax;
+
+        void record(long nanos) {
+            int i = recorded.getAndIncrement();
+            if (i < latencies.length) {
+                latencies[i] = nanos;
+            }
+        }
+
+        void sample(int active, int waiting) {
+            samples++;
+            activeSum += active;
+            activeMax = Math.max(activeMax, active);
+            waitingSum += waiting;
+            waitingMax = Math.max(waitingMax, waiting);
+        }
+
+        long[] sortedLatencies() {
+            long[] copy = Arrays.copyOf(latencies, Math.min(recorded.get(), latencies.length));
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
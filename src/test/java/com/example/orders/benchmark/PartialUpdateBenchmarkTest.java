@@ -0,0 +1,68 @@
+package com.example.orders.benchmark;
+
+import com.example.orders.dto.CreateOrderRequest;
+import com.example.orders.dto.UpdateOrderRequest;
+import com.example.orders.model.Order;
+import com.example.orders.model.OrderStatus;
+import com.example.orders.repository.OrderRepository;
+import com.example.orders.service.OrderService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * Status transitions through {@link OrderService#update} (single UPDATE returning the row) versus the
+ * previous load-then-save path ({@code findById} + {@code save}).
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bench-update;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "logging.level.org.hibernate.SQL=info",
+        "orders.cache.enabled=false"
+})
+class PartialUpdateBenchmarkTest {
+
+    private static final int ITERATIONS = 20_000;
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    @Autowired OrderService orderService;
+    @Autowired OrderRepository orderRepository;
+
+    @Test
+    void singleStatementUpdate_vs_loadThenSave() {
+        long id = orderService.createOrder(CreateOrderRequest.builder()
+                .customerName("Bench Update")
+                .amount(new BigDecimal("10.00"))
+                .build()).getId();
+
+        for (int round = 0; round < 3; round++) {
+            long[] singleStatement = time(i -> {
+                UpdateOrderRequest req = new UpdateOrderRequest();
+                req.setStatus(STATUSES[i % STATUSES.length]);
+                orderService.update(id, req);
+            });
+            long[] loadThenSave = time(i -> {
+                Order order = orderRepository.findById(id).orElseThrow();
+                order.setStatus(STATUSES[i % STATUSES.length]);
+                orderRepository.save(order);
+            });
+            System.out.printf("round %d: single UPDATE p50 %d us p99 %d us | findById+save p50 %d us p99 %d us%n",
+                    round, singleStatement[0], singleStatement[1], loadThenSave[0], loadThenSave[1]);
+        }
+    }
+
+    private static long[] time(java.util.function.IntConsumer action) {
+        long[] samples = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            action.accept(i);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return new long[]{samples[ITERATIONS / 2] / 1_000, samples[ITERATIONS * 99 / 100] / 1_000};
+    }
+}
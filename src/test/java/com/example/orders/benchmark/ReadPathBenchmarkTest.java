@@ -0,0 +1,70 @@
+package com.example.orders.benchmark;
+
+import com.example.orders.model.OrderStatus;
+import com.example.orders.service.OrderService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+/**
+ * Latency and per-call allocation of the read paths ({@code getOrders} pages of 100, {@code getById}
+ * with the cache off) against 100k seeded rows. Allocation is measured on the calling thread with
+ * {@code com.sun.management.ThreadMXBean#getCurrentThreadAllocatedBytes()}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bench-read;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "logging.level.org.hibernate.SQL=info",
+        "orders.cache.enabled=false"
+})
+class ReadPathBenchmarkTest {
+
+    private static final int ROWS = 100_000;
+    private static final int ITERATIONS = 2_000;
+
+    @Autowired OrderService orderService;
+    @Autowired JdbcTemplate jdbcTemplate;
+
+    @Test
+    void readPaths() {
+        jdbcTemplate.update("""
+                INSERT INTO orders (id, version, customer_name, status, amount, created_at)
+                SELECT NEXT VALUE FOR orders_seq, 0, 'Read Customer ' || X,
+                       CASEWHEN(MOD(X, 2) = 0, 'PAID', 'NEW'), MOD(X, 1000) + 0.99,
+                       DATEADD('SECOND', -X, TIMESTAMP '2026-01-01 00:00:00')
+                FROM SYSTEM_RANGE(1, ?)""", ROWS);
+        long id = jdbcTemplate.queryForObject("SELECT MIN(id) FROM orders", Long.class);
+
+        for (int round = 0; round < 6; round++) {
+            report("getOrders(page 1, limit 100)",
+                    measure(() -> orderService.getOrders(1, 100, null, null, null, null, null)));
+            report("getOrders(status=PAID, page 50, limit 100)",
+                    measure(() -> orderService.getOrders(50, 100, OrderStatus.PAID, null, null, null, null)));
+            report("getById", measure(() -> orderService.getById(id)));
+        }
+    }
+
+    private static long[] measure(Runnable call) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long[] latencies = new long[ITERATIONS];
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            call.run();
+            latencies[i] = System.nanoTime() - start;
+        }
+        long allocatedPerCall = (threads.getCurrentThreadAllocatedBytes() - allocatedBefore) / ITERATIONS;
+        Arrays.sort(latencies);
+        return new long[]{latencies[ITERATIONS / 2] / 1_000, latencies[ITERATIONS * 99 / 100] / 1_000, allocatedPerCall};
+    }
+
+    private static void report(String name, long[] result) {
+        System.out.printf("%-45s p50 %6d us  p99 %6d us  %8d B/op%n", name, result[0], result[1], result[2]);
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.orders.benchmark;
+
+import com.example.orders.OrdersApiApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Throughput and latency of {@code GET /orders} and {@code POST /orders} over real HTTP with 50, 500 and 5000
+ * concurrent closed-loop clients, on Tomcat's platform thread pool and on virtual threads
+ * (profile {@code virtual-threads}: virtual threads plus the admission limit sized to the JDBC pool).
+ * <p>
+ * The virtual-thread run needs Java 21: {@code mvn test -Pbenchmark,java21 -Dtest=VirtualThreadLoadBenchmarkTest}
+ * with a JDK 21 {@code JAVA_HOME}. Rejected (503) and failed requests are reported separately from latencies.
+ */
+@Tag("benchmark")
+class VirtualThreadLoadBenchmarkTest {
+
+    private static final int[] CLIENTS = {50, 500, 5_000};
+    private static final int ROWS = 10_000;
+    private static final Duration WARMUP = Duration.ofSeconds(3);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(10);
+    private static final String ORDER_JSON = "{\"customerName\":\"Load Client\",\"amount\":12.50}";
+
+    @Test
+    void platformThreads() throws Exception {
+        run("platform", "spring.threads.virtual.enabled=false");
+    }
+
+    @Test
+    void virtualThreads() throws Exception {
+        assumeTrue(Runtime.version().feature() >= 21, "virtual threads need Java 21");
+        run("virtual", "spring.profiles.active=virtual-threads");
+    }
+
+    private void run(String model, String threadingProperty) throws Exception {
+        try (ServletWebServerApplicationContext context = (ServletWebServerApplicationContext)
+                new SpringApplicationBuilder(OrdersApiApplication.class)
+                        .properties(
+                                "server.port=0",
+                                "server.tomcat.max-connections=10000",
+                                "spring.datasource.url=jdbc:h2:mem:bench-load-" + model + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+                                "logging.level.root=warn",
+                                "logging.level.org.hibernate.SQL=info",
+                                threadingProperty)
+                        .run()) {
+            context.getBean(JdbcTemplate.class).update("""
+                    INSERT INTO orders (id, version, customer_name, status, amount, created_at)
+                    SELECT NEXT VALUE FOR orders_seq, 0, 'Load Customer ' || X,
+                           CASEWHEN(MOD(X, 2) = 0, 'PAID', 'NEW'), MOD(X, 1000) + 0.99,
+                           DATEADD('SECOND', -X, TIMESTAMP '2026-01-01 00:00:00')
+                    FROM SYSTEM_RANGE(1, ?)""", ROWS);
+
+            URI orders = URI.create("http://localhost:" + context.getWebServer().getPort() + "/orders");
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            Supplier<HttpRequest> list = () -> HttpRequest.newBuilder(URI.create(orders + "?limit=10"))
+                    .timeout(Duration.ofSeconds(30)).GET().build();
+            Supplier<HttpRequest> create = () -> HttpRequest.newBuilder(orders)
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(ORDER_JSON))
+                    .build();
+
+            // Unreported round so that both models are measured with a warmed-up JIT.
+            load(client, list, CLIENTS[0]);
+            load(client, create, CLIENTS[0]);
+            for (int clients : CLIENTS) {
+                report(model, "GET /orders", clients, load(client, list, clients));
+                report(model, "POST /orders", clients, load(client, create, clients));
+            }
+        }
+    }
+
+    /** Every client sends its next request as soon as the previous one completes. */
+    private static Result load(HttpClient client, Supplier<HttpRequest> request, int clients)
+            throws InterruptedException {
+        long measureFrom = System.nanoTime() + WARMUP.toNanos();
+        long measureUntil = measureFrom + MEASUREMENT.toNanos();
+        Result result = new Result();
+        CountDownLatch done = new CountDownLatch(clients);
+        for (int i = 0; i < clients; i++) {
+            send(client, request, measureFrom, measureUntil, result, done);
+        }
+        done.await(MEASUREMENT.toSeconds() + WARMUP.toSeconds() + 60, TimeUnit.SECONDS);
+        return result;
+    }
+
+    private static void send(HttpClient client, Supplier<HttpRequest> request, long measureFrom, long measureUntil,
+                             Result result, CountDownLatch done) {
+        long start = System.nanoTime();
+        if (start >= measureUntil) {
+            done.countDown();
+            return;
+        }
+        client.sendAsync(request.get(), HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+            if (start >= measureFrom) {
+                if (error != null) {
+                    result.failed.increment();
+                } else if (response.statusCode() == 503) {
+                    result.rejected.increment();
+                } else if (response.statusCode() >= 400) {
+                    result.failed.increment();
+                } else {
+                    result.record(System.nanoTime() - start);
+                }
+            }
+            send(client, request, measureFrom, measureUntil, result, done);
+        });
+    }
+
+    private static void report(String model, String endpoint, int clients, Result result) {
+        long[] latencies = result.sortedLatencies();
+        int n = latencies.length;
+        System.out.printf("%-8s %-13s %5d clients  %8.0f req/s  p50 %7.1f ms  p99 %7.1f ms  503 %6d  errors %6d%n",
+                model, endpoint, clients, n / (double) MEASUREMENT.toSeconds(),
+                n > 0 ? latencies[n / 2] / 1e6 : 0, n > 0 ? latencies[(int) (n * 0.99)] / 1e6 : 0,
+                result.rejected.sum(), result.failed.sum());
+    }
+
+    private static final class Result {
+        private final long[] latencies = new long[5_000_000];
+        private final AtomicInteger recorded = new AtomicInteger();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+
+        void record(long nanos) {
+            int i = recorded.getAndIncrement();
+            if (i < latencies.length) {
+                latencies[i] = nanos;
+            }
+        }
+
+        long[] sortedLatencies() {
+            long[] copy = Arrays.copyOf(latencies, Math.min(recorded.get(), latencies.length));
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
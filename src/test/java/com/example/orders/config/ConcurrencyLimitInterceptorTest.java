@@ -0,0 +1,52 @@
+package com.example.orders.config;
+
+import com.example.orders.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimitInterceptorTest {
+
+    private final AtomicInteger rejected = new AtomicInteger();
+    private final ConcurrencyLimitInterceptor interceptor =
+            new ConcurrencyLimitInterceptor(1, Duration.ofMillis(20), rejected::incrementAndGet);
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Test
+    void requestOverLimit_isRejectedAfterMaxWait() {
+        MockHttpServletRequest first = new MockHttpServletRequest("GET", "/orders");
+        assertTrue(interceptor.preHandle(first, response, null));
+
+        ServiceUnavailableException e = assertThrows(ServiceUnavailableException.class,
+                () -> interceptor.preHandle(new MockHttpServletRequest("GET", "/orders"), response, null));
+        assertEquals(Duration.ofMillis(20), e.getRetryAfter());
+        assertEquals(1, rejected.get());
+    }
+
+    @Test
+    void completedRequest_releasesItsSlot() {
+        MockHttpServletRequest first = new MockHttpServletRequest("GET", "/orders");
+        interceptor.preHandle(first, response, null);
+        interceptor.afterCompletion(first, response, null, null);
+        // A second callback for the same request must not release twice.
+        interceptor.afterCompletion(first, response, null, null);
+
+        assertEquals(1, interceptor.available());
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest("GET", "/orders"), response, null));
+        assertEquals(0, interceptor.available());
+    }
+
+    @Test
+    void asyncRequest_releasesItsSlotWhenAsyncProcessingStarts() {
+        MockHttpServletRequest export = new MockHttpServletRequest("GET", "/orders/export");
+        interceptor.preHandle(export, response, null);
+        interceptor.afterConcurrentHandlingStarted(export, response, null);
+
+        assertEquals(1, interceptor.available());
+    }
+}
@@ -32,6 +32,7 @@ import com.example.orders.exception.GlobalExceptionHandler;
 import com.example.orders.service.OrderService;
 import com.example.orders.dto.CreateOrderRequest;
 import com.example.orders.dto.OrderResponse;
+import com.example.orders.dto.OrderFilter;
 import com.example.orders.dto.PagedResponse;
 import com.example.orders.model.OrderStatus;
 import com.example.orders.exception.BadRequestException;
@@ -78,7 +79,7 @@ class OrderControllerTest {
                 .id(1L)
                 .customerName("John Doe")
                 .status(OrderStatus.NEW)
-                .amount(new java.math.BigDecimal("99.99"))
+                .amount(9_999)
                 .createdAt(java.time.Instant.parse("2026-01-10T10:00:00Z"))
                 .build();
         Mockito.when(orderService.createOrder(org.mockito.ArgumentMatchers.any(CreateOrderRequest.class)))
@@ -177,17 +178,14 @@ class OrderControllerTest {
                 1,
                 10,
                 0L,
-                0
+                0,
+                true
         );
 
         org.mockito.Mockito.when(orderService.getOrders(
-                1,
-                10,
-                OrderStatus.PAID,
-                new java.math.BigDecimal("10"),
-                new java.math.BigDecimal("100"),
-                java.time.LocalDate.parse("2026-01-01"),
-                java.time.LocalDate.parse("2026-01-10")
+                org.mockito.ArgumentMatchers.eq(1),
+                org.mockito.ArgumentMatchers.eq(10),
+                org.mockito.ArgumentMatchers.any(OrderFilter.class)
         )).thenReturn(response);
 
         // Act + Assert
@@ -208,13 +206,14 @@ class OrderControllerTest {
 
         // Verify
         org.mockito.Mockito.verify(orderService).getOrders(
-                1,
-                10,
-                OrderStatus.PAID,
-                new java.math.BigDecimal("10"),
-                new java.math.BigDecimal("100"),
-                java.time.LocalDate.parse("2026-01-01"),
-                java.time.LocalDate.parse("2026-01-10")
+                org.mockito.ArgumentMatchers.eq(1),
+                org.mockito.ArgumentMatchers.eq(10),
+                org.mockito.ArgumentMatchers.argThat(filter -> filter.getStatus() == OrderStatus.PAID
+                        && new java.math.BigDecimal("10").equals(filter.getMinAmount())
+                        && new java.math.BigDecimal("100").equals(filter.getMaxAmount())
+                        && java.time.LocalDate.parse("2026-01-01").equals(filter.getDateFrom())
+                        && java.time.LocalDate.parse("2026-01-10").equals(filter.getDateTo())
+                        && filter.getCustomer() == null)
         );
     }
 
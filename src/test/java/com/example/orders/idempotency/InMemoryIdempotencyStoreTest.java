@@ -0,0 +1,77 @@
+package com.example.orders.idempotency;
+
+import com.example.orders.config.OrdersProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryIdempotencyStoreTest {
+
+    private final Cache<String, IdempotencyRecord> records = Caffeine.newBuilder().build();
+    private final InMemoryIdempotencyStore store =
+            new InMemoryIdempotencyStore(records, new OrdersProperties.Idempotency(), Clock.systemUTC());
+
+    @Test
+    void completedResponse_isReplayed() {
+        assertTrue(store.claim("key", "fingerprint").claimed());
+        IdempotencyClaim second = store.claim("key", "fingerprint");
+        assertFalse(second.claimed());
+        assertTrue(second.record().isInProgress());
+
+        store.complete("key", "fingerprint", response());
+
+        IdempotencyRecord replayed = store.claim("key", "fingerprint").record();
+        assertEquals(201, replayed.response().status());
+    }
+
+    @Test
+    void claimEvictedWhileTheRequestRan_stillStoresTheResponse() {
+        assertTrue(store.claim("key", "fingerprint").claimed());
+        // Size eviction of the in-progress record, as under a burst of new keys.
+        records.invalidate("key");
+
+        store.complete("key", "fingerprint", response());
+
+        // The retry is replayed instead of creating a second order.
+        IdempotencyClaim retry = store.claim("key", "fingerprint");
+        assertFalse(retry.claimed());
+        IdempotencyRecord replayed = retry.record();
+        assertEquals("fingerprint", replayed.fingerprint());
+        assertEquals(201, replayed.response().status());
+    }
+
+    @Test
+    void releaseOfAClaimTakenOverAsAbandoned_keepsTheNewerClaim() {
+        OrdersProperties.Idempotency config = new OrdersProperties.Idempotency();
+        Instant start = Instant.parse("2026-01-01T00:00:00Z");
+        InMemoryIdempotencyStore early = new InMemoryIdempotencyStore(records, config,
+                Clock.fixed(start, ZoneOffset.UTC));
+        InMemoryIdempotencyStore late = new InMemoryIdempotencyStore(records, config,
+                Clock.fixed(start.plus(config.getInFlightTimeout()).plusSeconds(1), ZoneOffset.UTC));
+
+        IdempotencyClaim abandoned = early.claim("key", "fingerprint");
+        IdempotencyClaim takenOver = late.claim("key", "fingerprint");
+        assertTrue(takenOver.claimed());
+
+        // The abandoned request finally fails and releases its own claim.
+        early.release("key", abandoned.record());
+
+        IdempotencyClaim retry = late.claim("key", "fingerprint");
+        assertFalse(retry.claimed());
+        assertSame(takenOver.record(), retry.record());
+
+        late.release("key", takenOver.record());
+        assertTrue(late.claim("key", "fingerprint").claimed());
+    }
+
+    private static StoredResponse response() {
+        return new StoredResponse(201, "application/json", "{\"id\":1}".getBytes(StandardCharsets.UTF_8));
+    }
+}
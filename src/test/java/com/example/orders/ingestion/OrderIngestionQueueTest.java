@@ -0,0 +1,211 @@
+package com.example.orders.ingestion;
+
+import com.example.orders.config.OrdersProperties;
+import com.example.orders.dto.CreateOrderRequest;
+import com.example.orders.exception.ServiceUnavailableException;
+import com.example.orders.exception.TooManyRequestsException;
+import com.example.orders.service.OrderBatchService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class OrderIngestionQueueTest {
+
+    private final OrderBatchService batchService = mock(OrderBatchService.class);
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private OrderIngestionQueue queue;
+
+    @AfterEach
+    void tearDown() {
+        queue.stop();
+    }
+
+    @Test
+    void fullQueue_rejectsWithTooManyRequests() {
+        queue = queue(2, 10, Duration.ofMinutes(1));
+        queue.start();
+        queue.submit(order(1));
+        queue.submit(order(2));
+
+        TooManyRequestsException e = assertThrows(TooManyRequestsException.class, () -> queue.submit(order(3)));
+        assertEquals(Duration.ofMinutes(1), e.getRetryAfter());
+        assertEquals(2, queue.depth());
+        assertEquals(1, meterRegistry.get("orders.ingestion.rejected").counter().count());
+        assertEquals(2, meterRegistry.get("orders.ingestion.queue.depth").gauge().value());
+    }
+
+    @Test
+    void fullBatch_isWrittenWithoutWaitingForTheInterval() throws Exception {
+        recordBatches();
+        queue = queue(100, 3, Duration.ofMinutes(1));
+        queue.start();
+        for (int i = 0; i < 3; i++) {
+            queue.submit(order(i));
+        }
+
+        awaitDepth(0);
+        assertEquals(List.of(3), batchSizes);
+        assertEquals(3, meterRegistry.get("orders.ingestion.flushed").counter().count());
+        assertEquals(1, meterRegistry.get("orders.ingestion.flush").timer().count());
+    }
+
+    @Test
+    void partialBatch_isWrittenAfterTheInterval() throws Exception {
+        recordBatches();
+        queue = queue(100, 50, Duration.ofMillis(20));
+        queue.start();
+        queue.submit(order(1));
+        queue.submit(order(2));
+
+        awaitDepth(0);
+        assertEquals(2, batchSizes.stream().mapToInt(Integer::intValue).sum());
+    }
+
+    @Test
+    void failedBatch_isRetried() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        when(batchService.persistAll(anyList())).thenAnswer(invocation -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("database unavailable");
+            }
+            return List.of();
+        });
+        queue = queue(100, 1, Duration.ofMillis(10));
+        queue.start();
+        queue.submit(order(1));
+
+        awaitDepth(0);
+        assertEquals(2, attempts.get());
+        assertEquals(1, meterRegistry.get("orders.ingestion.flush.failures").counter().count());
+        assertEquals(1, meterRegistry.get("orders.ingestion.flushed").counter().count());
+    }
+
+    @Test
+    void poisonOrder_isDeadLettered_andTheRestOfItsBatchWritten() throws Exception {
+        List<String> written = new CopyOnWriteArrayList<>();
+        when(batchService.persistAll(anyList())).thenAnswer(invocation -> {
+            List<CreateOrderRequest> batch = invocation.getArgument(0);
+            if (batch.stream().anyMatch(request -> request.getCustomerName().equals("Customer 2"))) {
+                throw new IllegalArgumentException("amount out of range");
+            }
+            batch.forEach(request -> written.add(request.getCustomerName()));
+            return List.of();
+        });
+        queue = queue(100, 4, Duration.ofMillis(10));
+        queue.start();
+        for (int i = 0; i < 4; i++) {
+            queue.submit(order(i));
+        }
+
+        awaitDepth(0);
+        assertEquals(List.of("Customer 0", "Customer 1", "Customer 3"), written);
+        assertEquals(1, meterRegistry.get("orders.ingestion.dead.lettered").counter().count());
+        assertEquals(3, meterRegistry.get("orders.ingestion.flushed").counter().count());
+
+        // Ingestion goes on.
+        for (int i = 4; i < 8; i++) {
+            queue.submit(order(i));
+        }
+        awaitDepth(0);
+        assertEquals(7, written.size());
+    }
+
+    @Test
+    void unreachableDatabase_isRetried_notDeadLettered() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        when(batchService.persistAll(anyList())).thenAnswer(invocation -> {
+            if (attempts.incrementAndGet() <= 8) {
+                throw new CannotCreateTransactionException("connection refused");
+            }
+            return List.of();
+        });
+        queue = queue(100, 2, Duration.ofMillis(1));
+        queue.start();
+        queue.submit(order(1));
+        queue.submit(order(2));
+
+        awaitDepth(0);
+        assertEquals(0, meterRegistry.get("orders.ingestion.dead.lettered").counter().count());
+        assertEquals(2, meterRegistry.get("orders.ingestion.flushed").counter().count());
+    }
+
+    @Test
+    void flusherKilledByAnError_refusesNewOrders_andReportsItself() throws Exception {
+        when(batchService.persistAll(anyList())).thenThrow(new StackOverflowError());
+        queue = queue(100, 1, Duration.ofMinutes(1));
+        queue.start();
+        assertEquals(1, meterRegistry.get("orders.ingestion.flusher.alive").gauge().value());
+
+        queue.submit(order(1));
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (queue.isFlusherAlive() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertFalse(queue.isFlusherAlive());
+        assertFalse(queue.isRunning());
+        assertEquals(0, meterRegistry.get("orders.ingestion.flusher.alive").gauge().value());
+        assertThrows(ServiceUnavailableException.class, () -> queue.submit(order(2)));
+    }
+
+    @Test
+    void stop_drainsTheQueue_andRefusesNewOrders() {
+        recordBatches();
+        queue = queue(1_000, 100, Duration.ofMinutes(1));
+        queue.start();
+        for (int i = 0; i < 250; i++) {
+            queue.submit(order(i));
+        }
+
+        queue.stop();
+
+        assertFalse(queue.isRunning());
+        assertEquals(0, queue.depth());
+        assertEquals(List.of(100, 100, 50), batchSizes);
+        assertThrows(ServiceUnavailableException.class, () -> queue.submit(order(1)));
+    }
+
+    private OrderIngestionQueue queue(int capacity, int batchSize, Duration flushInterval) {
+        OrdersProperties properties = new OrdersProperties();
+        properties.getIngestion().setQueueCapacity(capacity);
+        properties.getIngestion().setBatchSize(batchSize);
+        properties.getIngestion().setFlushInterval(flushInterval);
+        properties.getIngestion().setShutdownTimeout(Duration.ofSeconds(5));
+        return new OrderIngestionQueue(batchService, properties, meterRegistry);
+    }
+
+    private void recordBatches() {
+        when(batchService.persistAll(anyList())).thenAnswer(invocation -> {
+            batchSizes.add(invocation.<List<?>>getArgument(0).size());
+            return new ArrayList<>();
+        });
+    }
+
+    private void awaitDepth(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (queue.depth() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, queue.depth());
+    }
+
+    private static CreateOrderRequest order(int i) {
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setCustomerName("Customer " + i);
+        request.setAmount(new BigDecimal("10.00"));
+        return request;
+    }
+}
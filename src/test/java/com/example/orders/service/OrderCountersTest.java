@@ -0,0 +1,47 @@
+package com.example.orders.service;
+
+import com.example.orders.config.OrdersProperties;
+import com.example.orders.model.OrderStatus;
+import com.example.orders.repository.OrderStatsRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class OrderCountersTest {
+
+    private final OrderStatsRepository orderStatsRepository = mock(OrderStatsRepository.class);
+    private final OrderCounters counters = new OrderCounters(orderStatsRepository, new OrdersProperties());
+
+    @Test
+    void busyStatus_stillPicksUpOtherNodesWrites() {
+        AtomicLong otherNodes = new AtomicLong();
+        AtomicLong local = new AtomicLong();
+        // Steady load: a local order commits during every read of the rollup, and the read already includes it.
+        when(orderStatsRepository.countByStatus()).thenAnswer(invocation -> {
+            counters.addAfterCommit(OrderStatus.NEW, 1);
+            return Map.of(OrderStatus.NEW, 100 + otherNodes.get() + local.incrementAndGet());
+        });
+
+        counters.reconcile();
+        assertEquals(100 + local.get(), counters.count(OrderStatus.NEW).getAsLong());
+
+        otherNodes.set(50);
+        counters.reconcile();
+        assertEquals(150 + local.get(), counters.count(OrderStatus.NEW).getAsLong());
+        assertEquals(0, counters.count(OrderStatus.PAID).getAsLong());
+    }
+
+    @Test
+    void quietStatus_isReadOnce() {
+        when(orderStatsRepository.countByStatus()).thenReturn(Map.of(OrderStatus.PAID, 7L));
+
+        counters.reconcile();
+
+        assertEquals(7, counters.count(OrderStatus.PAID).getAsLong());
+        verify(orderStatsRepository, times(1)).countByStatus();
+    }
+}
@@ -0,0 +1,272 @@
+package com.example.orders.store;
+
+import com.example.orders.dto.CustomerMatch;
+import com.example.orders.dto.OrderFilter;
+import com.example.orders.dto.OrderResponse;
+import com.example.orders.model.CustomerNames;
+import com.example.orders.model.Money;
+import com.example.orders.model.OrderStatus;
+import com.example.orders.pagination.OrderCursor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarOrderStoreTest {
+
+    private static final List<String> NAMES = List.of(
+            "John Smith", "  jane   SMITHERS ", "Smith John", "Ana Lopez", "ana lópez", "Zoë 100% Real_Name");
+
+    @TempDir
+    Path dir;
+    private ColumnarOrderStore store;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    @Test
+    void listings_matchTheFilterSemanticsOfTheSqlEngine() {
+        store = open(4096);
+        List<OrderResponse> orders = insertRandom(300, new Random(42));
+        for (int i = 0; i < orders.size(); i += 7) {
+            store.update(orders.get(i).getId(), null, null, OrderStatus.SHIPPED, null);
+        }
+        for (int i = 3; i < orders.size(); i += 11) {
+            store.delete(orders.get(i).getId(), null);
+        }
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+
+        List<OrderFilter> filters = List.of(
+                new OrderFilter(),
+                OrderFilter.builder().status(OrderStatus.SHIPPED).build(),
+                OrderFilter.builder().status(OrderStatus.PAID).minAmount(new BigDecimal("100.001")).build(),
+                OrderFilter.builder().minAmount(new BigDecimal("50")).maxAmount(new BigDecimal("150.999")).build(),
+                OrderFilter.builder().maxAmount(new BigDecimal("1e20")).minAmount(new BigDecimal("-1e20")).build(),
+                OrderFilter.builder().minAmount(new BigDecimal("1e-99999999")).maxAmount(new BigDecimal("1e99999999")).build(),
+                OrderFilter.builder().minAmount(new BigDecimal("-1e99999999")).maxAmount(new BigDecimal("-1e-99999999")).build(),
+                OrderFilter.builder().dateFrom(today.minusDays(1)).dateTo(today.plusDays(1)).build(),
+                OrderFilter.builder().dateTo(today.minusDays(1)).build(),
+                OrderFilter.builder().customer("smi").build(),
+                OrderFilter.builder().customer("john SMI").build(),
+                OrderFilter.builder().customer("ana").customerMatch(CustomerMatch.PREFIX).build(),
+                OrderFilter.builder().customer("ANA  lópez").customerMatch(CustomerMatch.EXACT).build(),
+                OrderFilter.builder().customer("100% real_").build(),
+                OrderFilter.builder().customer("   ").build());
+        for (OrderFilter filter : filters) {
+            List<Long> expected = expected(filter);
+            assertEquals(expected, ids(store.find(filter, null, 0, Integer.MAX_VALUE)));
+            assertEquals(expected.size(), store.count(filter));
+            assertEquals(expected.stream().skip(5).limit(10).toList(), ids(store.find(filter, null, 5, 10)));
+            assertEquals(expected, cursorWalk(filter, 9));
+        }
+    }
+
+    @Test
+    void writes_checkTheExpectedVersions() {
+        store = open(4096);
+        OrderResponse order = store.insert("Versioned", OrderStatus.NEW, 1_001);
+        assertEquals(0, order.getVersion());
+        assertEquals(1_001, order.getAmount());
+
+        assertTrue(store.update(order.getId(), null, null, OrderStatus.PAID, List.of(5L)).isEmpty());
+        OrderResponse updated = store.update(order.getId(), "Renamed", null, null, List.of(3L, 0L)).orElseThrow();
+        assertEquals(1, updated.getVersion());
+        assertEquals("Renamed", updated.getCustomerName());
+        assertEquals(OrderStatus.NEW, updated.getStatus());
+        assertEquals(order.getCreatedAt(), updated.getCreatedAt());
+
+        assertFalse(store.delete(order.getId(), List.of(0L)));
+        assertTrue(store.delete(order.getId(), List.of(1L)));
+        assertFalse(store.existsById(order.getId()));
+        assertThrows(IllegalArgumentException.class,
+                () -> store.insert("Too much", OrderStatus.NEW, Money.MAX + 1));
+    }
+
+    @Test
+    void reopening_replaysTheLogAcrossRegions() throws IOException {
+        // Small regions: most records continue in the next one.
+        store = open(128);
+        List<OrderResponse> orders = insertRandom(100, new Random(7));
+        store.update(orders.get(0).getId(), "Updated Name", 150L, OrderStatus.CANCELLED, null);
+        store.delete(orders.get(1).getId(), null);
+        List<OrderResponse> before = store.find(new OrderFilter(), null, 0, Integer.MAX_VALUE);
+        store.close();
+
+        store = open(128);
+        assertEquals(fields(before), fields(store.find(new OrderFilter(), null, 0, Integer.MAX_VALUE)));
+        assertEquals(orders.get(99).getId() + 1, store.insert("Next", OrderStatus.NEW, 100).getId());
+    }
+
+    @Test
+    void tornLastWrite_isDroppedAndAppendingResumes() throws IOException {
+        store = open(4096);
+        store.insert("Kept", OrderStatus.NEW, 1_000);
+        store.insert("Torn", OrderStatus.NEW, 1_000);
+        store.close();
+        corruptLastByte(dir.resolve("orders.log"));
+
+        store = open(4096);
+        assertEquals(List.of("Kept"), store.find(new OrderFilter(), null, 0, 10).stream()
+                .map(OrderResponse::getCustomerName).toList());
+        store.insert("After", OrderStatus.NEW, 100);
+        store.close();
+
+        store = open(4096);
+        assertEquals(List.of("After", "Kept"), store.find(new OrderFilter(), null, 0, 10).stream()
+                .map(OrderResponse::getCustomerName).toList());
+    }
+
+    @Test
+    void damageBeforeTheLastRegion_failsTheOpen_andKeepsTheLog() throws IOException {
+        store = open(128);
+        insertRandom(20, new Random(5));
+        store.close();
+        store = null;
+        Path log = dir.resolve("orders.log");
+        // A payload byte of the very first record, with many regions of records after it.
+        try (RandomAccessFile file = new RandomAccessFile(log.toFile(), "rw")) {
+            file.seek(9);
+            int value = file.read();
+            file.seek(9);
+            file.write(value ^ 0xFF);
+        }
+        byte[] damaged = Files.readAllBytes(log);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> open(128));
+        assertTrue(e.getMessage().contains("damaged at offset 0"), e.getMessage());
+        assertArrayEquals(damaged, Files.readAllBytes(log));
+    }
+
+    @Test
+    void mostlyDeadLog_isCompactedOnOpen() throws IOException {
+        store = open(64 * 1024);
+        List<OrderResponse> orders = insertRandom(1_500, new Random(3));
+        for (OrderResponse order : orders.subList(100, orders.size())) {
+            store.delete(order.getId(), null);
+        }
+        List<OrderResponse> live = store.find(new OrderFilter(), null, 0, Integer.MAX_VALUE);
+        store.close();
+        long before = Files.size(dir.resolve("orders.log"));
+
+        store = open(64 * 1024);
+        assertTrue(Files.size(dir.resolve("orders.log")) < before);
+        assertEquals(fields(live), fields(store.find(new OrderFilter(), null, 0, Integer.MAX_VALUE)));
+        // The newest orders were deleted; their ids are not handed out again.
+        assertEquals(orders.get(orders.size() - 1).getId() + 1,
+                store.insert("Next", OrderStatus.NEW, 100).getId());
+        store.close();
+
+        store = open(64 * 1024);
+        assertEquals(101, store.size());
+    }
+
+    private ColumnarOrderStore open(long regionSize) {
+        return new ColumnarOrderStore(dir.resolve("orders.log"), regionSize, false);
+    }
+
+    private List<OrderResponse> insertRandom(int count, Random random) {
+        List<OrderResponse> orders = new ArrayList<>();
+        OrderStatus[] statuses = OrderStatus.values();
+        for (int i = 0; i < count; i++) {
+            // Some zero amounts, for the bounds just either side of zero.
+            orders.add(store.insert(NAMES.get(random.nextInt(NAMES.size())), statuses[random.nextInt(statuses.length)],
+                    Math.max(0, random.nextInt(30_000) - 1_000)));
+        }
+        return orders;
+    }
+
+    // The filter applied to every order, as the SQL engine's WHERE clause would.
+    private List<Long> expected(OrderFilter filter) {
+        Predicate<OrderResponse> matches = order -> true;
+        if (filter.getStatus() != null) {
+            matches = matches.and(order -> order.getStatus() == filter.getStatus());
+        }
+        if (filter.getMinAmount() != null) {
+            matches = matches.and(order -> Money.toDecimal(order.getAmount()).compareTo(filter.getMinAmount()) >= 0);
+        }
+        if (filter.getMaxAmount() != null) {
+            matches = matches.and(order -> Money.toDecimal(order.getAmount()).compareTo(filter.getMaxAmount()) <= 0);
+        }
+        if (filter.getDateFrom() != null) {
+            matches = matches.and(order -> !order.getCreatedAt().isBefore(
+                    filter.getDateFrom().atStartOfDay(ZoneOffset.UTC).toInstant()));
+        }
+        if (filter.getDateTo() != null) {
+            matches = matches.and(order -> order.getCreatedAt().isBefore(
+                    filter.getDateTo().plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant()));
+        }
+        if (filter.getCustomer() != null && !filter.getCustomer().isBlank()) {
+            String search = CustomerNames.normalize(filter.getCustomer());
+            CustomerMatch match = filter.getCustomerMatch() != null ? filter.getCustomerMatch() : CustomerMatch.WORDS;
+            matches = matches.and(order -> {
+                String key = CustomerNames.normalize(order.getCustomerName());
+                return switch (match) {
+                    case EXACT -> key.equals(search);
+                    case PREFIX -> key.startsWith(search);
+                    case WORDS -> CustomerNames.tokens(search).stream().allMatch(
+                            word -> CustomerNames.tokens(key).stream().anyMatch(token -> token.startsWith(word)));
+                };
+            });
+        }
+        return ids(store.find(new OrderFilter(), null, 0, Integer.MAX_VALUE).stream()
+                .filter(matches)
+                .sorted(Comparator.comparing(OrderResponse::getCreatedAt).thenComparing(OrderResponse::getId).reversed())
+                .toList());
+    }
+
+    private List<Long> cursorWalk(OrderFilter filter, int limit) {
+        List<Long> ids = new ArrayList<>();
+        OrderCursor after = null;
+        List<OrderResponse> page;
+        do {
+            page = store.find(filter, after, 0, limit);
+            ids.addAll(ids(page));
+            after = page.isEmpty() ? null : OrderCursor.of(page.get(page.size() - 1));
+        } while (page.size() == limit);
+        return ids;
+    }
+
+    private static List<Long> ids(List<OrderResponse> orders) {
+        return orders.stream().map(OrderResponse::getId).toList();
+    }
+
+    private static List<String> fields(List<OrderResponse> orders) {
+        return orders.stream()
+                .map(order -> order.getId() + "|" + order.getVersion() + "|" + order.getCustomerName() + "|"
+                        + order.getStatus() + "|" + order.getAmount() + "|" + order.getCreatedAt())
+                .toList();
+    }
+
+    // Flips the last written byte, as a write cut short by a crash would leave it.
+    private static void corruptLastByte(Path log) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(log.toFile(), "rw")) {
+            for (long position = file.length() - 1; position >= 0; position--) {
+                file.seek(position);
+                int value = file.read();
+                if (value != 0) {
+                    file.seek(position);
+                    file.write(value ^ 0xFF);
+                    return;
+                }
+            }
+        }
+    }
+}